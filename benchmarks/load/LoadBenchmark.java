@@ -0,0 +1,262 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.LongStream;
+
+// Closed-loop HTTP load generator for the timetable read and write endpoints.
+// Every worker sends its next request as soon as the previous one returns, so throughput and
+// latency are measured at a fixed concurrency. Run against a started application:
+// java benchmarks/load/LoadBenchmark.java --base-url http://localhost:8080 --label platform
+// benchmarks/thread-modes.sh starts the application in both thread modes and runs this for each.
+public class LoadBenchmark {
+
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+    private static final String CSV_HEADER = "mode,scenario,concurrency,requests,errors,throughput_rps,p50_ms,p99_ms,max_ms";
+
+    private final HttpClient client;
+
+    private final String baseUrl;
+
+    private final int concurrency;
+
+    private final Duration warmup;
+
+    private final Duration measure;
+
+    private LoadBenchmark(String baseUrl, int concurrency, Duration warmup, Duration measure) {
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors())))
+                .build();
+        this.baseUrl = baseUrl;
+        this.concurrency = concurrency;
+        this.warmup = warmup;
+        this.measure = measure;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        String baseUrl = options.getOrDefault("base-url", "http://localhost:8080");
+        String label = options.getOrDefault("label", "default");
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "200"));
+        int seconds = Integer.parseInt(options.getOrDefault("seconds", "30"));
+        int warmupSeconds = Integer.parseInt(options.getOrDefault("warmup", "10"));
+        if (concurrency < 1 || concurrency > 312) {
+            throw new IllegalArgumentException("--concurrency must be between 1 and 312 (one grade/section per worker)");
+        }
+
+        LoadBenchmark benchmark = new LoadBenchmark(baseUrl, concurrency,
+                Duration.ofSeconds(warmupSeconds), Duration.ofSeconds(seconds));
+        List<Long> teacherIds = benchmark.createTeachers(label);
+
+        List<String> lines = new ArrayList<>();
+        lines.add(benchmark.run(label, "read-section", worker -> benchmark.get(
+                "/api/timetable/grade/" + grade(worker) + "/section/" + section(worker))));
+        lines.add(benchmark.run(label, "read-teacher", worker -> benchmark.get(
+                "/api/timetable/teacher/" + teacherIds.get(worker))));
+        lines.add(benchmark.run(label, "write-create-delete", worker -> benchmark.createAndDelete(
+                teacherIds.get(worker), worker)));
+
+        System.out.println(CSV_HEADER);
+        lines.forEach(System.out::println);
+        String results = options.get("results");
+        if (results != null) {
+            Path path = Path.of(results);
+            if (!Files.exists(path)) {
+                Files.writeString(path, CSV_HEADER + "\n");
+            }
+            Files.write(path, lines, StandardOpenOption.APPEND);
+        }
+        System.exit(0);
+    }
+
+    // One teacher per worker, each writing into its own grade/section, so writes never conflict
+    private List<Long> createTeachers(String label) throws Exception {
+        String run = label + "-" + System.currentTimeMillis();
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            String body = "{\"name\":\"Load Test " + i + "\",\"email\":\"load-" + run + "-" + i + "@example.com\"}";
+            ids.add(id(send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/teachers"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body)), 200)));
+        }
+        return ids;
+    }
+
+    private String run(String label, String scenario, Call call) throws Exception {
+        System.err.println(label + " " + scenario + ": warming up for " + warmup.toSeconds() + "s");
+        phase(call, warmup);
+        System.err.println(label + " " + scenario + ": measuring for " + measure.toSeconds() + "s");
+        long start = System.nanoTime();
+        List<Recorder> recorders = phase(call, measure);
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        long[] latencies = recorders.stream().flatMapToLong(Recorder::stream).sorted().toArray();
+        long errors = recorders.stream().mapToLong(recorder -> recorder.errors).sum();
+        return String.format("%s,%s,%d,%d,%d,%.1f,%.2f,%.2f,%.2f", label, scenario, concurrency, latencies.length,
+                errors, latencies.length / elapsedSeconds, millis(latencies, 0.50), millis(latencies, 0.99),
+                latencies.length > 0 ? latencies[latencies.length - 1] / 1e6 : 0.0);
+    }
+
+    private List<Recorder> phase(Call call, Duration length) throws Exception {
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        try {
+            long deadline = System.nanoTime() + length.toNanos();
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Recorder>> futures = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                int worker = i;
+                futures.add(workers.submit(() -> {
+                    Recorder recorder = new Recorder();
+                    start.await();
+                    while (System.nanoTime() < deadline) {
+                        call.run(worker).forEach(recorder::record);
+                    }
+                    return recorder;
+                }));
+            }
+            start.countDown();
+            List<Recorder> recorders = new ArrayList<>();
+            for (Future<Recorder> future : futures) {
+                recorders.add(future.get());
+            }
+            return recorders;
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private List<Sample> get(String path) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<Void> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build(),
+                    HttpResponse.BodyHandlers.discarding());
+            return List.of(new Sample(System.nanoTime() - start, response.statusCode() == 200));
+        } catch (IOException e) {
+            return List.of(new Sample(System.nanoTime() - start, false));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return List.of();
+        }
+    }
+
+    private List<Sample> createAndDelete(Long teacherId, int worker) {
+        String body = "{\"teacherId\":" + teacherId + ",\"grade\":" + grade(worker) + ",\"section\":\"" + section(worker)
+                + "\",\"subject\":\"Load Test\",\"classDay\":\"Saturday\",\"period\":8}";
+        long start = System.nanoTime();
+        Long entryId;
+        try {
+            entryId = id(send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/timetable"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body)), 200));
+        } catch (Exception e) {
+            return List.of(new Sample(System.nanoTime() - start, false));
+        }
+        Sample create = new Sample(System.nanoTime() - start, true);
+
+        start = System.nanoTime();
+        try {
+            send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/timetable/" + entryId)).DELETE(), 200);
+            return List.of(create, new Sample(System.nanoTime() - start, true));
+        } catch (Exception e) {
+            return List.of(create, new Sample(System.nanoTime() - start, false));
+        }
+    }
+
+    private String send(HttpRequest.Builder request, int expectedStatus) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request.timeout(Duration.ofSeconds(30)).build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != expectedStatus) {
+            throw new IOException("Unexpected status " + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+
+    private static Long id(String body) {
+        Matcher matcher = ID.matcher(body);
+        if (!matcher.find()) {
+            throw new UncheckedIOException(new IOException("No id in response: " + body));
+        }
+        return Long.valueOf(matcher.group(1));
+    }
+
+    // Workers 0..311 map onto grades 1-12 and sections A-Z
+    private static int grade(int worker) {
+        return 1 + worker / 26;
+    }
+
+    private static char section(int worker) {
+        return (char) ('A' + worker % 26);
+    }
+
+    private static double millis(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Expected --name value pairs, got " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+
+    private interface Call {
+        List<Sample> run(int worker);
+    }
+
+    private record Sample(long nanos, boolean ok) {
+    }
+
+    // Latencies of failed requests are counted as errors and left out of the percentiles
+    private static final class Recorder {
+
+        private long[] latencies = new long[1024];
+
+        private int count;
+
+        private long errors;
+
+        void record(Sample sample) {
+            if (!sample.ok()) {
+                errors++;
+                return;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = sample.nanos();
+        }
+
+        LongStream stream() {
+            return Arrays.stream(latencies, 0, count);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.sutram.timetableapi.benchmark;
+
+import com.sutram.timetableapi.TimetableApplication;
+import com.sutram.timetableapi.model.SlotKeys;
+import com.sutram.timetableapi.service.OccupancyIndex;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Starts the application without a web server and fills its embedded H2 database with a
+// synthetic school district. Rows go in through plain JDBC batches so 500k entries load in seconds.
+//
+// Layout: every section holds a full 48-slot week and every teacher teaches 40 consecutive
+// entries, so neither conflict rule is broken. Sections run 1-A, 1-B ... 1-Z, 2-A and so on past
+// grade 12; only the application's validation limits grades, not the schema. Grade 1 section A
+// is left empty for the write benchmarks, together with one teacher who has no entries.
+final class BenchmarkData {
+
+    static final String[] DAYS = {"Monday", "Tuesday", "Wednesday", "Thursday", "Friday", "Saturday"};
+
+    static final String[] SUBJECTS = {"Mathematics", "English", "Science", "History", "Geography", "Art"};
+
+    static final int SLOTS_PER_SECTION = 48;
+
+    static final int ENTRIES_PER_TEACHER = 40;
+
+    static final int FREE_GRADE = 1;
+
+    static final String FREE_SECTION = "A";
+
+    private static final int INSERT_BATCH = 5000;
+
+    private BenchmarkData() {
+    }
+
+    static ConfigurableApplicationContext start(String... properties) {
+        return new SpringApplicationBuilder(TimetableApplication.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .properties("spring.jpa.show-sql=false", "logging.level.root=WARN")
+                .properties(properties)
+                .run();
+    }
+
+    // Replaces the sample data and returns the id of the teacher left without entries
+    static long seed(ConfigurableApplicationContext context, int entries) {
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        jdbc.update("delete from timetable_entries");
+        jdbc.update("delete from teachers");
+
+        int teachers = teacherCount(entries);
+        long freeTeacherId = teachers + 1L;
+        List<Object[]> teacherRows = new ArrayList<>();
+        for (long id = 1; id <= freeTeacherId; id++) {
+            teacherRows.add(new Object[]{id, "Teacher " + id, "teacher" + id + "@benchmark.example"});
+        }
+        insert(jdbc, "insert into teachers (id, name, email) values (?, ?, ?)", teacherRows);
+
+        List<Object[]> entryRows = new ArrayList<>(INSERT_BATCH);
+        for (int i = 0; i < entries; i++) {
+            int slot = i % SLOTS_PER_SECTION;
+            int grade = grade(sectionOf(i));
+            String section = section(sectionOf(i));
+            entryRows.add(new Object[]{i + 1L, teacherId(i), grade, section, SUBJECTS[(i / 8) % SUBJECTS.length],
+                    slot / 8, slot % 8 + 1, SlotKeys.slotKey(grade, section, DAYS[slot / 8], slot % 8 + 1),
+                    SlotKeys.teacherSlotKey(teacherId(i), DAYS[slot / 8], slot % 8 + 1)});
+            if (entryRows.size() == INSERT_BATCH) {
+                insertEntries(jdbc, entryRows);
+                entryRows.clear();
+            }
+        }
+        insertEntries(jdbc, entryRows);
+
+        // Pooled sequences hand out blocks of 50 below the returned value, so leave a gap
+        jdbc.execute("alter sequence teachers_seq restart with " + (freeTeacherId + 1000));
+        jdbc.execute("alter sequence timetable_entries_seq restart with " + (entries + 1000));
+        if (context.getEnvironment().getProperty("timetable.occupancy-index.enabled", Boolean.class, true)) {
+            context.getBean(OccupancyIndex.class).rebuild();
+        }
+        return freeTeacherId;
+    }
+
+    static int teacherCount(int entries) {
+        return (entries + ENTRIES_PER_TEACHER - 1) / ENTRIES_PER_TEACHER;
+    }
+
+    static long teacherId(int entry) {
+        return entry / ENTRIES_PER_TEACHER + 1L;
+    }
+
+    // Section 0 is the free 1-A
+    static int sectionOf(int entry) {
+        return entry / SLOTS_PER_SECTION + 1;
+    }
+
+    static int grade(int section) {
+        return section / 26 + 1;
+    }
+
+    static String section(int section) {
+        return String.valueOf((char) ('A' + section % 26));
+    }
+
+    private static void insertEntries(JdbcTemplate jdbc, List<Object[]> rows) {
+        // class_day holds the day's ordinal and the slot keys are normally filled in by the entity
+        insert(jdbc, "insert into timetable_entries (id, teacher_id, grade, section, subject, class_day, period, "
+                + "slot_key, teacher_slot_key) values (?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    private static void insert(JdbcTemplate jdbc, String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += INSERT_BATCH) {
+            jdbc.batchUpdate(sql, rows.subList(from, Math.min(rows.size(), from + INSERT_BATCH)));
+        }
+    }
+}
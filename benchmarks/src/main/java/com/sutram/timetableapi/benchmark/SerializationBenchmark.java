@@ -0,0 +1,67 @@
+package com.sutram.timetableapi.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sutram.timetableapi.dto.ApiResponse;
+import com.sutram.timetableapi.dto.TimetableEntryView;
+import com.sutram.timetableapi.model.Teacher;
+import com.sutram.timetableapi.model.TimetableEntry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Jackson serialization of the list responses, for the entity graph and for the read views the
+// endpoints return. Output is discarded so only serialization is measured.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class SerializationBenchmark {
+
+    @Param({"1000", "50000", "500000"})
+    private int entries;
+
+    // Same defaults as the ObjectMapper Spring Boot configures for the controllers
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private ApiResponse<List<TimetableEntry>> entityResponse;
+
+    private ApiResponse<List<TimetableEntryView>> viewResponse;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Teacher> teachers = new ArrayList<>();
+        for (long id = 1; id <= BenchmarkData.teacherCount(entries); id++) {
+            teachers.add(new Teacher(id, "Teacher " + id, "teacher" + id + "@benchmark.example"));
+        }
+        List<TimetableEntry> entities = new ArrayList<>(entries);
+        List<TimetableEntryView> views = new ArrayList<>(entries);
+        for (int i = 0; i < entries; i++) {
+            int slot = i % BenchmarkData.SLOTS_PER_SECTION;
+            int section = BenchmarkData.sectionOf(i);
+            TimetableEntry entry = new TimetableEntry(i + 1L, teachers.get((int) BenchmarkData.teacherId(i) - 1),
+                    BenchmarkData.grade(section), BenchmarkData.section(section),
+                    BenchmarkData.SUBJECTS[(i / 8) % BenchmarkData.SUBJECTS.length],
+                    BenchmarkData.DAYS[slot / 8], slot % 8 + 1);
+            entities.add(entry);
+            views.add(TimetableEntryView.of(entry));
+        }
+        entityResponse = ApiResponse.success("Timetable entries retrieved successfully", entities);
+        viewResponse = ApiResponse.success("Timetable entries retrieved successfully", views);
+    }
+
+    @Benchmark
+    public void entities() throws Exception {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), entityResponse);
+    }
+
+    @Benchmark
+    public void views() throws Exception {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), viewResponse);
+    }
+}
@@ -0,0 +1,70 @@
+package com.sutram.timetableapi.benchmark;
+
+import com.sutram.timetableapi.dto.TimetableEntryView;
+import com.sutram.timetableapi.repository.TimetableRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Read queries on TimetableRepository at each data size. Keys are drawn at random from the seeded
+// data so no single row stays hot in the database's page cache.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class TimetableReadBenchmark {
+
+    @Param({"1000", "50000", "500000"})
+    private int entries;
+
+    private ConfigurableApplicationContext context;
+
+    private TimetableRepository timetableRepository;
+
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkData.start("spring.datasource.url=jdbc:h2:mem:read" + entries);
+        BenchmarkData.seed(context, entries);
+        timetableRepository = context.getBean(TimetableRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<TimetableEntryView> sectionTimetable() {
+        int section = BenchmarkData.sectionOf(random.nextInt(entries));
+        return timetableRepository.findViewsByGradeAndSection(BenchmarkData.grade(section), BenchmarkData.section(section));
+    }
+
+    @Benchmark
+    public List<TimetableEntryView> teacherTimetable() {
+        return timetableRepository.findViewsByTeacherId(BenchmarkData.teacherId(random.nextInt(entries)));
+    }
+
+    @Benchmark
+    public Optional<TimetableEntryView> entryById() {
+        return timetableRepository.findViewById(random.nextInt(entries) + 1L);
+    }
+
+    @Benchmark
+    public List<TimetableEntryView> keysetPage() {
+        return timetableRepository.findViewsAfter((long) random.nextInt(entries), Limit.of(100));
+    }
+
+    @Benchmark
+    public List<TimetableEntryView> allEntries() {
+        return timetableRepository.findAllViews();
+    }
+}
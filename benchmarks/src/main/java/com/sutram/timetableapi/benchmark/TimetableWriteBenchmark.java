@@ -0,0 +1,84 @@
+package com.sutram.timetableapi.benchmark;
+
+import com.sutram.timetableapi.dto.TimetableRequest;
+import com.sutram.timetableapi.model.TimetableEntry;
+import com.sutram.timetableapi.service.TimetableService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+// TimetableService writes including conflict validation, with the occupancy index and with the
+// query pre-check. All writes go to the empty section 1-A and a teacher without entries, so they
+// never conflict and the data size stays fixed.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class TimetableWriteBenchmark {
+
+    @Param({"1000", "50000", "500000"})
+    private int entries;
+
+    @Param({"index", "query"})
+    private String conflictCheck;
+
+    private ConfigurableApplicationContext context;
+
+    private TimetableService timetableService;
+
+    private TimetableRequest createRequest;
+
+    private TimetableRequest[] updateRequests;
+
+    private Long updatedEntryId;
+
+    private int updates;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        boolean index = conflictCheck.equals("index");
+        context = BenchmarkData.start(
+                "spring.datasource.url=jdbc:h2:mem:write" + entries + conflictCheck,
+                "timetable.occupancy-index.enabled=" + index,
+                "timetable.conflict-check.query-precheck=" + !index);
+        long teacherId = BenchmarkData.seed(context, entries);
+        timetableService = context.getBean(TimetableService.class);
+
+        createRequest = request(teacherId, "Tuesday", 1);
+        updateRequests = new TimetableRequest[]{request(teacherId, "Monday", 2), request(teacherId, "Monday", 1)};
+        updatedEntryId = timetableService.createTimetableEntry(request(teacherId, "Monday", 1)).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // Creates need a free slot each time, so every create is paired with the delete that frees it
+    @Benchmark
+    public Long createAndDelete() throws Exception {
+        TimetableEntry saved = timetableService.createTimetableEntry(createRequest);
+        timetableService.deleteTimetableEntry(saved.getId());
+        return saved.getId();
+    }
+
+    // Moves one entry back and forth between two free periods
+    @Benchmark
+    public TimetableEntry update() throws Exception {
+        return timetableService.updateTimetableEntry(updatedEntryId, updateRequests[updates++ & 1]);
+    }
+
+    private static TimetableRequest request(long teacherId, String classDay, int period) {
+        TimetableRequest request = new TimetableRequest();
+        request.setTeacherId(teacherId);
+        request.setGrade(BenchmarkData.FREE_GRADE);
+        request.setSection(BenchmarkData.FREE_SECTION);
+        request.setSubject("Mathematics");
+        request.setClassDay(classDay);
+        request.setPeriod(period);
+        return request;
+    }
+}
@@ -0,0 +1,87 @@
+package com.sutram.timetableapi.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sutram.timetableapi.config.CborConfig;
+import com.sutram.timetableapi.dto.ApiResponse;
+import com.sutram.timetableapi.dto.TimetableEntryView;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+// JSON against the CBOR the API sends for Accept: application/cbor, encoding to and decoding from
+// byte arrays. 48 entries is one section's week, 1000 a school and 50000 a district-wide listing.
+// Body sizes are printed once per trial, with and without gzip.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class WireFormatBenchmark {
+
+    @Param({"48", "1000", "50000"})
+    private int entries;
+
+    private final ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+
+    private final ObjectMapper cbor = CborConfig.cborObjectMapper(Jackson2ObjectMapperBuilder.cbor());
+
+    private ApiResponse<List<TimetableEntryView>> response;
+
+    private byte[] jsonBytes;
+
+    private byte[] cborBytes;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        List<TimetableEntryView> views = new ArrayList<>(entries);
+        for (int i = 0; i < entries; i++) {
+            int slot = i % BenchmarkData.SLOTS_PER_SECTION;
+            int section = BenchmarkData.sectionOf(i);
+            long teacherId = BenchmarkData.teacherId(i);
+            views.add(new TimetableEntryView(i + 1L, teacherId, "Teacher " + teacherId, "teacher" + teacherId + "@benchmark.example",
+                    BenchmarkData.grade(section), BenchmarkData.section(section),
+                    BenchmarkData.SUBJECTS[(i / 8) % BenchmarkData.SUBJECTS.length],
+                    BenchmarkData.DAYS[slot / 8], slot % 8 + 1));
+        }
+        response = ApiResponse.success("Timetable entries retrieved successfully", views);
+        jsonBytes = json.writeValueAsBytes(response);
+        cborBytes = cbor.writeValueAsBytes(response);
+        System.out.printf("%n%d entries: json %d bytes (%d gzipped), cbor %d bytes (%d gzipped)%n", entries,
+                jsonBytes.length, gzippedSize(jsonBytes), cborBytes.length, gzippedSize(cborBytes));
+    }
+
+    @Benchmark
+    public byte[] encodeJson() throws Exception {
+        return json.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] encodeCbor() throws Exception {
+        return cbor.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public JsonNode decodeJson() throws Exception {
+        return json.readTree(jsonBytes);
+    }
+
+    @Benchmark
+    public JsonNode decodeCbor() throws Exception {
+        return cbor.readTree(cborBytes);
+    }
+
+    private static int gzippedSize(byte[] bytes) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.size();
+    }
+}
@@ -0,0 +1,51 @@
+#!/usr/bin/env bash
+# Starts the application once with platform threads and once with virtual threads and runs the
+# same closed-loop load against the read and write endpoints of each.
+# Usage: benchmarks/thread-modes.sh [concurrency] [seconds-per-scenario]
+# Results are printed and written to target/thread-modes.csv.
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+CONCURRENCY=${1:-200}
+MEASURE_SECONDS=${2:-30}
+PORT=${PORT:-8089}
+RESULTS=target/thread-modes.csv
+
+mvn -B -q -DskipTests package
+JAR=$(ls target/Timetable-API-*-exec.jar | head -n 1)
+rm -f "$RESULTS"
+
+APP=
+trap '[ -n "$APP" ] && kill "$APP" 2>/dev/null || true' EXIT
+
+for MODE in platform virtual; do
+    PROFILE=default
+    if [ "$MODE" = virtual ]; then
+        PROFILE=virtual
+    fi
+    # Same heap, pool size and connection timeout in both modes so only the thread model differs.
+    # The read cache is off so every read reaches the database, and admission control is off so
+    # the thread model alone decides what queues.
+    java -Xms1g -Xmx1g -jar "$JAR" \
+        --spring.profiles.active="$PROFILE" \
+        --server.port="$PORT" \
+        --spring.jpa.show-sql=false \
+        --spring.datasource.hikari.maximum-pool-size=16 \
+        --spring.datasource.hikari.connection-timeout=2000 \
+        --timetable.cache.enabled=false \
+        --timetable.admission.enabled=false \
+        > "target/thread-modes-$MODE.log" 2>&1 &
+    APP=$!
+    until curl -sf "http://localhost:$PORT/api/teachers?limit=1" > /dev/null; do
+        sleep 1
+    done
+
+    java benchmarks/load/LoadBenchmark.java --base-url "http://localhost:$PORT" --label "$MODE" \
+        --concurrency "$CONCURRENCY" --seconds "$MEASURE_SECONDS" --results "$RESULTS"
+
+    kill "$APP"
+    wait "$APP" 2>/dev/null || true
+    APP=
+done
+
+column -s, -t "$RESULTS"
@@ -0,0 +1,207 @@
+package com.sutram.timetableapi.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sutram.timetableapi.dto.ApiResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Separate concurrency budgets for timetable reads, timetable writes and teacher endpoints, so a
+// burst of writes waiting on the connection pool cannot take every request thread and stall reads.
+// A request over its budget waits in a bounded queue; when the queue is full it is refused at once
+// with 429, and when its wait times out with 503, both carrying Retry-After. The change feed is
+// not limited, since its streams stay open for minutes and use no connection.
+@Component
+@ConditionalOnProperty(name = "timetable.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${timetable.admission.retry-after-seconds:1}")
+    private int retryAfterSeconds = 1;
+
+    @Value("${timetable.admission.timetable-reads.max-concurrent:64}")
+    private int readConcurrency = 64;
+
+    @Value("${timetable.admission.timetable-reads.max-queue:512}")
+    private int readQueue = 512;
+
+    @Value("${timetable.admission.timetable-reads.queue-timeout-ms:500}")
+    private long readTimeoutMillis = 500;
+
+    @Value("${timetable.admission.timetable-writes.max-concurrent:8}")
+    private int writeConcurrency = 8;
+
+    @Value("${timetable.admission.timetable-writes.max-queue:64}")
+    private int writeQueue = 64;
+
+    @Value("${timetable.admission.timetable-writes.queue-timeout-ms:2000}")
+    private long writeTimeoutMillis = 2000;
+
+    @Value("${timetable.admission.teachers.max-concurrent:8}")
+    private int teacherConcurrency = 8;
+
+    @Value("${timetable.admission.teachers.max-queue:64}")
+    private int teacherQueue = 64;
+
+    @Value("${timetable.admission.teachers.queue-timeout-ms:1000}")
+    private long teacherTimeoutMillis = 1000;
+
+    private AdmissionGate reads;
+
+    private AdmissionGate writes;
+
+    private AdmissionGate teachers;
+
+    private final Map<String, Counter> rejections = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        reads = register(new AdmissionGate("timetable-reads", readConcurrency, readQueue, readTimeoutMillis));
+        writes = register(new AdmissionGate("timetable-writes", writeConcurrency, writeQueue, writeTimeoutMillis));
+        teachers = register(new AdmissionGate("teachers", teacherConcurrency, teacherQueue, teacherTimeoutMillis));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return gateFor(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        AdmissionGate gate = gateFor(request);
+        AdmissionGate.Outcome outcome = gate.acquire();
+        if (outcome != AdmissionGate.Outcome.ADMITTED) {
+            reject(gate, outcome, response);
+            return;
+        }
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            // Streamed exports keep reading on another thread after this returns, and the async
+            // dispatches that finish them skip this filter, so the slot is held until they complete
+            async = request.isAsyncStarted();
+            if (async) {
+                request.getAsyncContext().addListener(new ReleaseWhenDone(gate));
+            }
+        } finally {
+            if (!async) {
+                gate.release();
+            }
+        }
+    }
+
+    // CORS preflights touch no data and precede reads as often as writes, so they are never queued
+    private AdmissionGate gateFor(HttpServletRequest request) {
+        if ("OPTIONS".equals(request.getMethod())) {
+            return null;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (under(path, "/api/teachers")) {
+            return teachers;
+        }
+        if (!under(path, "/api/timetable") || under(path, "/api/timetable/changes")) {
+            return null;
+        }
+        String method = request.getMethod();
+        return "GET".equals(method) || "HEAD".equals(method) ? reads : writes;
+    }
+
+    private void reject(AdmissionGate gate, AdmissionGate.Outcome outcome, HttpServletResponse response) throws IOException {
+        boolean queueFull = outcome == AdmissionGate.Outcome.QUEUE_FULL;
+        String reason = queueFull ? "queue_full" : "timeout";
+        rejections.computeIfAbsent(gate.name() + ":" + reason, key -> Counter.builder("timetable.admission.rejected")
+                        .description("Requests refused by admission control")
+                        .tag("class", gate.name())
+                        .tag("reason", reason)
+                        .register(registry))
+                .increment();
+        response.setStatus(queueFull ? HttpStatus.TOO_MANY_REQUESTS.value() : HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        String message = queueFull
+                ? "Server busy: the " + gate.name() + " queue is full"
+                : "Server busy: timed out waiting for a " + gate.name() + " slot";
+        objectMapper.writeValue(response.getOutputStream(), ApiResponse.error(message));
+    }
+
+    private AdmissionGate register(AdmissionGate gate) {
+        Gauge.builder("timetable.admission.queue.depth", gate, AdmissionGate::queueDepth)
+                .description("Requests waiting for an admission slot")
+                .tag("class", gate.name())
+                .register(registry);
+        Gauge.builder("timetable.admission.active", gate, AdmissionGate::active)
+                .description("Requests holding an admission slot")
+                .tag("class", gate.name())
+                .register(registry);
+        return gate;
+    }
+
+    private static boolean under(String path, String prefix) {
+        return path.equals(prefix) || path.startsWith(prefix + "/");
+    }
+
+    // Completion, error and timeout can all be reported for one request; the slot is released once
+    private static final class ReleaseWhenDone implements AsyncListener {
+
+        private final AdmissionGate gate;
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private ReleaseWhenDone(AdmissionGate gate) {
+            this.gate = gate;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        // A restarted async cycle drops its listeners, so follow it to the new one
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                gate.release();
+            }
+        }
+    }
+}
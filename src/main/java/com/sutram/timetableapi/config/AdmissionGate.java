@@ -0,0 +1,80 @@
+package com.sutram.timetableapi.config;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Concurrency budget of one class of endpoints: up to maxConcurrent requests run, up to maxQueue
+// more wait in arrival order for at most the queue timeout, and the rest are turned away at once.
+final class AdmissionGate {
+
+    enum Outcome {
+        ADMITTED,
+        QUEUE_FULL,
+        TIMED_OUT
+    }
+
+    private final String name;
+
+    private final int maxConcurrent;
+
+    private final int maxQueue;
+
+    private final long queueTimeoutNanos;
+
+    private final Semaphore permits;
+
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    AdmissionGate(String name, int maxConcurrent, int maxQueue, long queueTimeoutMillis) {
+        if (maxConcurrent < 1 || maxQueue < 0 || queueTimeoutMillis < 0) {
+            throw new IllegalArgumentException("Invalid admission limits for " + name);
+        }
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueue = maxQueue;
+        this.queueTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(queueTimeoutMillis);
+        this.permits = new Semaphore(maxConcurrent, true);
+    }
+
+    // Every ADMITTED outcome must be followed by release()
+    Outcome acquire() {
+        // The timed form honours fairness, so a newcomer does not overtake the queue
+        try {
+            if (permits.tryAcquire(0, TimeUnit.NANOSECONDS)) {
+                return Outcome.ADMITTED;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Outcome.TIMED_OUT;
+        }
+        if (waiting.incrementAndGet() > maxQueue) {
+            waiting.decrementAndGet();
+            return Outcome.QUEUE_FULL;
+        }
+        try {
+            return permits.tryAcquire(queueTimeoutNanos, TimeUnit.NANOSECONDS) ? Outcome.ADMITTED : Outcome.TIMED_OUT;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Outcome.TIMED_OUT;
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    void release() {
+        permits.release();
+    }
+
+    String name() {
+        return name;
+    }
+
+    int queueDepth() {
+        return waiting.get();
+    }
+
+    int active() {
+        return maxConcurrent - permits.availablePermits();
+    }
+}
@@ -0,0 +1,28 @@
+package com.sutram.timetableapi.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+// Serves every ApiResponse as CBOR when the client sends Accept: application/cbor. The body has the
+// same fields as the JSON one. With string references on, each distinct string, such as a field name,
+// day, subject or teacher name and email, is written once and later occurrences become a short
+// index into the strings seen so far. Any CBOR decoder that understands the stringref tags reads it.
+@Configuration
+public class CborConfig {
+
+    // Replaces the default CBOR converter Spring registers, which does not use string references
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(cborObjectMapper(builder));
+    }
+
+    // Takes the application's builder so spring.jackson settings apply to both formats
+    public static ObjectMapper cborObjectMapper(Jackson2ObjectMapperBuilder builder) {
+        return builder.factory(CBORFactory.builder().enable(CBORGenerator.Feature.STRINGREF).build()).build();
+    }
+}
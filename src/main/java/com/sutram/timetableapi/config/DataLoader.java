@@ -6,9 +6,14 @@ import com.sutram.timetableapi.repository.TeacherRepository;
 import com.sutram.timetableapi.repository.TimetableRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
 @Component
+// The seed profile loads a synthetic dataset, and in durable mode the data comes from the journal
+@Profile("!seed")
+@ConditionalOnProperty(name = "timetable.durability.enabled", havingValue = "false", matchIfMissing = true)
 public class DataLoader implements CommandLineRunner {
     
     @Autowired
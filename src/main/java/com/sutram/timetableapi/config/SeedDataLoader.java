@@ -0,0 +1,112 @@
+package com.sutram.timetableapi.config;
+
+import com.sutram.timetableapi.model.ClassDay;
+import com.sutram.timetableapi.model.SlotKeys;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Loads a SeedDataset instead of the sample rows when the "seed" profile is active. Rows go in through
+// plain JDBC batches rather than the entity; the occupancy index is built from them once the
+// application is ready. Periods the generator could not place are reported after the load.
+@Component
+@Profile("seed")
+@ConditionalOnProperty(name = "timetable.durability.enabled", havingValue = "false", matchIfMissing = true)
+public class SeedDataLoader implements CommandLineRunner {
+
+    private static final int INSERT_BATCH = 5000;
+
+    // Pooled sequences hand out a block of 50 ids below the value they return
+    private static final int SEQUENCE_GAP = 100;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${timetable.seed.schools:1}")
+    private int schools = 1;
+
+    @Value("${timetable.seed.grades-per-school:12}")
+    private int gradesPerSchool = 12;
+
+    @Value("${timetable.seed.sections-per-grade:4}")
+    private int sectionsPerGrade = 4;
+
+    // 0 sizes the staff to the curriculum
+    @Value("${timetable.seed.teachers-per-school:0}")
+    private int teachersPerSchool;
+
+    @Value("${timetable.seed.periods-per-section:40}")
+    private int periodsPerSection = 40;
+
+    @Value("${timetable.seed.seed:42}")
+    private long seed = 42;
+
+    @Override
+    public void run(String... args) throws Exception {
+        long start = System.nanoTime();
+        SeedDataset.Settings settings = new SeedDataset.Settings(
+                schools, gradesPerSchool, sectionsPerGrade, teachersPerSchool, periodsPerSection, seed);
+        
+        List<Object[]> teachers = new ArrayList<>(INSERT_BATCH);
+        List<Object[]> entries = new ArrayList<>(INSERT_BATCH);
+        long[] counts = new long[2];
+        int unplaced = SeedDataset.generate(settings, new SeedDataset.Sink() {
+            @Override
+            public void teacher(long id, String name, String email) {
+                teachers.add(new Object[]{id, name, email});
+                counts[0]++;
+                if (teachers.size() == INSERT_BATCH) {
+                    insertTeachers(teachers);
+                }
+            }
+            
+            @Override
+            public void entry(long id, long teacherId, int grade, String section, String subject, int weekSlot) {
+                // Teachers of this school may still be buffered
+                insertTeachers(teachers);
+                String day = ClassDay.fromCode(weekSlot / SlotKeys.PERIODS_PER_DAY).getLabel();
+                int period = weekSlot % SlotKeys.PERIODS_PER_DAY + 1;
+                entries.add(new Object[]{id, teacherId, grade, section, subject, weekSlot / SlotKeys.PERIODS_PER_DAY, period,
+                        SlotKeys.slotKey(grade, section, day, period), SlotKeys.teacherSlotKey(teacherId, day, period)});
+                counts[1]++;
+                if (entries.size() == INSERT_BATCH) {
+                    insertEntries(entries);
+                }
+            }
+        });
+        insertTeachers(teachers);
+        insertEntries(entries);
+        
+        jdbcTemplate.execute("alter sequence teachers_seq restart with " + (counts[0] + SEQUENCE_GAP));
+        jdbcTemplate.execute("alter sequence timetable_entries_seq restart with " + (counts[1] + SEQUENCE_GAP));
+        System.out.println("Seeded " + counts[0] + " teachers and " + counts[1] + " timetable entries in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms");
+        if (unplaced > 0) {
+            System.out.println("Warning: " + unplaced + " periods could not be placed with a free teacher; "
+                    + "raise timetable.seed.teachers-per-school or leave it at 0");
+        }
+    }
+
+    private void insertTeachers(List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate("insert into teachers (id, name, email) values (?, ?, ?)", rows);
+            rows.clear();
+        }
+    }
+
+    // class_day holds the day's ordinal and the slot keys are normally filled in by the entity
+    private void insertEntries(List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate("insert into timetable_entries (id, teacher_id, grade, section, subject, class_day, "
+                    + "period, slot_key, teacher_slot_key) values (?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+            rows.clear();
+        }
+    }
+}
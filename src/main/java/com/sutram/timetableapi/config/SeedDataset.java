@@ -0,0 +1,195 @@
+package com.sutram.timetableapi.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Deterministic, conflict-free synthetic timetable for capacity testing.
+//
+// Every school has grades x sections, each taught periodsPerSection of the 48 weekly periods, split
+// across subjects by a fixed weighting. Teachers teach one subject, at most MAX_TEACHER_PERIODS a week,
+// and only within their school. There is no school column and grades stay within 1 to 12 like the
+// API's, so schools are told apart by section letters instead: school n takes the next
+// sectionsPerGrade letters, e.g. with 4 sections per grade school 1 is A-D and school 2 is E-H.
+// The same settings and seed always produce the same rows, in the same order.
+public final class SeedDataset {
+
+    public record Settings(int schools, int gradesPerSchool, int sectionsPerGrade,
+                           int teachersPerSchool, int periodsPerSection, long seed) {
+    }
+
+    // Receives teachers before any entry that references them
+    public interface Sink {
+        void teacher(long id, String name, String email);
+
+        // weekSlot is dayIndex * 8 + period - 1
+        void entry(long id, long teacherId, int grade, String section, String subject, int weekSlot);
+    }
+
+    static final int MAX_TEACHER_PERIODS = 30;
+
+    static final int MAX_GRADE = 12;
+
+    static final int SECTION_LETTERS = 26;
+
+    private static final int SLOTS_PER_WEEK = 48;
+
+    // Typical periods a week out of 40
+    private static final String[] SUBJECTS = {"Mathematics", "English", "Science", "History", "Geography", "Art", "Physical Education"};
+
+    private static final int[] WEIGHTS = {8, 7, 7, 5, 5, 4, 4};
+
+    private static final String[] FIRST_NAMES = {"Aarav", "Ananya", "Bijay", "Divya", "Farhan", "Gauri", "Ishaan", "Jiwanshu",
+            "Kavya", "Lakshmi", "Manish", "Neha", "Omkar", "Priya", "Rahul", "Sneha", "Tanvi", "Uday", "Varun", "Zoya"};
+
+    private static final String[] LAST_NAMES = {"Agarwal", "Banerjee", "Chopra", "Das", "Iyer", "Joshi", "Kumar", "Mehta",
+            "Mishra", "Nair", "Panda", "Patel", "Rao", "Reddy", "Sahu", "Sharma", "Singh", "Verma"};
+
+    private SeedDataset() {
+    }
+
+    // Returns the number of periods that found no slot with a free teacher, 0 when every section is complete
+    public static int generate(Settings settings, Sink sink) {
+        validate(settings);
+        int unplaced = 0;
+        int[] periodsPerSubject = periodsPerSubject(settings.periodsPerSection());
+        long nextTeacherId = 1;
+        long nextEntryId = 1;
+
+        for (int school = 0; school < settings.schools(); school++) {
+            // Each school draws from its own stream, so changing the school count keeps earlier schools identical
+            SplittableRandom random = new SplittableRandom(settings.seed() * 1_000_003L + school);
+            int sections = settings.gradesPerSchool() * settings.sectionsPerGrade();
+            List<List<Integer>> subjectTeachers = assignTeachers(settings, periodsPerSubject, sections);
+
+            int teacherCount = subjectTeachers.stream().mapToInt(List::size).sum();
+            long firstTeacherId = nextTeacherId;
+            for (int i = 0; i < teacherCount; i++) {
+                String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+                String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+                sink.teacher(nextTeacherId, first + " " + last,
+                        (first + "." + last + "." + nextTeacherId + "@school" + (school + 1) + ".example").toLowerCase());
+                nextTeacherId++;
+            }
+
+            long[] teacherMasks = new long[teacherCount];
+            int[] teacherLoads = new int[teacherCount];
+            for (int grade = 1; grade <= settings.gradesPerSchool(); grade++) {
+                for (int letter = 0; letter < settings.sectionsPerGrade(); letter++) {
+                    String section = String.valueOf((char) ('A' + school * settings.sectionsPerGrade() + letter));
+                    long sectionMask = 0;
+                    for (int subject : shuffledPeriods(periodsPerSubject, random)) {
+                        boolean placed = false;
+                        List<Integer> teachers = subjectTeachers.get(subject);
+                        int startSlot = random.nextInt(SLOTS_PER_WEEK);
+                        int startTeacher = random.nextInt(teachers.size());
+                        // First free slot of the section, from a random start, with a free teacher of the subject
+                        placement:
+                        for (int s = 0; s < SLOTS_PER_WEEK; s++) {
+                            int slot = (startSlot + s) % SLOTS_PER_WEEK;
+                            long bit = 1L << slot;
+                            if ((sectionMask & bit) != 0) {
+                                continue;
+                            }
+                            for (int t = 0; t < teachers.size(); t++) {
+                                int teacher = teachers.get((startTeacher + t) % teachers.size());
+                                if ((teacherMasks[teacher] & bit) == 0 && teacherLoads[teacher] < MAX_TEACHER_PERIODS) {
+                                    sectionMask |= bit;
+                                    teacherMasks[teacher] |= bit;
+                                    teacherLoads[teacher]++;
+                                    sink.entry(nextEntryId++, firstTeacherId + teacher, grade, section,
+                                            SUBJECTS[subject], slot);
+                                    placed = true;
+                                    break placement;
+                                }
+                            }
+                        }
+                        if (!placed) {
+                            unplaced++;
+                        }
+                    }
+                }
+            }
+        }
+        return unplaced;
+    }
+
+    private static void validate(Settings settings) {
+        if (settings.schools() < 1 || settings.gradesPerSchool() < 1 || settings.sectionsPerGrade() < 1) {
+            throw new IllegalArgumentException("Schools, grades per school and sections per grade must be at least 1");
+        }
+        if (settings.gradesPerSchool() > MAX_GRADE) {
+            throw new IllegalArgumentException("Grades per school must be at most " + MAX_GRADE);
+        }
+        if (settings.schools() * settings.sectionsPerGrade() > SECTION_LETTERS) {
+            throw new IllegalArgumentException("Schools x sections per grade must be at most " + SECTION_LETTERS
+                    + ", one section letter each");
+        }
+        if (settings.periodsPerSection() < 1 || settings.periodsPerSection() > SLOTS_PER_WEEK) {
+            throw new IllegalArgumentException("Periods per section must be between 1 and " + SLOTS_PER_WEEK);
+        }
+        if (settings.teachersPerSchool() < 0) {
+            throw new IllegalArgumentException("Teachers per school must not be negative");
+        }
+    }
+
+    // Scales the weights to the requested periods; the remainder goes to the first subjects
+    private static int[] periodsPerSubject(int periodsPerSection) {
+        int total = 0;
+        for (int weight : WEIGHTS) {
+            total += weight;
+        }
+        int[] periods = new int[WEIGHTS.length];
+        int assigned = 0;
+        for (int i = 0; i < WEIGHTS.length; i++) {
+            periods[i] = WEIGHTS[i] * periodsPerSection / total;
+            assigned += periods[i];
+        }
+        for (int i = 0; assigned < periodsPerSection; i = (i + 1) % WEIGHTS.length) {
+            periods[i]++;
+            assigned++;
+        }
+        return periods;
+    }
+
+    // Local teacher indexes per subject, in proportion to each subject's share of the periods.
+    // Without a fixed count there are enough teachers for about 25 periods each.
+    private static List<List<Integer>> assignTeachers(Settings settings, int[] periodsPerSubject, int sections) {
+        int totalPeriods = settings.periodsPerSection() * sections;
+        int teachers = settings.teachersPerSchool() > 0
+                ? settings.teachersPerSchool()
+                : (totalPeriods + 24) / 25;
+        List<List<Integer>> subjectTeachers = new ArrayList<>();
+        int next = 0;
+        for (int subject = 0; subject < periodsPerSubject.length; subject++) {
+            int count = Math.max(1, Math.round((float) teachers * periodsPerSubject[subject] * sections / totalPeriods));
+            List<Integer> indexes = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                indexes.add(next++);
+            }
+            subjectTeachers.add(indexes);
+        }
+        return subjectTeachers;
+    }
+
+    private static int[] shuffledPeriods(int[] periodsPerSubject, SplittableRandom random) {
+        int total = 0;
+        for (int periods : periodsPerSubject) {
+            total += periods;
+        }
+        int[] subjects = new int[total];
+        int index = 0;
+        for (int subject = 0; subject < periodsPerSubject.length; subject++) {
+            for (int i = 0; i < periodsPerSubject[subject]; i++) {
+                subjects[index++] = subject;
+            }
+        }
+        for (int i = total - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = subjects[i];
+            subjects[i] = subjects[j];
+            subjects[j] = swap;
+        }
+        return subjects;
+    }
+}
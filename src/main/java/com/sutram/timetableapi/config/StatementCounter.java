@@ -0,0 +1,32 @@
+package com.sutram.timetableapi.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+// Counts the SQL statements Hibernate prepares on the current thread between start() and stop().
+// Hibernate's own statistics are global, so they cannot attribute statements to a request.
+@Component
+public class StatementCounter implements StatementInspector {
+
+    private final ThreadLocal<int[]> count = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        int[] current = count.get();
+        if (current != null) {
+            current[0]++;
+        }
+        return sql;
+    }
+
+    public void start() {
+        count.set(new int[1]);
+    }
+
+    // Returns -1 when nothing was started on this thread
+    public int stop() {
+        int[] current = count.get();
+        count.remove();
+        return current != null ? current[0] : -1;
+    }
+}
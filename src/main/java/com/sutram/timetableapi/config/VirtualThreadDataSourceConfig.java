@@ -0,0 +1,42 @@
+package com.sutram.timetableapi.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// With virtual threads Tomcat no longer caps how many requests run at once, so the connection
+// pool becomes the only limit on database concurrency. Startup fails unless the pool is bounded
+// and callers give up on a connection quickly instead of piling up behind it.
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadDataSourceConfig {
+
+    // Static so the post-processor is registered before the datasource is created
+    @Bean
+    public static BeanPostProcessor hikariPoolLimits(
+            @Value("${timetable.datasource.max-pool-size:20}") int maxPoolSize,
+            @Value("${timetable.datasource.max-connection-timeout-ms:5000}") long maxConnectionTimeoutMillis) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+                if (bean instanceof HikariDataSource dataSource) {
+                    if (dataSource.getMaximumPoolSize() > maxPoolSize) {
+                        throw new IllegalStateException("spring.datasource.hikari.maximum-pool-size is "
+                                + dataSource.getMaximumPoolSize() + " but must be at most " + maxPoolSize
+                                + " when virtual threads are enabled");
+                    }
+                    if (dataSource.getConnectionTimeout() > maxConnectionTimeoutMillis) {
+                        throw new IllegalStateException("spring.datasource.hikari.connection-timeout is "
+                                + dataSource.getConnectionTimeout() + " ms but must be at most "
+                                + maxConnectionTimeoutMillis + " ms when virtual threads are enabled");
+                    }
+                }
+                return bean;
+            }
+        };
+    }
+}
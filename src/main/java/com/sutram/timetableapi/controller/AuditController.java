@@ -0,0 +1,30 @@
+package com.sutram.timetableapi.controller;
+
+import com.sutram.timetableapi.dto.ApiResponse;
+import com.sutram.timetableapi.dto.IntegrityReport;
+import com.sutram.timetableapi.service.IntegrityAuditor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/audit")
+@CrossOrigin(origins = "*")
+public class AuditController {
+
+    @Autowired
+    private IntegrityAuditor integrityAuditor;
+
+    @GetMapping("/integrity")
+    public ResponseEntity<ApiResponse<IntegrityReport>> auditIntegrity() {
+        try {
+            IntegrityReport report = integrityAuditor.audit();
+            String message = report.isClean()
+                    ? "No integrity problems found"
+                    : "Integrity problems found";
+            return ResponseEntity.ok(ApiResponse.success(message, report));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Error auditing timetable: " + e.getMessage()));
+        }
+    }
+}
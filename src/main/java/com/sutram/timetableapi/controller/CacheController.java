@@ -0,0 +1,38 @@
+package com.sutram.timetableapi.controller;
+
+import com.sutram.timetableapi.dto.ApiResponse;
+import com.sutram.timetableapi.dto.CacheStatsReport;
+import com.sutram.timetableapi.service.TimetableReadCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cache")
+@CrossOrigin(origins = "*")
+public class CacheController {
+
+    @Autowired
+    private TimetableReadCache timetableReadCache;
+
+    @GetMapping("/stats")
+    public ResponseEntity<ApiResponse<List<CacheStatsReport>>> getStats() {
+        try {
+            return ResponseEntity.ok(ApiResponse.success("Cache statistics retrieved successfully", timetableReadCache.stats()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Error retrieving cache statistics: " + e.getMessage()));
+        }
+    }
+
+    @PostMapping("/clear")
+    public ResponseEntity<ApiResponse<List<CacheStatsReport>>> clear() {
+        try {
+            timetableReadCache.invalidateAll();
+            return ResponseEntity.ok(ApiResponse.success("Caches cleared successfully", timetableReadCache.stats()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Error clearing caches: " + e.getMessage()));
+        }
+    }
+}
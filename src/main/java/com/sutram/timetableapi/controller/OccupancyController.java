@@ -0,0 +1,40 @@
+package com.sutram.timetableapi.controller;
+
+import com.sutram.timetableapi.dto.ApiResponse;
+import com.sutram.timetableapi.dto.OccupancyReport;
+import com.sutram.timetableapi.service.OccupancyIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/occupancy")
+@CrossOrigin(origins = "*")
+public class OccupancyController {
+
+    @Autowired
+    private OccupancyIndex occupancyIndex;
+
+    @GetMapping("/consistency")
+    public ResponseEntity<ApiResponse<OccupancyReport>> checkConsistency() {
+        try {
+            OccupancyReport report = occupancyIndex.checkConsistency();
+            String message = report.isConsistent()
+                    ? "Occupancy index is consistent with the database"
+                    : "Occupancy index differs from the database";
+            return ResponseEntity.ok(ApiResponse.success(message, report));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Error checking occupancy index: " + e.getMessage()));
+        }
+    }
+
+    @PostMapping("/rebuild")
+    public ResponseEntity<ApiResponse<OccupancyReport>> rebuild() {
+        try {
+            occupancyIndex.rebuild();
+            return ResponseEntity.ok(ApiResponse.success("Occupancy index rebuilt successfully", occupancyIndex.checkConsistency()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Error rebuilding occupancy index: " + e.getMessage()));
+        }
+    }
+}
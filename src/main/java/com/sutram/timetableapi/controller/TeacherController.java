@@ -1,10 +1,19 @@
 package com.sutram.timetableapi.controller;
 
 import com.sutram.timetableapi.dto.ApiResponse;
+import com.sutram.timetableapi.dto.BulkDeleteResult;
+import com.sutram.timetableapi.dto.PageResponse;
+import com.sutram.timetableapi.event.TeacherChangeEvent;
 import com.sutram.timetableapi.model.Teacher;
 import com.sutram.timetableapi.repository.TeacherRepository;
+import com.sutram.timetableapi.repository.TimetableRepository;
+import com.sutram.timetableapi.service.Pagination;
+import com.sutram.timetableapi.service.TimetableService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -18,11 +27,37 @@ public class TeacherController {
     @Autowired
     private TeacherRepository teacherRepository;
     
+    @Autowired
+    private TimetableRepository timetableRepository;
+    
+    @Autowired
+    private TimetableService timetableService;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Value("${timetable.pagination.default-limit:100}")
+    private int defaultPageLimit;
+    
+    @Value("${timetable.pagination.max-limit:500}")
+    private int maxPageLimit;
+    
     @GetMapping
-    public ResponseEntity<ApiResponse<List<Teacher>>> getAllTeachers() {
+    public ResponseEntity<ApiResponse<?>> getAllTeachers(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields) {
         try {
-            List<Teacher> teachers = teacherRepository.findAll();
-            return ResponseEntity.ok(ApiResponse.success("Teachers retrieved successfully", teachers));
+            // Without paging parameters all teachers are returned, as before
+            if (after == null && limit == null && fields == null) {
+                List<Teacher> teachers = teacherRepository.findAll();
+                return ResponseEntity.ok(ApiResponse.success("Teachers retrieved successfully", teachers));
+            }
+            int pageLimit = Pagination.resolveLimit(limit, defaultPageLimit, maxPageLimit);
+            PageResponse<?> page = fields != null
+                    ? Pagination.projectedPage(teacherRepository.findProjectedPage(after, pageLimit, Pagination.parseFields(fields)), pageLimit)
+                    : Pagination.page(teacherRepository.findByIdGreaterThanOrderByIdAsc(after != null ? after : 0L, Limit.of(pageLimit)), pageLimit, Teacher::getId);
+            return ResponseEntity.ok(ApiResponse.success("Teachers retrieved successfully", page));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(ApiResponse.error("Error retrieving teachers: " + e.getMessage()));
         }
@@ -46,6 +81,7 @@ public class TeacherController {
                 return ResponseEntity.badRequest().body(ApiResponse.error("Teacher with this email already exists"));
             }
             Teacher savedTeacher = teacherRepository.save(teacher);
+            eventPublisher.publishEvent(new TeacherChangeEvent(savedTeacher.getId()));
             return ResponseEntity.ok(ApiResponse.success("Teacher created successfully", savedTeacher));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(ApiResponse.error("Error creating teacher: " + e.getMessage()));
@@ -60,6 +96,7 @@ public class TeacherController {
                         existingTeacher.setName(teacher.getName());
                         existingTeacher.setEmail(teacher.getEmail());
                         Teacher savedTeacher = teacherRepository.save(existingTeacher);
+                        eventPublisher.publishEvent(new TeacherChangeEvent(id));
                         return ResponseEntity.ok(ApiResponse.success("Teacher updated successfully", savedTeacher));
                     })
                     .orElse(ResponseEntity.notFound().build());
@@ -68,13 +105,26 @@ public class TeacherController {
         }
     }
     
+    // With cascade=true the teacher's timetable entries are deleted in the same transaction
     @DeleteMapping("/{id}")
-    public ResponseEntity<ApiResponse<String>> deleteTeacher(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<?>> deleteTeacher(@PathVariable Long id,
+                                                        @RequestParam(defaultValue = "false") boolean cascade) {
         try {
             if (!teacherRepository.existsById(id)) {
                 return ResponseEntity.notFound().build();
             }
+            if (cascade) {
+                int deleted = timetableService.deleteTeacherWithEntries(id);
+                eventPublisher.publishEvent(new TeacherChangeEvent(id));
+                return ResponseEntity.ok(ApiResponse.success("Teacher deleted successfully", new BulkDeleteResult(deleted, true)));
+            }
+            long entries = timetableRepository.countByTeacherId(id);
+            if (entries > 0) {
+                return ResponseEntity.badRequest().body(ApiResponse.error("Error deleting teacher: teacher still has "
+                        + entries + " timetable entries; delete with cascade=true to remove them too"));
+            }
             teacherRepository.deleteById(id);
+            eventPublisher.publishEvent(new TeacherChangeEvent(id));
             return ResponseEntity.ok(ApiResponse.success("Teacher deleted successfully"));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(ApiResponse.error("Error deleting teacher: " + e.getMessage()));
@@ -1,13 +1,38 @@
 package com.sutram.timetableapi.controller;
 
 import com.sutram.timetableapi.dto.ApiResponse;
+import com.sutram.timetableapi.dto.BatchImportMode;
+import com.sutram.timetableapi.dto.BatchImportResult;
+import com.sutram.timetableapi.dto.BulkDeleteResult;
+import com.sutram.timetableapi.dto.CurriculumRequest;
+import com.sutram.timetableapi.dto.EntryChange;
+import com.sutram.timetableapi.dto.ExportFormat;
+import com.sutram.timetableapi.dto.FreeSlotsResponse;
+import com.sutram.timetableapi.dto.GenerationResult;
+import com.sutram.timetableapi.dto.PageResponse;
+import com.sutram.timetableapi.dto.RescheduleResult;
+import com.sutram.timetableapi.dto.SubstitutePlan;
+import com.sutram.timetableapi.dto.TimetableEntryView;
 import com.sutram.timetableapi.dto.TimetableRequest;
 import com.sutram.timetableapi.model.TimetableEntry;
+import com.sutram.timetableapi.service.ChangeFeed;
+import com.sutram.timetableapi.service.SlotFinder;
+import com.sutram.timetableapi.service.TimetableExportService;
+import com.sutram.timetableapi.service.TimetableGenerator;
+import com.sutram.timetableapi.service.TimetableGrids;
+import com.sutram.timetableapi.service.TimetableReadCache;
 import com.sutram.timetableapi.service.TimetableService;
+import com.sutram.timetableapi.service.TimetableVersions;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -19,18 +44,52 @@ public class TimetableController {
     @Autowired
     private TimetableService timetableService;
     
+    @Autowired
+    private TimetableReadCache timetableReadCache;
+    
+    @Autowired
+    private TimetableVersions timetableVersions;
+    
+    @Autowired
+    private SlotFinder slotFinder;
+    
+    @Autowired
+    private TimetableGenerator timetableGenerator;
+    
+    @Autowired
+    private TimetableExportService timetableExportService;
+    
+    @Autowired
+    private ChangeFeed changeFeed;
+    
+    @Autowired
+    private TimetableGrids timetableGrids;
+    
     @GetMapping
-    public ResponseEntity<ApiResponse<List<TimetableEntry>>> getAllTimetableEntries() {
+    public ResponseEntity<ApiResponse<?>> getAllTimetableEntries(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields,
+            WebRequest webRequest) {
         try {
-            List<TimetableEntry> entries = timetableService.getAllTimetableEntries();
-            return ResponseEntity.ok(ApiResponse.success("Timetable entries retrieved successfully", entries));
+            // Without paging parameters the whole table is returned, as before
+            if (after == null && limit == null && fields == null) {
+                String etag = representationETag(timetableVersions.allEntriesETag(), webRequest);
+                if (webRequest.checkNotModified(etag)) {
+                    return notModified(etag);
+                }
+                List<TimetableEntryView> entries = timetableService.getAllTimetableEntries();
+                return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).body(ApiResponse.success("Timetable entries retrieved successfully", entries));
+            }
+            PageResponse<?> page = timetableService.getTimetablePage(after, limit, fields);
+            return ResponseEntity.ok(ApiResponse.success("Timetable entries retrieved successfully", page));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(ApiResponse.error("Error retrieving timetable entries: " + e.getMessage()));
         }
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<TimetableEntry>> getTimetableEntryById(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<TimetableEntryView>> getTimetableEntryById(@PathVariable Long id) {
         try {
             return timetableService.getTimetableEntryById(id)
                     .map(entry -> ResponseEntity.ok(ApiResponse.success("Timetable entry retrieved successfully", entry)))
@@ -41,26 +100,166 @@ public class TimetableController {
     }
     
     @GetMapping("/teacher/{teacherId}")
-    public ResponseEntity<ApiResponse<List<TimetableEntry>>> getTimetableByTeacher(@PathVariable Long teacherId) {
+    public ResponseEntity<ApiResponse<List<TimetableEntryView>>> getTimetableByTeacher(@PathVariable Long teacherId,
+                                                                                       WebRequest webRequest) {
         try {
-            List<TimetableEntry> entries = timetableService.getTimetableByTeacher(teacherId);
-            return ResponseEntity.ok(ApiResponse.success("Teacher timetable retrieved successfully", entries));
+            String etag = representationETag(timetableVersions.teacherETag(teacherId), webRequest);
+            if (webRequest.checkNotModified(etag)) {
+                return notModified(etag);
+            }
+            List<TimetableEntryView> entries = timetableReadCache.getTimetableByTeacher(teacherId);
+            return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).body(ApiResponse.success("Teacher timetable retrieved successfully", entries));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(ApiResponse.error("Error retrieving teacher timetable: " + e.getMessage()));
         }
     }
     
     @GetMapping("/grade/{grade}/section/{section}")
-    public ResponseEntity<ApiResponse<List<TimetableEntry>>> getTimetableByGradeAndSection(
-            @PathVariable Integer grade, @PathVariable String section) {
+    public ResponseEntity<ApiResponse<List<TimetableEntryView>>> getTimetableByGradeAndSection(
+            @PathVariable Integer grade, @PathVariable String section, WebRequest webRequest) {
         try {
-            List<TimetableEntry> entries = timetableService.getTimetableByGradeAndSection(grade, section);
-            return ResponseEntity.ok(ApiResponse.success("Grade timetable retrieved successfully", entries));
+            String etag = representationETag(timetableVersions.sectionETag(grade, section), webRequest);
+            if (webRequest.checkNotModified(etag)) {
+                return notModified(etag);
+            }
+            List<TimetableEntryView> entries = timetableReadCache.getTimetableByGradeAndSection(grade, section);
+            return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).body(ApiResponse.success("Grade timetable retrieved successfully", entries));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(ApiResponse.error("Error retrieving grade timetable: " + e.getMessage()));
         }
     }
     
+    // The week as a grid of days and periods, written straight from the bytes TimetableGrids keeps
+    @GetMapping(value = "/grid/grade/{grade}/section/{section}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> getSectionGrid(@PathVariable Integer grade, @PathVariable String section,
+                                            WebRequest webRequest) {
+        try {
+            String etag = timetableVersions.sectionETag(grade, section);
+            if (webRequest.checkNotModified(etag)) {
+                return notModified(etag);
+            }
+            return ResponseEntity.ok().eTag(etag).body(timetableGrids.sectionGrid(grade, section));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Error retrieving grade grid: " + e.getMessage()));
+        }
+    }
+    
+    @GetMapping(value = "/grid/teacher/{teacherId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> getTeacherGrid(@PathVariable Long teacherId, WebRequest webRequest) {
+        try {
+            String etag = timetableVersions.teacherETag(teacherId);
+            if (webRequest.checkNotModified(etag)) {
+                return notModified(etag);
+            }
+            return ResponseEntity.ok().eTag(etag).body(timetableGrids.teacherGrid(teacherId));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Error retrieving teacher grid: " + e.getMessage()));
+        }
+    }
+    
+    // e.g. /free-slots?teacherIds=1,2&sections=7-B,8-A
+    @GetMapping("/free-slots")
+    public ResponseEntity<ApiResponse<FreeSlotsResponse>> findFreeSlots(
+            @RequestParam(required = false) List<Long> teacherIds,
+            @RequestParam(required = false) List<String> sections) {
+        try {
+            FreeSlotsResponse freeSlots = slotFinder.findFreeSlots(teacherIds, sections);
+            return ResponseEntity.ok(ApiResponse.success("Free slots retrieved successfully", freeSlots));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Error finding free slots: " + e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/substitutes/teacher/{teacherId}")
+    public ResponseEntity<ApiResponse<SubstitutePlan>> findSubstitutes(
+            @PathVariable Long teacherId,
+            @RequestParam String day,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            SubstitutePlan plan = slotFinder.findSubstitutes(teacherId, day, limit);
+            return ResponseEntity.ok(ApiResponse.success("Substitute candidates retrieved successfully", plan));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Error finding substitutes: " + e.getMessage()));
+        }
+    }
+    
+    // Server-sent events; browsers resume with Last-Event-ID, other clients may pass ?after=
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<?> subscribeToChanges(
+            @RequestParam(required = false) Long teacherId,
+            @RequestParam(required = false) Integer grade,
+            @RequestParam(required = false) String section,
+            @RequestParam(required = false) Long after,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        try {
+            ChangeFeed.Filter filter = new ChangeFeed.Filter(teacherId, grade, section);
+            SseEmitter emitter = changeFeed.subscribeSse(filter, lastEventId != null ? lastEventId : after);
+            return ResponseEntity.ok().contentType(MediaType.TEXT_EVENT_STREAM).body(emitter);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).contentType(MediaType.APPLICATION_JSON)
+                    .body(ApiResponse.error("Error subscribing to changes: " + e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON)
+                    .body(ApiResponse.error("Error subscribing to changes: " + e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/export")
+    public ResponseEntity<?> exportTimetable(@RequestParam(defaultValue = "ndjson") String format) {
+        return export(null, null, null, format);
+    }
+    
+    @GetMapping("/export/teacher/{teacherId}")
+    public ResponseEntity<?> exportTimetableByTeacher(
+            @PathVariable Long teacherId, @RequestParam(defaultValue = "ndjson") String format) {
+        return export(teacherId, null, null, format);
+    }
+    
+    @GetMapping("/export/grade/{grade}/section/{section}")
+    public ResponseEntity<?> exportTimetableByGradeAndSection(
+            @PathVariable Integer grade, @PathVariable String section, @RequestParam(defaultValue = "ndjson") String format) {
+        return export(null, grade, section, format);
+    }
+    
+    // The ETag is checked before any query runs, so an unchanged poll costs neither SQL nor JSON
+    private static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).varyBy(HttpHeaders.ACCEPT).build();
+    }
+    
+    // The JSON and CBOR bodies of one version are different representations, so their tags differ.
+    // Follows the converter choice: CBOR only when the client rates it above JSON, ties go to JSON.
+    private static String representationETag(String etag, WebRequest webRequest) {
+        String accept = webRequest.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null || !accept.contains(MediaType.APPLICATION_CBOR_VALUE)) {
+            return etag;
+        }
+        double json = 0;
+        double cbor = 0;
+        for (MediaType type : MediaType.parseMediaTypes(accept)) {
+            if (type.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                json = Math.max(json, type.getQualityValue());
+            }
+            if (type.isCompatibleWith(MediaType.APPLICATION_CBOR)) {
+                cbor = Math.max(cbor, type.getQualityValue());
+            }
+        }
+        return cbor > json ? etag.substring(0, etag.length() - 1) + "-cbor\"" : etag;
+    }
+    
+    private ResponseEntity<?> export(Long teacherId, Integer grade, String section, String format) {
+        try {
+            ExportFormat exportFormat = ExportFormat.from(format);
+            // Runs on an async thread after this method returns; the service opens its own read-only transaction
+            StreamingResponseBody body = out -> timetableExportService.export(teacherId, grade, section, exportFormat, out);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"timetable." + exportFormat.getExtension() + "\"")
+                    .body(body);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Error exporting timetable: " + e.getMessage()));
+        }
+    }
+    
     @PostMapping
     public ResponseEntity<ApiResponse<TimetableEntry>> createTimetableEntry(@Valid @RequestBody TimetableRequest request) {
         try {
@@ -71,6 +270,47 @@ public class TimetableController {
         }
     }
     
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponse<BatchImportResult>> importTimetableEntries(
+            @RequestBody List<TimetableRequest> requests,
+            @RequestParam(defaultValue = "ALL_OR_NOTHING") BatchImportMode mode) {
+        try {
+            BatchImportResult result = timetableService.importTimetableEntries(requests, mode);
+            if (result.getImported() == 0 && result.getTotal() > 0) {
+                return ResponseEntity.badRequest().body(new ApiResponse<>(false, "No timetable entries were imported", result));
+            }
+            return ResponseEntity.ok(ApiResponse.success("Imported " + result.getImported() + " of " + result.getTotal() + " timetable entries", result));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Error importing timetable entries: " + e.getMessage()));
+        }
+    }
+    
+    @PostMapping("/reschedule")
+    public ResponseEntity<ApiResponse<RescheduleResult>> rescheduleEntries(@RequestBody List<EntryChange> changes) {
+        try {
+            RescheduleResult result = timetableService.rescheduleEntries(changes);
+            if (!result.isApplied()) {
+                return ResponseEntity.badRequest().body(new ApiResponse<>(false, "No changes were applied", result));
+            }
+            return ResponseEntity.ok(ApiResponse.success("Applied " + result.getTotal() + " timetable changes", result));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Error rescheduling timetable entries: " + e.getMessage()));
+        }
+    }
+    
+    @PostMapping("/generate")
+    public ResponseEntity<ApiResponse<GenerationResult>> generateTimetable(@Valid @RequestBody CurriculumRequest curriculum) {
+        try {
+            GenerationResult result = timetableGenerator.generate(curriculum);
+            String message = result.isComplete()
+                    ? "Timetable generated successfully"
+                    : "No complete timetable found within the time budget, returning the best partial result";
+            return ResponseEntity.ok(ApiResponse.success(message, result));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Error generating timetable: " + e.getMessage()));
+        }
+    }
+    
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponse<TimetableEntry>> updateTimetableEntry(
             @PathVariable Long id, @Valid @RequestBody TimetableRequest request) {
@@ -91,4 +331,35 @@ public class TimetableController {
             return ResponseEntity.badRequest().body(ApiResponse.error("Error deleting timetable entry: " + e.getMessage()));
         }
     }
+    
+    @DeleteMapping("/grade/{grade}/section/{section}")
+    public ResponseEntity<ApiResponse<BulkDeleteResult>> deleteSectionEntries(@PathVariable Integer grade,
+                                                                              @PathVariable String section) {
+        try {
+            int deleted = timetableService.deleteSectionEntries(grade, section);
+            return ResponseEntity.ok(ApiResponse.success("Section timetable cleared successfully", new BulkDeleteResult(deleted, null)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Error clearing section timetable: " + e.getMessage()));
+        }
+    }
+    
+    @DeleteMapping("/teacher/{teacherId}")
+    public ResponseEntity<ApiResponse<BulkDeleteResult>> deleteTeacherEntries(@PathVariable Long teacherId) {
+        try {
+            int deleted = timetableService.deleteTeacherEntries(teacherId);
+            return ResponseEntity.ok(ApiResponse.success("Teacher timetable cleared successfully", new BulkDeleteResult(deleted, null)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Error clearing teacher timetable: " + e.getMessage()));
+        }
+    }
+    
+    @DeleteMapping("/day/{classDay}")
+    public ResponseEntity<ApiResponse<BulkDeleteResult>> deleteDayEntries(@PathVariable String classDay) {
+        try {
+            int deleted = timetableService.deleteDayEntries(classDay);
+            return ResponseEntity.ok(ApiResponse.success("Day cleared successfully", new BulkDeleteResult(deleted, null)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Error clearing day: " + e.getMessage()));
+        }
+    }
 } 
\ No newline at end of file
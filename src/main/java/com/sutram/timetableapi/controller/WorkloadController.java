@@ -0,0 +1,39 @@
+package com.sutram.timetableapi.controller;
+
+import com.sutram.timetableapi.dto.ApiResponse;
+import com.sutram.timetableapi.dto.TeacherWorkload;
+import com.sutram.timetableapi.dto.WorkloadReport;
+import com.sutram.timetableapi.service.TeacherWorkloads;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/workload")
+@CrossOrigin(origins = "*")
+public class WorkloadController {
+
+    @Autowired
+    private TeacherWorkloads teacherWorkloads;
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<WorkloadReport>> getWorkloadReport(
+            @RequestParam(defaultValue = "false") boolean alertsOnly) {
+        try {
+            WorkloadReport report = teacherWorkloads.getReport(alertsOnly);
+            return ResponseEntity.ok(ApiResponse.success("Workload report retrieved successfully", report));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Error retrieving workload report: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/teacher/{teacherId}")
+    public ResponseEntity<ApiResponse<TeacherWorkload>> getTeacherWorkload(@PathVariable Long teacherId) {
+        try {
+            TeacherWorkload workload = teacherWorkloads.getTeacherWorkload(teacherId);
+            return ResponseEntity.ok(ApiResponse.success("Teacher workload retrieved successfully", workload));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Error retrieving teacher workload: " + e.getMessage()));
+        }
+    }
+}
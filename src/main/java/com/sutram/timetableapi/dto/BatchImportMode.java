@@ -0,0 +1,8 @@
+package com.sutram.timetableapi.dto;
+
+public enum BatchImportMode {
+    // Nothing is saved if any row is rejected
+    ALL_OR_NOTHING,
+    // Valid rows are saved, rejected rows are reported
+    PARTIAL
+}
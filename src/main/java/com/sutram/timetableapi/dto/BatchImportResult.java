@@ -0,0 +1,18 @@
+package com.sutram.timetableapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchImportResult {
+    private BatchImportMode mode;
+    private int total;
+    private int imported;
+    private int rejected;
+    private List<BatchRowResult> rows;
+}
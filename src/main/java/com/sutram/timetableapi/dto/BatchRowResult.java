@@ -0,0 +1,15 @@
+package com.sutram.timetableapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchRowResult {
+    private int row;
+    private boolean success;
+    private String message;
+    private Long entryId;
+}
@@ -0,0 +1,14 @@
+package com.sutram.timetableapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkDeleteResult {
+    private int deletedEntries;
+    // Only set when a teacher was deleted together with their entries
+    private Boolean teacherDeleted;
+}
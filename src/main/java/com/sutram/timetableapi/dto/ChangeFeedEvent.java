@@ -0,0 +1,7 @@
+package com.sutram.timetableapi.dto;
+
+import com.sutram.timetableapi.event.TimetableChangeEvent.ChangeType;
+
+// One timetable change as pushed to feed subscribers; sequence doubles as the SSE event id
+public record ChangeFeedEvent(long sequence, ChangeType type, TimetableEntryView before, TimetableEntryView after) {
+}
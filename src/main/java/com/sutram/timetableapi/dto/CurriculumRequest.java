@@ -0,0 +1,27 @@
+package com.sutram.timetableapi.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+public class CurriculumRequest {
+    
+    @NotEmpty(message = "At least one section is required")
+    @Valid
+    private List<SectionCurriculum> sections;
+    
+    // Subject -> IDs of the teachers who can teach it
+    @NotEmpty(message = "Subject teachers are required")
+    private Map<String, List<Long>> subjectTeachers;
+    
+    private Long timeBudgetMillis;
+    
+    private Long seed;
+    
+    // Save a complete result through the batch import path
+    private boolean persist;
+}
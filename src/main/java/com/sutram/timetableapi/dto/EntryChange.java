@@ -0,0 +1,32 @@
+package com.sutram.timetableapi.dto;
+
+import jakarta.validation.constraints.*;
+import lombok.Data;
+
+// New values for one existing entry; fields left null keep their current value
+@Data
+public class EntryChange {
+    
+    @NotNull(message = "Entry ID is required")
+    private Long entryId;
+    
+    private Long teacherId;
+    
+    @Min(value = 1, message = "Grade must be at least 1")
+    @Max(value = 12, message = "Grade must be at most 12")
+    private Integer grade;
+    
+    @Pattern(regexp = "^[A-Z]$", message = "Section must be a single uppercase letter")
+    private String section;
+    
+    @Pattern(regexp = "^(?!\\s*$).+", message = "Subject must not be blank")
+    private String subject;
+    
+    @Pattern(regexp = "^(Monday|Tuesday|Wednesday|Thursday|Friday|Saturday)$", 
+             message = "Day must be one of: Monday, Tuesday, Wednesday, Thursday, Friday, Saturday")
+    private String classDay;
+    
+    @Min(value = 1, message = "Period must be between 1 and 8")
+    @Max(value = 8, message = "Period must be between 1 and 8")
+    private Integer period;
+}
@@ -0,0 +1,19 @@
+package com.sutram.timetableapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class FreeSlotsResponse {
+    private List<Long> teacherIds;
+    private List<String> sections;
+    private int freeSlotCount;
+    // Every valid day in week order, each with its free periods (possibly none)
+    private Map<String, List<Integer>> freePeriodsByDay;
+}
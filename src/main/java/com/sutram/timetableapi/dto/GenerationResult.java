@@ -0,0 +1,21 @@
+package com.sutram.timetableapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class GenerationResult {
+    private boolean complete;
+    private int requiredPeriods;
+    private int placedPeriods;
+    private long attempts;
+    private long elapsedMillis;
+    private List<TimetableRequest> entries;
+    private List<String> unplaced;
+    private BatchImportResult persisted;
+}
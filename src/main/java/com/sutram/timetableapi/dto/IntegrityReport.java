@@ -0,0 +1,27 @@
+package com.sutram.timetableapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class IntegrityReport {
+    private boolean clean;
+    private long scannedEntries;
+    private int chunks;
+    private int workers;
+    private long durationMillis;
+    // Counts cover everything found; the lists below stop at timetable.audit.max-findings
+    private int sectionCollisionCount;
+    private int teacherCollisionCount;
+    private long orphanedEntryCount;
+    private long invalidEntryCount;
+    private List<SlotCollision> sectionCollisions;
+    private List<SlotCollision> teacherCollisions;
+    private List<Long> orphanedEntryIds;
+    private List<Long> invalidEntryIds;
+}
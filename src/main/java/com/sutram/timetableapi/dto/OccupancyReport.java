@@ -0,0 +1,19 @@
+package com.sutram.timetableapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OccupancyReport {
+    private boolean enabled;
+    private boolean ready;
+    private boolean consistent;
+    private int indexedEntries;
+    private int databaseEntries;
+    private List<String> mismatches;
+}
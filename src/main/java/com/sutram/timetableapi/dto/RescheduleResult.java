@@ -0,0 +1,17 @@
+package com.sutram.timetableapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RescheduleResult {
+    private boolean applied;
+    private int total;
+    private int rejected;
+    private List<BatchRowResult> rows;
+}
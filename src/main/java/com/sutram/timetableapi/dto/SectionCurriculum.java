@@ -0,0 +1,23 @@
+package com.sutram.timetableapi.dto;
+
+import jakarta.validation.constraints.*;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+public class SectionCurriculum {
+    
+    @NotNull(message = "Grade is required")
+    @Min(value = 1, message = "Grade must be at least 1")
+    @Max(value = 12, message = "Grade must be at most 12")
+    private Integer grade;
+    
+    @NotBlank(message = "Section is required")
+    @Pattern(regexp = "^[A-Z]$", message = "Section must be a single uppercase letter")
+    private String section;
+    
+    // Subject -> periods per week
+    @NotEmpty(message = "Subjects are required")
+    private Map<String, Integer> subjects;
+}
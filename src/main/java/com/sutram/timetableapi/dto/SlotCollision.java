@@ -0,0 +1,18 @@
+package com.sutram.timetableapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SlotCollision {
+    // "7-A" for a section, the teacher id for a teacher
+    private String owner;
+    private String classDay;
+    private int period;
+    private List<Long> entryIds;
+}
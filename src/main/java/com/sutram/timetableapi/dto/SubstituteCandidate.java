@@ -0,0 +1,18 @@
+package com.sutram.timetableapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SubstituteCandidate {
+    private Long teacherId;
+    private String name;
+    private String email;
+    private boolean teachesSubject;
+    private boolean teachesGrade;
+    // Periods the candidate already teaches that day
+    private int dailyLoad;
+}
@@ -0,0 +1,16 @@
+package com.sutram.timetableapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SubstitutePlan {
+    private Long teacherId;
+    private String classDay;
+    private List<SubstitutePeriod> periods;
+}
@@ -0,0 +1,24 @@
+package com.sutram.timetableapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TeacherWorkload {
+    private Long teacherId;
+    private String teacherName;
+    private int periodsPerWeek;
+    private int freePeriodsPerWeek;
+    // Every valid day in week order, including days without classes
+    private Map<String, Integer> periodsPerDay;
+    private int maxConsecutivePeriods;
+    private Map<String, Integer> subjects;
+    private Map<Integer, Integer> grades;
+    private List<String> alerts;
+}
@@ -0,0 +1,25 @@
+package com.sutram.timetableapi.dto;
+
+import com.sutram.timetableapi.model.Teacher;
+import com.sutram.timetableapi.model.TimetableEntry;
+
+// Read-only view of a timetable entry and its teacher, selected in a single statement.
+// Serializes to the same JSON as the TimetableEntry entity.
+public record TimetableEntryView(Long id, TeacherView teacher, Integer grade, String section,
+                                 String subject, String classDay, Integer period) {
+
+    public record TeacherView(Long id, String name, String email) {
+    }
+
+    // Target of the constructor expressions in TimetableRepository
+    public TimetableEntryView(Long id, Long teacherId, String teacherName, String teacherEmail,
+                              Integer grade, String section, String subject, String classDay, Integer period) {
+        this(id, new TeacherView(teacherId, teacherName, teacherEmail), grade, section, subject, classDay, period);
+    }
+
+    public static TimetableEntryView of(TimetableEntry entry) {
+        Teacher teacher = entry.getTeacher();
+        return new TimetableEntryView(entry.getId(), teacher.getId(), teacher.getName(), teacher.getEmail(),
+                entry.getGrade(), entry.getSection(), entry.getSubject(), entry.getClassDay(), entry.getPeriod());
+    }
+}
@@ -0,0 +1,21 @@
+package com.sutram.timetableapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Flat row selected straight from the query, so exported rows never enter the persistence context
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TimetableExportRow {
+    private Long id;
+    private Long teacherId;
+    private String teacherName;
+    private String teacherEmail;
+    private Integer grade;
+    private String section;
+    private String subject;
+    private String classDay;
+    private Integer period;
+}
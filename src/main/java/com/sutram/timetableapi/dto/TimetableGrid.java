@@ -0,0 +1,34 @@
+package com.sutram.timetableapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.sutram.timetableapi.model.ClassDay;
+import com.sutram.timetableapi.model.SlotKeys;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// One section's or one teacher's week: for each day its periods in order, null where nothing is
+// scheduled. Only the owner's fields are set, grade and section or teacherId.
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TimetableGrid(Integer grade, String section, Long teacherId, Map<String, List<TimetableEntryView>> days) {
+
+    // cells is indexed by week slot, day index * 8 + period - 1
+    public static TimetableGrid of(Integer grade, String section, Long teacherId, TimetableEntryView[] cells) {
+        Map<String, List<TimetableEntryView>> days = new LinkedHashMap<>();
+        for (ClassDay day : ClassDay.values()) {
+            int first = day.ordinal() * SlotKeys.PERIODS_PER_DAY;
+            days.put(day.getLabel(), Arrays.asList(Arrays.copyOfRange(cells, first, first + SlotKeys.PERIODS_PER_DAY)));
+        }
+        return new TimetableGrid(grade, section, teacherId, days);
+    }
+
+    public static TimetableGrid of(Integer grade, String section, Long teacherId, List<TimetableEntryView> entries) {
+        TimetableEntryView[] cells = new TimetableEntryView[SlotKeys.SLOTS_PER_WEEK];
+        for (TimetableEntryView entry : entries) {
+            cells[SlotKeys.weekSlot(entry.classDay(), entry.period())] = entry;
+        }
+        return of(grade, section, teacherId, cells);
+    }
+}
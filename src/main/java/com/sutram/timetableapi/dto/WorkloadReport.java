@@ -0,0 +1,19 @@
+package com.sutram.timetableapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class WorkloadReport {
+    private int maxPeriodsPerDay;
+    private int maxPeriodsPerWeek;
+    private int maxConsecutivePeriods;
+    private int teacherCount;
+    private int teachersWithAlerts;
+    private List<TeacherWorkload> teachers;
+}
@@ -0,0 +1,5 @@
+package com.sutram.timetableapi.event;
+
+// Published by TeacherController after a teacher was created, renamed or deleted
+public record TeacherChangeEvent(Long teacherId) {
+}
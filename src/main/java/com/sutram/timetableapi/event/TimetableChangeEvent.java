@@ -0,0 +1,26 @@
+package com.sutram.timetableapi.event;
+
+import com.sutram.timetableapi.dto.TimetableEntryView;
+
+// Published by TimetableService once a write has been saved. before is null for creates,
+// after is null for deletes.
+public record TimetableChangeEvent(ChangeType type, TimetableEntryView before, TimetableEntryView after) {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static TimetableChangeEvent created(TimetableEntryView after) {
+        return new TimetableChangeEvent(ChangeType.CREATED, null, after);
+    }
+
+    public static TimetableChangeEvent updated(TimetableEntryView before, TimetableEntryView after) {
+        return new TimetableChangeEvent(ChangeType.UPDATED, before, after);
+    }
+
+    public static TimetableChangeEvent deleted(TimetableEntryView before) {
+        return new TimetableChangeEvent(ChangeType.DELETED, before, null);
+    }
+}
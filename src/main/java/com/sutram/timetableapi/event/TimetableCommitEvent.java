@@ -0,0 +1,8 @@
+package com.sutram.timetableapi.event;
+
+import java.util.List;
+
+// Published once per committed write, after the TimetableChangeEvent of every entry it changed, so a
+// listener that pays per call (the journal's disk force) can handle a whole import or bulk delete at once
+public record TimetableCommitEvent(List<TimetableChangeEvent> changes) {
+}
@@ -0,0 +1,248 @@
+package com.sutram.timetableapi.journal;
+
+import com.sutram.timetableapi.dto.TimetableEntryView;
+import com.sutram.timetableapi.event.TeacherChangeEvent;
+import com.sutram.timetableapi.event.TimetableChangeEvent;
+import com.sutram.timetableapi.event.TimetableCommitEvent;
+import com.sutram.timetableapi.journal.JournalRecord.EntryDelete;
+import com.sutram.timetableapi.journal.JournalRecord.EntryPut;
+import com.sutram.timetableapi.journal.JournalRecord.TeacherDelete;
+import com.sutram.timetableapi.journal.JournalRecord.TeacherPut;
+import com.sutram.timetableapi.model.ClassDay;
+import com.sutram.timetableapi.model.SlotKeys;
+import com.sutram.timetableapi.repository.TeacherRepository;
+import com.sutram.timetableapi.repository.TimetableRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.IntStream;
+
+// Durable mode: the in-memory database is loaded from the journal at startup and every saved change is
+// journaled before the request that made it returns, so an acknowledged write survives a restart or crash.
+// Rows are restored with JDBC batches, not through JPA; the occupancy index is rebuilt from them as usual.
+//
+// Changes are journaled after their commit, so two writes to the same row can reach the journal in the
+// opposite order to their commits. The record is therefore not taken from the event but read back from
+// the database under a lock per row, held until it is written: whichever write is journaled last for a
+// row reads it after every commit before it, so replay ends on the committed value.
+@Component
+@ConditionalOnProperty(name = "timetable.durability.enabled", havingValue = "true")
+public class DurableStore implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(DurableStore.class);
+
+    private static final int INSERT_BATCH = 5000;
+
+    private static final int READ_BATCH = 1000;
+
+    // Each entry id maps to one of 64 lock stripes, one bit of a long, so a batch takes its stripes as a
+    // mask in bit order and two batches can never wait on each other in a cycle
+    private static final int ENTRY_STRIPES = 64;
+
+    // Pooled sequences hand out a block of 50 ids below the value they return
+    private static final int SEQUENCE_GAP = 100;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private TimetableRepository timetableRepository;
+
+    @Value("${timetable.durability.directory:data}")
+    private String directory = "data";
+
+    @Value("${timetable.durability.fsync:true}")
+    private boolean fsync = true;
+
+    @Value("${timetable.durability.snapshot-every:50000}")
+    private int snapshotEvery = 50000;
+
+    private final ExecutorService snapshotter = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "journal-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicBoolean snapshotPending = new AtomicBoolean();
+
+    private final ReentrantLock[] entryLocks = IntStream.range(0, ENTRY_STRIPES)
+            .mapToObj(stripe -> new ReentrantLock())
+            .toArray(ReentrantLock[]::new);
+
+    private final ReentrantLock teacherLock = new ReentrantLock();
+
+    private TimetableJournal journal;
+
+    // Runs once the schema exists and before any CommandLineRunner or request
+    @Override
+    public void afterSingletonsInstantiated() {
+        long start = System.nanoTime();
+        try {
+            journal = TimetableJournal.open(Path.of(directory), fsync);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open the journal in " + directory, e);
+        }
+        JournalState state = journal.state();
+        restore(state);
+        log.info("Restored {} teachers and {} timetable entries from {} in {} ms", state.teachers().size(),
+                state.entries().size(), directory, (System.nanoTime() - start) / 1_000_000);
+        if (journal.recordsSinceSnapshot() > 0) {
+            // Fold the replayed journal into a snapshot so the next start reads one file
+            scheduleSnapshot();
+        }
+    }
+
+    // One call per commit, so an import or bulk delete of thousands of rows is one write and one force
+    @EventListener
+    public void onTimetableCommit(TimetableCommitEvent event) {
+        List<Long> ids = new ArrayList<>(event.changes().size());
+        long stripes = 0;
+        for (TimetableChangeEvent change : event.changes()) {
+            Long id = change.after() != null ? change.after().id() : change.before().id();
+            ids.add(id);
+            stripes |= 1L << (id & (ENTRY_STRIPES - 1));
+        }
+        long end;
+        lockStripes(stripes);
+        try {
+            Map<Long, TimetableEntryView> current = new HashMap<>();
+            for (int from = 0; from < ids.size(); from += READ_BATCH) {
+                for (TimetableEntryView view : timetableRepository.findViewsByIdIn(
+                        ids.subList(from, Math.min(from + READ_BATCH, ids.size())))) {
+                    current.put(view.id(), view);
+                }
+            }
+            List<JournalRecord> records = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                TimetableEntryView view = current.get(id);
+                records.add(view != null ? EntryPut.of(view) : new EntryDelete(id));
+            }
+            end = write(records);
+        } finally {
+            unlockStripes(stripes);
+        }
+        sync(end);
+    }
+
+    // The event only names the teacher, so the saved row is read back, under the same rule as entries
+    @EventListener
+    public void onTeacherChange(TeacherChangeEvent event) {
+        long end;
+        teacherLock.lock();
+        try {
+            end = write(List.of(teacherRepository.findById(event.teacherId())
+                    .<JournalRecord>map(TeacherPut::of)
+                    .orElseGet(() -> new TeacherDelete(event.teacherId()))));
+        } finally {
+            teacherLock.unlock();
+        }
+        sync(end);
+    }
+
+    @PreDestroy
+    public void shutdown() throws Exception {
+        snapshotter.shutdown();
+        snapshotter.awaitTermination(1, TimeUnit.MINUTES);
+        if (journal.recordsSinceSnapshot() > 0) {
+            journal.snapshot();
+        }
+        journal.close();
+    }
+
+    // The change is already committed when this fails. The request still fails, so it is never reported
+    // as saved, but the database keeps it until a restart, where it is lost. The journal refuses every
+    // append after a failed write or force, so no later change is reported as saved either.
+    private long write(List<JournalRecord> records) {
+        try {
+            return journal.write(records);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not journal change", e);
+        }
+    }
+
+    private void sync(long end) {
+        try {
+            journal.sync(end);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not journal change", e);
+        }
+        if (journal.recordsSinceSnapshot() >= snapshotEvery) {
+            scheduleSnapshot();
+        }
+    }
+
+    private void lockStripes(long stripes) {
+        for (long rest = stripes; rest != 0; rest &= rest - 1) {
+            entryLocks[Long.numberOfTrailingZeros(rest)].lock();
+        }
+    }
+
+    private void unlockStripes(long stripes) {
+        for (long rest = stripes; rest != 0; rest &= rest - 1) {
+            entryLocks[Long.numberOfTrailingZeros(rest)].unlock();
+        }
+    }
+
+    private void scheduleSnapshot() {
+        if (snapshotPending.compareAndSet(false, true)) {
+            snapshotter.execute(() -> {
+                snapshotPending.set(false);
+                try {
+                    journal.snapshot();
+                } catch (IOException e) {
+                    // The journal still holds every change; the next snapshot retries
+                    log.error("Journal snapshot in {} failed", directory, e);
+                }
+            });
+        }
+    }
+
+    private void restore(JournalState state) {
+        jdbcTemplate.batchUpdate("insert into teachers (id, name, email) values (?, ?, ?)",
+                state.teachers(), INSERT_BATCH, (statement, teacher) -> {
+                    statement.setLong(1, teacher.id());
+                    statement.setString(2, teacher.name());
+                    statement.setString(3, teacher.email());
+                });
+        // Slot keys are normally derived by the entity before each write
+        jdbcTemplate.batchUpdate("insert into timetable_entries (id, teacher_id, grade, section, subject, class_day, "
+                        + "period, slot_key, teacher_slot_key) values (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                state.entries(), INSERT_BATCH, (statement, entry) -> {
+                    String day = ClassDay.fromCode(entry.day()).getLabel();
+                    statement.setLong(1, entry.id());
+                    statement.setLong(2, entry.teacherId());
+                    statement.setInt(3, entry.grade());
+                    statement.setString(4, entry.section());
+                    statement.setString(5, entry.subject());
+                    statement.setShort(6, (short) entry.day());
+                    statement.setInt(7, entry.period());
+                    statement.setInt(8, SlotKeys.slotKey(entry.grade(), entry.section(), day, entry.period()));
+                    statement.setLong(9, SlotKeys.teacherSlotKey(entry.teacherId(), day, entry.period()));
+                });
+        jdbcTemplate.execute("alter sequence teachers_seq restart with " + (state.maxTeacherId() + SEQUENCE_GAP));
+        jdbcTemplate.execute("alter sequence timetable_entries_seq restart with " + (state.maxEntryId() + SEQUENCE_GAP));
+    }
+}
@@ -0,0 +1,127 @@
+package com.sutram.timetableapi.journal;
+
+import com.sutram.timetableapi.journal.JournalRecord.EntryDelete;
+import com.sutram.timetableapi.journal.JournalRecord.EntryPut;
+import com.sutram.timetableapi.journal.JournalRecord.TeacherDelete;
+import com.sutram.timetableapi.journal.JournalRecord.TeacherPut;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+// Journal frames are [int payload length][int CRC32 of payload][payload]. A frame that is cut short
+// or fails its checksum marks the end of the journal: it was never acknowledged.
+// Strings are [unsigned short byte length][UTF-8 bytes], here and in snapshots.
+final class JournalCodec {
+
+    static final int FRAME_HEADER = 8;
+
+    private static final int MAX_PAYLOAD = 1 << 20;
+
+    private static final byte TEACHER_PUT = 1;
+
+    private static final byte TEACHER_DELETE = 2;
+
+    private static final byte ENTRY_PUT = 3;
+
+    private static final byte ENTRY_DELETE = 4;
+
+    private JournalCodec() {
+    }
+
+    static ByteBuffer frame(JournalRecord record) {
+        byte[][] strings = switch (record) {
+            case TeacherPut put -> new byte[][]{utf8(put.name()), utf8(put.email())};
+            case EntryPut put -> new byte[][]{utf8(put.section()), utf8(put.subject())};
+            default -> new byte[0][];
+        };
+        int size = 1 + switch (record) {
+            case TeacherPut put -> 8;
+            case EntryPut put -> 8 + 8 + 4 + 1 + 1;
+            default -> 8;
+        };
+        for (byte[] string : strings) {
+            size += 2 + string.length;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(FRAME_HEADER + size);
+        buffer.position(FRAME_HEADER);
+        switch (record) {
+            case TeacherPut put -> {
+                buffer.put(TEACHER_PUT).putLong(put.id());
+                putString(buffer, strings[0]);
+                putString(buffer, strings[1]);
+            }
+            case TeacherDelete delete -> buffer.put(TEACHER_DELETE).putLong(delete.id());
+            case EntryPut put -> {
+                buffer.put(ENTRY_PUT).putLong(put.id()).putLong(put.teacherId()).putInt(put.grade());
+                putString(buffer, strings[0]);
+                putString(buffer, strings[1]);
+                buffer.put((byte) put.day()).put((byte) put.period());
+            }
+            case EntryDelete delete -> buffer.put(ENTRY_DELETE).putLong(delete.id());
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), FRAME_HEADER, size);
+        buffer.putInt(0, size).putInt(4, (int) crc.getValue());
+        return buffer.rewind();
+    }
+
+    // Reads the frame at the buffer's position and moves past it; null, with the position unchanged,
+    // at the end of the valid journal
+    static JournalRecord readFrame(ByteBuffer buffer) {
+        int start = buffer.position();
+        if (buffer.remaining() < FRAME_HEADER) {
+            return null;
+        }
+        int size = buffer.getInt(start);
+        if (size <= 0 || size > MAX_PAYLOAD || buffer.remaining() < FRAME_HEADER + size) {
+            return null;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(start + FRAME_HEADER, size));
+        if ((int) crc.getValue() != buffer.getInt(start + 4)) {
+            return null;
+        }
+
+        JournalRecord record = decode(buffer.slice(start + FRAME_HEADER, size));
+        if (record != null) {
+            buffer.position(start + FRAME_HEADER + size);
+        }
+        return record;
+    }
+
+    private static JournalRecord decode(ByteBuffer payload) {
+        try {
+            return switch (payload.get()) {
+                case TEACHER_PUT -> new TeacherPut(payload.getLong(), getString(payload), getString(payload));
+                case TEACHER_DELETE -> new TeacherDelete(payload.getLong());
+                case ENTRY_PUT -> new EntryPut(payload.getLong(), payload.getLong(), payload.getInt(),
+                        getString(payload), getString(payload), payload.get(), payload.get());
+                case ENTRY_DELETE -> new EntryDelete(payload.getLong());
+                default -> null;
+            };
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    static byte[] utf8(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("Value too long to journal: " + bytes.length + " bytes");
+        }
+        return bytes;
+    }
+
+    static void putString(ByteBuffer buffer, byte[] bytes) {
+        buffer.putShort((short) bytes.length).put(bytes);
+    }
+
+    static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
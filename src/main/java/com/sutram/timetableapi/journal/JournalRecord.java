@@ -0,0 +1,33 @@
+package com.sutram.timetableapi.journal;
+
+import com.sutram.timetableapi.dto.TimetableEntryView;
+import com.sutram.timetableapi.model.ClassDay;
+import com.sutram.timetableapi.model.Teacher;
+
+// One mutation as written to the journal. Puts carry the full row, so replay never needs the old value.
+public sealed interface JournalRecord {
+
+    record TeacherPut(long id, String name, String email) implements JournalRecord {
+
+        public static TeacherPut of(Teacher teacher) {
+            return new TeacherPut(teacher.getId(), teacher.getName(), teacher.getEmail());
+        }
+    }
+
+    // Also drops the teacher's entries, as the database does
+    record TeacherDelete(long id) implements JournalRecord {
+    }
+
+    // day is the ClassDay ordinal
+    record EntryPut(long id, long teacherId, int grade, String section, String subject, int day, int period)
+            implements JournalRecord {
+
+        public static EntryPut of(TimetableEntryView view) {
+            return new EntryPut(view.id(), view.teacher().id(), view.grade(), view.section(), view.subject(),
+                    ClassDay.fromLabel(view.classDay()).ordinal(), view.period());
+        }
+    }
+
+    record EntryDelete(long id) implements JournalRecord {
+    }
+}
@@ -0,0 +1,60 @@
+package com.sutram.timetableapi.journal;
+
+import com.sutram.timetableapi.journal.JournalRecord.EntryDelete;
+import com.sutram.timetableapi.journal.JournalRecord.EntryPut;
+import com.sutram.timetableapi.journal.JournalRecord.TeacherDelete;
+import com.sutram.timetableapi.journal.JournalRecord.TeacherPut;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+// Every teacher and entry as of the last applied record, keyed by id. Not thread-safe on its own,
+// TimetableJournal guards the live instance.
+public class JournalState {
+
+    private final Map<Long, TeacherPut> teachers;
+
+    private final Map<Long, EntryPut> entries;
+
+    public JournalState() {
+        this(new HashMap<>(), new HashMap<>());
+    }
+
+    private JournalState(Map<Long, TeacherPut> teachers, Map<Long, EntryPut> entries) {
+        this.teachers = teachers;
+        this.entries = entries;
+    }
+
+    public void apply(JournalRecord record) {
+        switch (record) {
+            case TeacherPut put -> teachers.put(put.id(), put);
+            case TeacherDelete delete -> {
+                teachers.remove(delete.id());
+                entries.values().removeIf(entry -> entry.teacherId() == delete.id());
+            }
+            case EntryPut put -> entries.put(put.id(), put);
+            case EntryDelete delete -> entries.remove(delete.id());
+        }
+    }
+
+    public JournalState copy() {
+        return new JournalState(new HashMap<>(teachers), new HashMap<>(entries));
+    }
+
+    public Collection<TeacherPut> teachers() {
+        return teachers.values();
+    }
+
+    public Collection<EntryPut> entries() {
+        return entries.values();
+    }
+
+    public long maxTeacherId() {
+        return teachers.keySet().stream().mapToLong(Long::longValue).max().orElse(0);
+    }
+
+    public long maxEntryId() {
+        return entries.keySet().stream().mapToLong(Long::longValue).max().orElse(0);
+    }
+}
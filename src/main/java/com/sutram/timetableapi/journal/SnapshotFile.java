@@ -0,0 +1,133 @@
+package com.sutram.timetableapi.journal;
+
+import com.sutram.timetableapi.journal.JournalRecord.EntryPut;
+import com.sutram.timetableapi.journal.JournalRecord.TeacherPut;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+// Compact binary image of a JournalState:
+//   int magic, int version, long generation
+//   int string count, strings        - sections and subjects, referenced by index below
+//   int teacher count, per teacher:  long id, string name, string email
+//   int entry count, per entry:      long id, long teacher id, int grade, int section ref,
+//                                    int subject ref, byte day, byte period
+//   int CRC32 of everything before it
+// Written to a temporary file, synced and renamed into place, so a snapshot either exists whole or not at all.
+final class SnapshotFile {
+
+    private static final int MAGIC = 0x5454534E;
+
+    private static final int VERSION = 1;
+
+    private SnapshotFile() {
+    }
+
+    static void write(Path file, long generation, JournalState state) throws IOException {
+        Map<String, Integer> dictionary = new HashMap<>();
+        List<String> strings = new ArrayList<>();
+        for (EntryPut entry : state.entries()) {
+            dictionary.computeIfAbsent(entry.section(), value -> add(strings, value));
+            dictionary.computeIfAbsent(entry.subject(), value -> add(strings, value));
+        }
+
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileOutputStream fileOut = new FileOutputStream(temporary.toFile())) {
+            CheckedOutputStream checked = new CheckedOutputStream(fileOut, new CRC32());
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(checked, 1 << 16));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(generation);
+
+            out.writeInt(strings.size());
+            for (String value : strings) {
+                writeString(out, value);
+            }
+
+            out.writeInt(state.teachers().size());
+            for (TeacherPut teacher : state.teachers()) {
+                out.writeLong(teacher.id());
+                writeString(out, teacher.name());
+                writeString(out, teacher.email());
+            }
+
+            out.writeInt(state.entries().size());
+            for (EntryPut entry : state.entries()) {
+                out.writeLong(entry.id());
+                out.writeLong(entry.teacherId());
+                out.writeInt(entry.grade());
+                out.writeInt(dictionary.get(entry.section()));
+                out.writeInt(dictionary.get(entry.subject()));
+                out.writeByte(entry.day());
+                out.writeByte(entry.period());
+            }
+
+            out.flush();
+            new DataOutputStream(fileOut).writeInt((int) checked.getChecksum().getValue());
+            fileOut.getChannel().force(true);
+        }
+        Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        TimetableJournal.syncDirectory(file.getParent());
+    }
+
+    // Null when the file is damaged
+    static JournalState read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < 20 || size > Integer.MAX_VALUE) {
+                return null;
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            CRC32 crc = new CRC32();
+            crc.update(buffer.slice(0, (int) size - 4));
+            if ((int) crc.getValue() != buffer.getInt((int) size - 4)
+                    || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                return null;
+            }
+            buffer.getLong();
+
+            String[] strings = new String[buffer.getInt()];
+            for (int i = 0; i < strings.length; i++) {
+                strings[i] = JournalCodec.getString(buffer);
+            }
+
+            JournalState state = new JournalState();
+            int teachers = buffer.getInt();
+            for (int i = 0; i < teachers; i++) {
+                state.apply(new TeacherPut(buffer.getLong(), JournalCodec.getString(buffer), JournalCodec.getString(buffer)));
+            }
+            int entries = buffer.getInt();
+            for (int i = 0; i < entries; i++) {
+                state.apply(new EntryPut(buffer.getLong(), buffer.getLong(), buffer.getInt(),
+                        strings[buffer.getInt()], strings[buffer.getInt()], buffer.get(), buffer.get()));
+            }
+            return state;
+        }
+    }
+
+    private static Integer add(List<String> strings, String value) {
+        strings.add(value);
+        return strings.size() - 1;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = JournalCodec.utf8(value);
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+}
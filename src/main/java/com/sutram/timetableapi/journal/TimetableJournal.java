@@ -0,0 +1,319 @@
+package com.sutram.timetableapi.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Append-only journal of teacher and entry mutations with periodic snapshots, kept in one directory:
+//   snapshot-<generation>.bin   the state before journal-<generation>.log was started
+//   journal-<generation>.log    records appended since then
+// Opening recovers the state from the newest intact snapshot plus the journals from its generation on,
+// both read through memory-mapped buffers, and cuts off a torn final record.
+//
+// append() returns once the records are written and, with fsync on, forced to disk. The records of one
+// call share a force, and so do concurrent appends (group commit), so throughput does not drop to one
+// write per disk flush.
+public class TimetableJournal implements Closeable {
+
+    private static final Pattern FILE_NAME = Pattern.compile("(snapshot|journal)-(\\d{16})\\.(bin|log)");
+
+    private record Replay(int records, long end) {
+    }
+
+    private final Path directory;
+
+    private final boolean fsync;
+
+    // Appends, state and rotation
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Forcing; taken before lock when both are needed, so the channel is not swapped mid-force
+    private final ReentrantLock syncLock = new ReentrantLock();
+
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+
+    // Guarded by lock
+    private final JournalState state;
+
+    // Guarded by lock
+    private FileChannel channel;
+
+    // Guarded by lock
+    private long generation;
+
+    // Bytes appended since opening, across generations; guarded by lock
+    private long appended;
+
+    // Guarded by syncLock
+    private long synced;
+
+    // Guarded by syncLock
+    private long forces;
+
+    private volatile int recordsSinceSnapshot;
+
+    // After a failed write or force the file contents are uncertain, so nothing more is acknowledged
+    private volatile IOException failure;
+
+    private TimetableJournal(Path directory, boolean fsync) throws IOException {
+        this.directory = directory;
+        this.fsync = fsync;
+        Files.createDirectories(directory);
+
+        TreeMap<Long, Path> snapshots = new TreeMap<>();
+        TreeMap<Long, Path> journals = new TreeMap<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                Matcher matcher = FILE_NAME.matcher(name);
+                if (name.endsWith(".tmp")) {
+                    // A snapshot that was still being written
+                    Files.delete(file);
+                } else if (matcher.matches()) {
+                    (matcher.group(1).equals("snapshot") ? snapshots : journals).put(Long.parseLong(matcher.group(2)), file);
+                }
+            }
+        }
+
+        JournalState recovered = null;
+        long base = 0;
+        for (Map.Entry<Long, Path> snapshot : snapshots.descendingMap().entrySet()) {
+            recovered = SnapshotFile.read(snapshot.getValue());
+            if (recovered != null) {
+                base = snapshot.getKey();
+                break;
+            }
+        }
+        state = recovered != null ? recovered : new JournalState();
+
+        generation = base;
+        long end = 0;
+        int records = 0;
+        for (Map.Entry<Long, Path> journal : journals.tailMap(base, true).entrySet()) {
+            Replay replay = replay(journal.getValue(), state);
+            generation = journal.getKey();
+            end = replay.end();
+            records += replay.records();
+        }
+        recordsSinceSnapshot = records;
+
+        channel = FileChannel.open(journalPath(generation),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        channel.truncate(end);
+        channel.position(end);
+        channel.force(true);
+        deleteBefore(base);
+    }
+
+    public static TimetableJournal open(Path directory, boolean fsync) throws IOException {
+        return new TimetableJournal(directory, fsync);
+    }
+
+    public void append(JournalRecord record) throws IOException {
+        append(List.of(record));
+    }
+
+    // The records of one commit go out as one write and, with fsync on, one force
+    public void append(List<JournalRecord> records) throws IOException {
+        sync(write(records));
+    }
+
+    // append() in two steps, so a caller can order writes under its own lock and force after releasing
+    // it. Returns the end of the written records, for sync()
+    long write(List<JournalRecord> records) throws IOException {
+        List<ByteBuffer> frames = new ArrayList<>(records.size());
+        int size = 0;
+        for (JournalRecord record : records) {
+            ByteBuffer frame = JournalCodec.frame(record);
+            frames.add(frame);
+            size += frame.remaining();
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        frames.forEach(buffer::put);
+        buffer.flip();
+        lock.lock();
+        try {
+            checkHealthy();
+            long start = channel.position();
+            try {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            } catch (IOException e) {
+                failure = e;
+                throw e;
+            }
+            records.forEach(state::apply);
+            appended += channel.position() - start;
+            recordsSinceSnapshot += records.size();
+            return appended;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Starts a new journal generation and writes the state before it as a snapshot, then drops the
+    // files the snapshot replaces. Appends only wait for the rotation, not for the snapshot write.
+    public void snapshot() throws IOException {
+        snapshotLock.lock();
+        try {
+            JournalState image;
+            long snapshotGeneration;
+            syncLock.lock();
+            lock.lock();
+            try {
+                checkHealthy();
+                force();
+                synced = appended;
+                image = state.copy();
+                snapshotGeneration = generation + 1;
+                FileChannel next = FileChannel.open(journalPath(snapshotGeneration), StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                syncDirectory(directory);
+                channel.close();
+                channel = next;
+                generation = snapshotGeneration;
+                recordsSinceSnapshot = 0;
+            } finally {
+                lock.unlock();
+                syncLock.unlock();
+            }
+            SnapshotFile.write(snapshotPath(snapshotGeneration), snapshotGeneration, image);
+            deleteBefore(snapshotGeneration);
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    // A copy of the current state
+    public JournalState state() {
+        lock.lock();
+        try {
+            return state.copy();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int recordsSinceSnapshot() {
+        return recordsSinceSnapshot;
+    }
+
+    // Forces made for appends and snapshots since opening
+    long forces() {
+        return forces;
+    }
+
+    @Override
+    public void close() throws IOException {
+        syncLock.lock();
+        lock.lock();
+        try {
+            if (channel.isOpen()) {
+                if (failure == null) {
+                    channel.force(false);
+                }
+                channel.close();
+            }
+        } finally {
+            lock.unlock();
+            syncLock.unlock();
+        }
+    }
+
+    static void syncDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Not every platform can sync a directory; the files themselves are synced either way
+        }
+    }
+
+    // Returns once everything up to end is on disk; does nothing with fsync off
+    void sync(long end) throws IOException {
+        if (!fsync) {
+            return;
+        }
+        syncLock.lock();
+        try {
+            if (synced >= end) {
+                // Another thread's force already covered this record
+                return;
+            }
+            long upTo;
+            lock.lock();
+            try {
+                upTo = appended;
+            } finally {
+                lock.unlock();
+            }
+            force();
+            synced = upTo;
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    // Caller holds syncLock
+    private void force() throws IOException {
+        checkHealthy();
+        forces++;
+        try {
+            channel.force(false);
+        } catch (IOException e) {
+            failure = e;
+            throw e;
+        }
+    }
+
+    private void checkHealthy() throws IOException {
+        if (failure != null) {
+            throw new IOException("Journal is unavailable after an earlier write failure", failure);
+        }
+    }
+
+    private static Replay replay(Path file, JournalState state) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            int records = 0;
+            JournalRecord record;
+            while ((record = JournalCodec.readFrame(buffer)) != null) {
+                state.apply(record);
+                records++;
+            }
+            return new Replay(records, buffer.position());
+        }
+    }
+
+    private void deleteBefore(long keep) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                Matcher matcher = FILE_NAME.matcher(file.getFileName().toString());
+                if (matcher.matches() && Long.parseLong(matcher.group(2)) < keep) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    private Path journalPath(long generation) {
+        return directory.resolve(String.format("journal-%016d.log", generation));
+    }
+
+    private Path snapshotPath(long generation) {
+        return directory.resolve(String.format("snapshot-%016d.bin", generation));
+    }
+}
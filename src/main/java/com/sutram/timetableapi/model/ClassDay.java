@@ -0,0 +1,39 @@
+package com.sutram.timetableapi.model;
+
+// Teaching days in week order; the API keeps using the labels, the database stores the ordinal
+public enum ClassDay {
+    MONDAY("Monday"),
+    TUESDAY("Tuesday"),
+    WEDNESDAY("Wednesday"),
+    THURSDAY("Thursday"),
+    FRIDAY("Friday"),
+    SATURDAY("Saturday");
+
+    private static final ClassDay[] VALUES = values();
+
+    private final String label;
+
+    ClassDay(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    // Null for anything that is not exactly one of the labels, matching the entity's day pattern
+    public static ClassDay fromLabel(String label) {
+        if (label != null) {
+            for (ClassDay day : VALUES) {
+                if (day.label.equals(label)) {
+                    return day;
+                }
+            }
+        }
+        return null;
+    }
+
+    public static ClassDay fromCode(int code) {
+        return VALUES[code];
+    }
+}
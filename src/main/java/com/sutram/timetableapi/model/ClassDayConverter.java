@@ -0,0 +1,21 @@
+package com.sutram.timetableapi.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+// Stores class_day as a small integer while the entity and every query keep the day label.
+// Unknown labels become null: the column rejects them on write and they match nothing in a query.
+@Converter
+public class ClassDayConverter implements AttributeConverter<String, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(String label) {
+        ClassDay day = ClassDay.fromLabel(label);
+        return day == null ? null : (short) day.ordinal();
+    }
+
+    @Override
+    public String convertToEntityAttribute(Short code) {
+        return code == null ? null : ClassDay.fromCode(code).getLabel();
+    }
+}
@@ -0,0 +1,54 @@
+package com.sutram.timetableapi.model;
+
+// Packs a timetable slot into one indexed number per conflict rule.
+//
+// The week slot is dayIndex * 8 + period - 1 (0..47). A section key numbers grade/section pairs
+// as grade * 26 + letter, so slot_key = sectionKey * 48 + weekSlot and one section's week is the
+// contiguous range [sectionKey * 48, sectionKey * 48 + 47]. teacher_slot_key packs the teacher id
+// the same way. Both keys are non-negative for valid entries; negative values are free for parking.
+public final class SlotKeys {
+
+    public static final int PERIODS_PER_DAY = 8;
+
+    public static final int SLOTS_PER_WEEK = ClassDay.values().length * PERIODS_PER_DAY;
+
+    private static final int SECTIONS_PER_GRADE = 26;
+
+    private SlotKeys() {
+    }
+
+    // Returns -1 for a day/period outside the valid grid
+    public static int weekSlot(String classDay, Integer period) {
+        ClassDay day = ClassDay.fromLabel(classDay);
+        if (day == null || period == null || period < 1 || period > PERIODS_PER_DAY) {
+            return -1;
+        }
+        return day.ordinal() * PERIODS_PER_DAY + (period - 1);
+    }
+
+    // Returns -1 unless grade is positive and section is one uppercase letter
+    public static int firstSectionSlotKey(Integer grade, String section) {
+        if (grade == null || grade < 1 || section == null || section.length() != 1
+                || section.charAt(0) < 'A' || section.charAt(0) > 'Z') {
+            return -1;
+        }
+        return (grade * SECTIONS_PER_GRADE + (section.charAt(0) - 'A')) * SLOTS_PER_WEEK;
+    }
+
+    public static long firstTeacherSlotKey(Long teacherId) {
+        return teacherId == null || teacherId < 0 ? -1 : teacherId * SLOTS_PER_WEEK;
+    }
+
+    // Null when any part is invalid
+    public static Integer slotKey(Integer grade, String section, String classDay, Integer period) {
+        int first = firstSectionSlotKey(grade, section);
+        int slot = weekSlot(classDay, period);
+        return first < 0 || slot < 0 ? null : first + slot;
+    }
+
+    public static Long teacherSlotKey(Long teacherId, String classDay, Integer period) {
+        long first = firstTeacherSlotKey(teacherId);
+        int slot = weekSlot(classDay, period);
+        return first < 0 || slot < 0 ? null : first + slot;
+    }
+}
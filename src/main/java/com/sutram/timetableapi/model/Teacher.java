@@ -13,7 +13,8 @@ import lombok.AllArgsConstructor;
 public class Teacher {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "teacher_seq")
+    @SequenceGenerator(name = "teacher_seq", sequenceName = "teachers_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false)
@@ -1,23 +1,35 @@
 package com.sutram.timetableapi.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import lombok.AccessLevel;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import lombok.AllArgsConstructor;
+import lombok.Setter;
 
 import java.util.Arrays;
 import java.util.List;
 
 @Entity
-@Table(name = "timetable_entries")
+// The database enforces both conflict rules, so concurrent writes cannot double-book a slot.
+// Each rule is a unique index on one packed integer (see SlotKeys) instead of four columns.
+@Table(name = "timetable_entries", uniqueConstraints = {
+        @UniqueConstraint(name = TimetableEntry.SECTION_SLOT_CONSTRAINT, columnNames = "slot_key"),
+        @UniqueConstraint(name = TimetableEntry.TEACHER_SLOT_CONSTRAINT, columnNames = "teacher_slot_key")
+})
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
 public class TimetableEntry {
     
+    public static final String SECTION_SLOT_CONSTRAINT = "uk_timetable_section_slot";
+    
+    public static final String TEACHER_SLOT_CONSTRAINT = "uk_timetable_teacher_slot";
+    
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence ids let Hibernate batch inserts, which IDENTITY columns prevent
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "timetable_entry_seq")
+    @SequenceGenerator(name = "timetable_entry_seq", sequenceName = "timetable_entries_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne
@@ -36,6 +48,7 @@ public class TimetableEntry {
     @Column(nullable = false)
     private String subject;
     
+    @Convert(converter = ClassDayConverter.class)
     @Column(name = "class_day", nullable = false)
     @Pattern(regexp = "^(Monday|Tuesday|Wednesday|Thursday|Friday|Saturday)$", 
              message = "Day must be one of: Monday, Tuesday, Wednesday, Thursday, Friday, Saturday")
@@ -46,6 +59,37 @@ public class TimetableEntry {
     @Max(value = 8, message = "Period must be between 1 and 8")
     private Integer period;
     
+    // Derived from the fields above before every insert and update, never part of the JSON
+    @JsonIgnore
+    @Setter(AccessLevel.NONE)
+    @Column(name = "slot_key", nullable = false)
+    private Integer slotKey;
+    
+    @JsonIgnore
+    @Setter(AccessLevel.NONE)
+    @Column(name = "teacher_slot_key", nullable = false)
+    private Long teacherSlotKey;
+    
+    public TimetableEntry(Long id, Teacher teacher, Integer grade, String section,
+                          String subject, String classDay, Integer period) {
+        this.id = id;
+        this.teacher = teacher;
+        this.grade = grade;
+        this.section = section;
+        this.subject = subject;
+        this.classDay = classDay;
+        this.period = period;
+        updateSlotKeys();
+    }
+    
+    // Invalid fields leave the keys null; bean validation then reports the field itself
+    @PrePersist
+    @PreUpdate
+    void updateSlotKeys() {
+        slotKey = SlotKeys.slotKey(grade, section, classDay, period);
+        teacherSlotKey = SlotKeys.teacherSlotKey(teacher != null ? teacher.getId() : null, classDay, period);
+    }
+    
     // Helper method to get valid days
     public static List<String> getValidDays() {
         return Arrays.asList("Monday", "Tuesday", "Wednesday", "Thursday", "Friday", "Saturday");
@@ -0,0 +1,55 @@
+package com.sutram.timetableapi.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Builds "select <requested columns> ... where e.id > :afterId order by e.id" for the projection
+// endpoints. Field names are looked up in a fixed whitelist, never concatenated from user input.
+final class KeysetProjection {
+
+    private KeysetProjection() {
+    }
+
+    static List<Map<String, Object>> fetch(EntityManager entityManager, String from, String teacherJoin,
+                                           Map<String, String> columns, List<String> fields,
+                                           Long afterId, int limit) {
+        List<String> paths = new ArrayList<>();
+        for (String field : fields) {
+            String path = columns.get(field);
+            if (path == null) {
+                throw new IllegalArgumentException("Unknown field '" + field + "', expected one of: "
+                        + String.join(", ", columns.keySet()));
+            }
+            paths.add(path);
+        }
+
+        // Join the teacher only when one of its columns was asked for
+        boolean needsJoin = teacherJoin != null && paths.stream().anyMatch(path -> path.startsWith("t."));
+        String jpql = "select " + String.join(", ", paths)
+                + " from " + from
+                + (needsJoin ? " " + teacherJoin : "")
+                + (afterId != null ? " where e.id > :afterId" : "")
+                + " order by e.id";
+
+        TypedQuery<Tuple> query = entityManager.createQuery(jpql, Tuple.class).setMaxResults(limit);
+        if (afterId != null) {
+            query.setParameter("afterId", afterId);
+        }
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Tuple tuple : query.getResultList()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (int i = 0; i < fields.size(); i++) {
+                row.put(fields.get(i), tuple.get(i));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+}
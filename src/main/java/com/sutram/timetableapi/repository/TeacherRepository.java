@@ -1,10 +1,16 @@
 package com.sutram.timetableapi.repository;
 
 import com.sutram.timetableapi.model.Teacher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
-public interface TeacherRepository extends JpaRepository<Teacher, Long> {
+public interface TeacherRepository extends JpaRepository<Teacher, Long>, TeacherRepositoryCustom {
     boolean existsByEmail(String email);
+    
+    // Keyset page of full teachers, ordered by id
+    List<Teacher> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
 } 
\ No newline at end of file
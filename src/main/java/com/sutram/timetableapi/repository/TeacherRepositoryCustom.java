@@ -0,0 +1,10 @@
+package com.sutram.timetableapi.repository;
+
+import java.util.List;
+import java.util.Map;
+
+public interface TeacherRepositoryCustom {
+    
+    // Keyset page ordered by id, selecting only the requested fields
+    List<Map<String, Object>> findProjectedPage(Long afterId, int limit, List<String> fields);
+}
@@ -0,0 +1,27 @@
+package com.sutram.timetableapi.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class TeacherRepositoryImpl implements TeacherRepositoryCustom {
+
+    private static final Map<String, String> COLUMNS = new LinkedHashMap<>();
+
+    static {
+        COLUMNS.put("id", "e.id");
+        COLUMNS.put("name", "e.name");
+        COLUMNS.put("email", "e.email");
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Map<String, Object>> findProjectedPage(Long afterId, int limit, List<String> fields) {
+        return KeysetProjection.fetch(entityManager, "Teacher e", null, COLUMNS, fields, afterId, limit);
+    }
+}
@@ -1,31 +1,147 @@
 package com.sutram.timetableapi.repository;
 
+import com.sutram.timetableapi.dto.TimetableEntryView;
+import com.sutram.timetableapi.dto.TimetableExportRow;
+import com.sutram.timetableapi.model.SlotKeys;
 import com.sutram.timetableapi.model.TimetableEntry;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface TimetableRepository extends JpaRepository<TimetableEntry, Long> {
+public interface TimetableRepository extends JpaRepository<TimetableEntry, Long>, TimetableRepositoryCustom {
     
-    // Check if slot is already occupied (without subject - just grade, section, day, period)
-    Optional<TimetableEntry> findByGradeAndSectionAndClassDayAndPeriod(
-            Integer grade, String section, String classDay, Integer period);
+    // Read views: entry and teacher columns in one statement, never managed by the persistence context
+    String VIEW_SELECT = "select new com.sutram.timetableapi.dto.TimetableEntryView(e.id, t.id, t.name, t.email, "
+            + "e.grade, e.section, e.subject, e.classDay, e.period) "
+            + "from TimetableEntry e join e.teacher t ";
     
-    // Check if teacher is already assigned at the same time
-    Optional<TimetableEntry> findByTeacherIdAndClassDayAndPeriod(Long teacherId, String classDay, Integer period);
+    @Query(VIEW_SELECT + "order by e.id")
+    List<TimetableEntryView> findAllViews();
+    
+    @Query(VIEW_SELECT + "where e.id = :id")
+    Optional<TimetableEntryView> findViewById(@Param("id") Long id);
+    
+    @Query(VIEW_SELECT + "where e.id in :ids")
+    List<TimetableEntryView> findViewsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // A teacher's or a section's week is one range of its packed slot key, read from the unique index
+    default List<TimetableEntryView> findViewsByTeacherId(Long teacherId) {
+        long first = SlotKeys.firstTeacherSlotKey(teacherId);
+        return first < 0 ? List.of() : findViewsByTeacherSlotKeyRange(first, first + SlotKeys.SLOTS_PER_WEEK - 1);
+    }
+    
+    default List<TimetableEntryView> findViewsByGradeAndSection(Integer grade, String section) {
+        int first = SlotKeys.firstSectionSlotKey(grade, section);
+        return first < 0 ? List.of() : findViewsBySlotKeyRange(first, first + SlotKeys.SLOTS_PER_WEEK - 1);
+    }
+    
+    @Query(VIEW_SELECT + "where e.teacherSlotKey between :first and :last order by e.id")
+    List<TimetableEntryView> findViewsByTeacherSlotKeyRange(@Param("first") long first, @Param("last") long last);
+    
+    @Query(VIEW_SELECT + "where e.slotKey between :first and :last order by e.id")
+    List<TimetableEntryView> findViewsBySlotKeyRange(@Param("first") int first, @Param("last") int last);
+    
+    // Keyset page of views, ordered by id
+    @Query(VIEW_SELECT + "where e.id > :afterId order by e.id")
+    List<TimetableEntryView> findViewsAfter(@Param("afterId") Long afterId, Limit limit);
+    
+    // Entity finders load the teacher in the same statement instead of one select per teacher
+    @Override
+    @EntityGraph(attributePaths = "teacher")
+    List<TimetableEntry> findAll();
+    
+    // Entry holding a section slot (grade, section, day, period), by its packed key
+    @EntityGraph(attributePaths = "teacher")
+    Optional<TimetableEntry> findBySlotKey(Integer slotKey);
+    
+    // Entry holding a teacher slot (teacher, day, period), by its packed key
+    @EntityGraph(attributePaths = "teacher")
+    Optional<TimetableEntry> findByTeacherSlotKey(Long teacherSlotKey);
     
     // Find all entries for a specific teacher
+    @EntityGraph(attributePaths = "teacher")
     List<TimetableEntry> findByTeacherId(Long teacherId);
     
     // Find all entries for a specific grade and section
+    @EntityGraph(attributePaths = "teacher")
     List<TimetableEntry> findByGradeAndSection(Integer grade, String section);
     
+    // Existing entries a batch import has to be checked against; only read, so skip dirty-checking snapshots
+    @EntityGraph(attributePaths = "teacher")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<TimetableEntry> findByTeacherIdIn(Collection<Long> teacherIds);
+    
+    @EntityGraph(attributePaths = "teacher")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<TimetableEntry> findByGradeIn(Collection<Integer> grades);
+    
+    // Entries a reschedule will modify, so they are not loaded read-only by the occupancy queries
+    @EntityGraph(attributePaths = "teacher")
+    List<TimetableEntry> findByIdIn(Collection<Long> ids);
+    
+    // Parks entries on slot keys -id, which no placed entry can hold, so the final placements of a
+    // reschedule can be flushed in any order without tripping the unique slot constraints
+    @Modifying(flushAutomatically = true)
+    @Query("update TimetableEntry e set e.slotKey = cast(-e.id as Integer), e.teacherSlotKey = -e.id where e.id in :ids")
+    int parkEntries(@Param("ids") Collection<Long> ids);
+    
+    // Bulk deletes lock the rows they read, so none can move into or out of the set before the delete
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(VIEW_SELECT + "where e.slotKey between :first and :last order by e.id")
+    List<TimetableEntryView> lockViewsBySlotKeyRange(@Param("first") int first, @Param("last") int last);
+    
+    // Every entry referencing the teacher, by the foreign key rather than the slot key range
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(VIEW_SELECT + "where t.id = :teacherId order by e.id")
+    List<TimetableEntryView> lockViewsReferencingTeacher(@Param("teacherId") Long teacherId);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(VIEW_SELECT + "where e.classDay = :classDay order by e.id")
+    List<TimetableEntryView> lockViewsByClassDay(@Param("classDay") String classDay);
+    
+    // Set-based delete of exactly the rows locked above, one statement
+    @Modifying
+    @Query("delete from TimetableEntry e where e.id in :ids")
+    int deleteEntries(@Param("ids") Collection<Long> ids);
+    
+    long countByTeacherId(Long teacherId);
+    
+    // Occupancy of one day, for substitute lookups when the occupancy index is off
+    @EntityGraph(attributePaths = "teacher")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<TimetableEntry> findByClassDay(String classDay);
+    
     // Check if slot is occupied (any teacher) - without subject
-    boolean existsByGradeAndSectionAndClassDayAndPeriod(Integer grade, String section, String classDay, Integer period);
+    boolean existsBySlotKey(Integer slotKey);
     
     // Check if teacher is busy at specific time
-    boolean existsByTeacherIdAndClassDayAndPeriod(Long teacherId, String classDay, Integer period);
-} 
\ No newline at end of file
+    boolean existsByTeacherSlotKey(Long teacherSlotKey);
+    
+    // Forward-only cursor over export rows; null filters match everything. Must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.sutram.timetableapi.dto.TimetableExportRow(e.id, t.id, t.name, t.email, "
+            + "e.grade, e.section, e.subject, e.classDay, e.period) "
+            + "from TimetableEntry e join e.teacher t "
+            + "where (:teacherId is null or t.id = :teacherId) "
+            + "and (:grade is null or e.grade = :grade) "
+            + "and (:section is null or e.section = :section) "
+            + "order by e.id")
+    Stream<TimetableExportRow> streamExportRows(@Param("teacherId") Long teacherId,
+                                                @Param("grade") Integer grade,
+                                                @Param("section") String section);
+}
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.sutram.timetableapi.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class TimetableRepositoryImpl implements TimetableRepositoryCustom {
+
+    private static final Map<String, String> COLUMNS = new LinkedHashMap<>();
+
+    static {
+        COLUMNS.put("id", "e.id");
+        COLUMNS.put("teacherId", "e.teacher.id");
+        COLUMNS.put("teacherName", "t.name");
+        COLUMNS.put("teacherEmail", "t.email");
+        COLUMNS.put("grade", "e.grade");
+        COLUMNS.put("section", "e.section");
+        COLUMNS.put("subject", "e.subject");
+        COLUMNS.put("classDay", "e.classDay");
+        COLUMNS.put("period", "e.period");
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Map<String, Object>> findProjectedPage(Long afterId, int limit, List<String> fields) {
+        return KeysetProjection.fetch(entityManager, "TimetableEntry e", "join e.teacher t",
+                COLUMNS, fields, afterId, limit);
+    }
+}
@@ -0,0 +1,284 @@
+package com.sutram.timetableapi.service;
+
+import com.sutram.timetableapi.dto.ChangeFeedEvent;
+import com.sutram.timetableapi.dto.TimetableEntryView;
+import com.sutram.timetableapi.event.TimetableChangeEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Pushes timetable changes to subscribers as they happen.
+// Idle subscribers hold no thread: the servlet request is async and a subscriber only borrows a
+// virtual thread while it has queued messages to write. Writers never wait for subscribers; each
+// one has a bounded queue, and one that falls behind gets a "reset" message and is disconnected.
+// Recent changes are kept so a reconnecting client can resume after the last sequence it saw.
+@Component
+public class ChangeFeed implements MeterBinder {
+
+    // A message for one subscriber; a null name is an SSE comment used as a heartbeat
+    public record FeedMessage(String name, Long id, Object data) {
+    }
+
+    // Where a subscriber's messages go; SSE in production, a list in tests
+    public interface Sink {
+        void send(FeedMessage message) throws IOException;
+
+        void complete();
+    }
+
+    // Null fields match everything
+    public record Filter(Long teacherId, Integer grade, String section) {
+
+        boolean matches(ChangeFeedEvent event) {
+            return matches(event.before()) || matches(event.after());
+        }
+
+        private boolean matches(TimetableEntryView view) {
+            return view != null
+                    && (teacherId == null || teacherId.equals(view.teacher().id()))
+                    && (grade == null || grade.equals(view.grade()))
+                    && (section == null || section.equals(view.section()));
+        }
+    }
+
+    public static final String RESET = "reset";
+
+    private final int historySize;
+
+    private final int bufferSize;
+
+    private final int maxSubscribers;
+
+    private final long emitterTimeoutMillis;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Guarded by lock
+    private final Deque<ChangeFeedEvent> history = new ArrayDeque<>();
+
+    // Guarded by lock
+    private long lastSequence;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "change-feed-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ChangeFeed(@Value("${timetable.feed.history-size:10000}") int historySize,
+                      @Value("${timetable.feed.subscriber-buffer:256}") int bufferSize,
+                      @Value("${timetable.feed.max-subscribers:10000}") int maxSubscribers,
+                      @Value("${timetable.feed.heartbeat-ms:30000}") long heartbeatMillis,
+                      @Value("${timetable.feed.timeout-ms:1800000}") long emitterTimeoutMillis) {
+        this.historySize = historySize;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.emitterTimeoutMillis = emitterTimeoutMillis;
+        // Heartbeats let proxies keep the connection open and reveal clients that went away
+        heartbeats.scheduleAtFixedRate(this::sendHeartbeats, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @EventListener
+    public void onTimetableChange(TimetableChangeEvent change) {
+        lock.lock();
+        try {
+            ChangeFeedEvent event = new ChangeFeedEvent(++lastSequence, change.type(), change.before(), change.after());
+            history.addLast(event);
+            if (history.size() > historySize) {
+                history.removeFirst();
+            }
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.filter.matches(event)) {
+                    subscriber.enqueue(message(event));
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public SseEmitter subscribeSse(Filter filter, Long afterSequence) throws Exception {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        Subscriber subscriber = subscribe(filter, afterSequence, new Sink() {
+            @Override
+            public void send(FeedMessage message) throws IOException {
+                if (message.name() == null) {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                } else {
+                    emitter.send(SseEmitter.event()
+                            .id(String.valueOf(message.id()))
+                            .name(message.name())
+                            .data(message.data(), MediaType.APPLICATION_JSON));
+                }
+            }
+
+            @Override
+            public void complete() {
+                emitter.complete();
+            }
+        });
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        return emitter;
+    }
+
+    // Replays buffered changes after afterSequence, then delivers new ones as they happen
+    Subscriber subscribe(Filter filter, Long afterSequence, Sink sink) throws Exception {
+        if (filter.section() != null && filter.grade() == null) {
+            throw new Exception("Grade is required when filtering by section");
+        }
+        if (afterSequence != null && afterSequence < 0) {
+            throw new Exception("Resume position must not be negative");
+        }
+        if (subscribers.size() >= maxSubscribers) {
+            throw new IllegalStateException("Too many change feed subscribers, try again later");
+        }
+        Subscriber subscriber = new Subscriber(filter, sink);
+        lock.lock();
+        try {
+            if (afterSequence != null && afterSequence > lastSequence) {
+                // Sequences start over on every boot, so a token ahead of the feed was issued before a
+                // restart and says nothing about what this run has sent; the client has to reload
+                subscriber.enqueue(new FeedMessage(RESET, lastSequence, lastSequence));
+            } else if (afterSequence != null && afterSequence < lastSequence) {
+                long oldest = history.isEmpty() ? lastSequence + 1 : history.peekFirst().sequence();
+                List<ChangeFeedEvent> missed = new ArrayList<>();
+                for (ChangeFeedEvent event : history) {
+                    if (event.sequence() > afterSequence && filter.matches(event)) {
+                        missed.add(event);
+                    }
+                }
+                // Changes older than the history are gone; the client has to reload instead
+                if (afterSequence < oldest - 1 || missed.size() > bufferSize) {
+                    subscriber.enqueue(new FeedMessage(RESET, lastSequence, lastSequence));
+                } else {
+                    missed.forEach(event -> subscriber.enqueue(message(event)));
+                }
+            }
+            subscribers.add(subscriber);
+        } finally {
+            lock.unlock();
+        }
+        return subscriber;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("timetable.feed.subscribers", subscribers, Set::size)
+                .description("Open change feed connections")
+                .register(registry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.sink.complete());
+        subscribers.clear();
+        senders.shutdownNow();
+    }
+
+    private void sendHeartbeats() {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.queue.isEmpty()) {
+                subscriber.enqueue(new FeedMessage(null, null, null));
+            }
+        }
+    }
+
+    private static FeedMessage message(ChangeFeedEvent event) {
+        return new FeedMessage(event.type().name().toLowerCase(Locale.ROOT), event.sequence(), event);
+    }
+
+    final class Subscriber {
+
+        private final Filter filter;
+
+        private final Sink sink;
+
+        private final BlockingQueue<FeedMessage> queue;
+
+        private final AtomicBoolean sending = new AtomicBoolean();
+
+        private volatile boolean closing;
+
+        private Subscriber(Filter filter, Sink sink) {
+            this.filter = filter;
+            this.sink = sink;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        // Never blocks; a full queue turns into a reset and a disconnect
+        private void enqueue(FeedMessage message) {
+            if (closing) {
+                return;
+            }
+            if (!queue.offer(message)) {
+                if (message.id() == null) {
+                    return;
+                }
+                closing = true;
+                queue.clear();
+                queue.offer(new FeedMessage(RESET, message.id(), message.id()));
+            }
+            if (sending.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                do {
+                    FeedMessage message;
+                    while ((message = queue.poll()) != null) {
+                        sink.send(message);
+                    }
+                    if (closing) {
+                        close();
+                        return;
+                    }
+                    sending.set(false);
+                    // A message may have arrived after the last poll but before the flag was cleared
+                } while (!queue.isEmpty() && sending.compareAndSet(false, true));
+            } catch (IOException | RuntimeException e) {
+                close();
+            }
+        }
+
+        private void close() {
+            subscribers.remove(this);
+            sink.complete();
+        }
+    }
+}
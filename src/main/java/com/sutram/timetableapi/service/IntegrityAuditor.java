@@ -0,0 +1,103 @@
+package com.sutram.timetableapi.service;
+
+import com.sutram.timetableapi.dto.IntegrityReport;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+
+// Checks every row of timetable_entries for what the API would have refused: two entries in one
+// section slot or one teacher slot, teachers that no longer exist, and grades, sections, days or
+// periods outside the grid. Rows are read straight from the columns, never trusting the derived
+// slot keys, in id-range chunks spread over a worker pool; each chunk is streamed through
+// IntegrityScan without being kept.
+@Service
+public class IntegrityAuditor {
+
+    private static final String CHUNK_QUERY = "SELECT id, teacher_id, grade, section, class_day, period "
+            + "FROM timetable_entries WHERE id BETWEEN ? AND ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${timetable.audit.chunk-size:50000}")
+    private int chunkSize = 50000;
+
+    // Each worker holds a pooled connection while it reads a chunk
+    @Value("${timetable.audit.parallelism:0}")
+    private int parallelism;
+
+    @Value("${timetable.audit.max-findings:1000}")
+    private int maxFindings = 1000;
+
+    public IntegrityReport audit() throws Exception {
+        long started = System.nanoTime();
+        BitSet teacherIds = new BitSet();
+        jdbcTemplate.query("SELECT id FROM teachers", rs -> {
+            long id = rs.getLong(1);
+            if (id >= 0 && id < Integer.MAX_VALUE) {
+                teacherIds.set((int) id);
+            }
+        });
+        long[] bounds = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(MIN(id), 0), COALESCE(MAX(id), -1) FROM timetable_entries",
+                (rs, row) -> new long[] {rs.getLong(1), rs.getLong(2)});
+
+        IntegrityScan scan = new IntegrityScan(teacherIds, maxFindings);
+        List<long[]> chunks = new ArrayList<>();
+        for (long first = bounds[0]; first <= bounds[1]; first += chunkSize) {
+            chunks.add(new long[] {first, Math.min(bounds[1], first + chunkSize - 1)});
+        }
+        int workers = Math.max(1, Math.min(chunks.size(),
+                parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors()));
+
+        ForkJoinPool pool = new ForkJoinPool(workers);
+        try {
+            scanChunks(pool, chunks, false, scan);
+            if (scan.hasCollisions()) {
+                scan.selectReported();
+                scanChunks(pool, chunks, true, scan);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return scan.report(chunks.size(), workers, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    private void scanChunks(ForkJoinPool pool, List<long[]> chunks, boolean collect, IntegrityScan scan) {
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(chunks.size());
+        for (long[] chunk : chunks) {
+            tasks.add(pool.submit(() -> jdbcTemplate.query(CHUNK_QUERY, rs -> {
+                long id = rs.getLong(1);
+                long teacherId = rs.getLong(2);
+                int grade = intOrMinusOne(rs, 3);
+                String section = rs.getString(4);
+                int dayCode = intOrMinusOne(rs, 5);
+                int period = intOrMinusOne(rs, 6);
+                if (collect) {
+                    scan.collect(id, teacherId, grade, section, dayCode, period);
+                } else {
+                    scan.accept(id, teacherId, grade, section, dayCode, period);
+                }
+            }, chunk[0], chunk[1])));
+        }
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+    }
+
+    // Every check treats -1 as out of range
+    private static int intOrMinusOne(ResultSet rs, int column) throws SQLException {
+        int value = rs.getInt(column);
+        return rs.wasNull() ? -1 : value;
+    }
+}
@@ -0,0 +1,175 @@
+package com.sutram.timetableapi.service;
+
+import com.sutram.timetableapi.dto.IntegrityReport;
+import com.sutram.timetableapi.dto.SlotCollision;
+import com.sutram.timetableapi.model.ClassDay;
+import com.sutram.timetableapi.model.SlotKeys;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+// Findings of one integrity audit, fed raw rows by any number of chunk workers at once. Slot
+// occupancy lives in atomic bit sets indexed by the packed slot keys, so a collision is found
+// whichever chunks its rows sit in. The first pass only learns which slots collide; a second pass
+// over the same rows collects the entry ids of those slots.
+final class IntegrityScan {
+
+    private static final int DAYS = ClassDay.values().length;
+
+    // Grades the API accepts; any other grade is reported as invalid
+    static final int MAX_GRADE = 12;
+
+    private final BitSet teacherIds;
+
+    private final int maxFindings;
+
+    private final AtomicLongArray sectionSlots;
+
+    private final AtomicLongArray teacherSlots;
+
+    private final Set<Integer> sectionCollisions = ConcurrentHashMap.newKeySet();
+
+    private final Set<Long> teacherCollisions = ConcurrentHashMap.newKeySet();
+
+    private final Map<Integer, Queue<Long>> sectionCollisionEntries = new ConcurrentHashMap<>();
+
+    private final Map<Long, Queue<Long>> teacherCollisionEntries = new ConcurrentHashMap<>();
+
+    private final Queue<Long> orphanedEntryIds = new ConcurrentLinkedQueue<>();
+
+    private final Queue<Long> invalidEntryIds = new ConcurrentLinkedQueue<>();
+
+    private final AtomicLong orphanedEntries = new AtomicLong();
+
+    private final AtomicLong invalidEntries = new AtomicLong();
+
+    private final LongAdder scannedEntries = new LongAdder();
+
+    // Collided slots reported in detail, fixed between the two passes
+    private volatile Set<Integer> reportedSections = Set.of();
+
+    private volatile Set<Long> reportedTeachers = Set.of();
+
+    IntegrityScan(BitSet teacherIds, int maxFindings) {
+        this.teacherIds = teacherIds;
+        this.maxFindings = maxFindings;
+        // Section slot keys start at grade 1, so key 0 up to grade 1 section A is never set
+        this.sectionSlots = new AtomicLongArray(words((long) (MAX_GRADE + 1) * 26 * SlotKeys.SLOTS_PER_WEEK));
+        this.teacherSlots = new AtomicLongArray(words((long) teacherIds.length() * SlotKeys.SLOTS_PER_WEEK));
+    }
+
+    // Null columns are passed as -1, and as null for section
+    void accept(long id, long teacherId, int grade, String section, int dayCode, int period) {
+        scannedEntries.increment();
+        int slot = weekSlot(dayCode, period);
+        int firstSectionKey = grade <= MAX_GRADE ? SlotKeys.firstSectionSlotKey(grade, section) : -1;
+        if (slot < 0 || firstSectionKey < 0) {
+            record(invalidEntryIds, invalidEntries, id);
+            return;
+        }
+        int sectionKey = firstSectionKey + slot;
+        if (testAndSet(sectionSlots, sectionKey)) {
+            sectionCollisions.add(sectionKey);
+        }
+        if (teacherId < 0 || teacherId >= teacherIds.length() || !teacherIds.get((int) teacherId)) {
+            record(orphanedEntryIds, orphanedEntries, id);
+            return;
+        }
+        long teacherKey = teacherId * SlotKeys.SLOTS_PER_WEEK + slot;
+        if (testAndSet(teacherSlots, teacherKey)) {
+            teacherCollisions.add(teacherKey);
+        }
+    }
+
+    boolean hasCollisions() {
+        return !sectionCollisions.isEmpty() || !teacherCollisions.isEmpty();
+    }
+
+    // Between the passes: picks the lowest collided slots of each kind, up to maxFindings
+    void selectReported() {
+        reportedSections = sectionCollisions.stream().sorted().limit(maxFindings)
+                .collect(Collectors.toCollection(TreeSet::new));
+        reportedTeachers = teacherCollisions.stream().sorted().limit(maxFindings)
+                .collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    // Second pass: same rows, same arguments as accept
+    void collect(long id, long teacherId, int grade, String section, int dayCode, int period) {
+        int slot = weekSlot(dayCode, period);
+        int firstSectionKey = grade <= MAX_GRADE ? SlotKeys.firstSectionSlotKey(grade, section) : -1;
+        if (slot < 0 || firstSectionKey < 0) {
+            return;
+        }
+        int sectionKey = firstSectionKey + slot;
+        if (reportedSections.contains(sectionKey)) {
+            sectionCollisionEntries.computeIfAbsent(sectionKey, key -> new ConcurrentLinkedQueue<>()).add(id);
+        }
+        long teacherKey = teacherId * SlotKeys.SLOTS_PER_WEEK + slot;
+        if (teacherId >= 0 && reportedTeachers.contains(teacherKey)) {
+            teacherCollisionEntries.computeIfAbsent(teacherKey, key -> new ConcurrentLinkedQueue<>()).add(id);
+        }
+    }
+
+    IntegrityReport report(int chunks, int workers, long durationMillis) {
+        List<SlotCollision> sections = new ArrayList<>();
+        List<SlotCollision> teachers = new ArrayList<>();
+        for (Integer key : reportedSections) {
+            int sectionIndex = key / SlotKeys.SLOTS_PER_WEEK;
+            String owner = (sectionIndex / 26) + "-" + (char) ('A' + sectionIndex % 26);
+            sections.add(collision(owner, key % SlotKeys.SLOTS_PER_WEEK, sectionCollisionEntries.get(key)));
+        }
+        for (Long key : reportedTeachers) {
+            String owner = String.valueOf(key / SlotKeys.SLOTS_PER_WEEK);
+            teachers.add(collision(owner, (int) (key % SlotKeys.SLOTS_PER_WEEK), teacherCollisionEntries.get(key)));
+        }
+        boolean clean = !hasCollisions() && orphanedEntries.get() == 0 && invalidEntries.get() == 0;
+        return new IntegrityReport(clean, scannedEntries.sum(), chunks, workers, durationMillis,
+                sectionCollisions.size(), teacherCollisions.size(), orphanedEntries.get(), invalidEntries.get(),
+                sections, teachers, sorted(orphanedEntryIds), sorted(invalidEntryIds));
+    }
+
+    private void record(Queue<Long> ids, AtomicLong count, long id) {
+        if (count.incrementAndGet() <= maxFindings) {
+            ids.add(id);
+        }
+    }
+
+    private static SlotCollision collision(String owner, int slot, Queue<Long> ids) {
+        return new SlotCollision(owner, ClassDay.fromCode(slot / SlotKeys.PERIODS_PER_DAY).getLabel(),
+                slot % SlotKeys.PERIODS_PER_DAY + 1, ids != null ? sorted(ids) : List.of());
+    }
+
+    private static List<Long> sorted(Queue<Long> ids) {
+        List<Long> list = new ArrayList<>(ids);
+        list.sort(null);
+        return list;
+    }
+
+    private static int weekSlot(int dayCode, int period) {
+        if (dayCode < 0 || dayCode >= DAYS || period < 1 || period > SlotKeys.PERIODS_PER_DAY) {
+            return -1;
+        }
+        return dayCode * SlotKeys.PERIODS_PER_DAY + period - 1;
+    }
+
+    // Returns whether the bit was already set
+    private static boolean testAndSet(AtomicLongArray bits, long index) {
+        long mask = 1L << index;
+        return (bits.getAndAccumulate((int) (index >>> 6), mask, (word, bit) -> word | bit) & mask) != 0;
+    }
+
+    private static int words(long bits) {
+        return (int) ((bits + 63) >>> 6);
+    }
+}
@@ -0,0 +1,148 @@
+package com.sutram.timetableapi.service;
+
+import com.sutram.timetableapi.dto.OccupancyReport;
+import com.sutram.timetableapi.model.TimetableEntry;
+import com.sutram.timetableapi.repository.TimetableRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-memory copy of slot occupancy so conflict checks need no database round trips.
+// The database stays the source of truth: the index is rebuilt from it at startup and
+// only updated after a write has gone through the repository.
+@Component
+public class OccupancyIndex {
+
+    // A write commits before its index update runs, so a difference is only reported once it has
+    // outlasted a short pause in which pending updates can land
+    private static final int CONSISTENCY_ATTEMPTS = 3;
+
+    private static final long CONSISTENCY_PAUSE_MILLIS = 50;
+
+    @Autowired
+    private TimetableRepository timetableRepository;
+
+    @Value("${timetable.occupancy-index.enabled:true}")
+    private boolean enabled;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private OccupancyMasks masks = new OccupancyMasks();
+
+    private volatile boolean ready;
+
+    // Runs after the CommandLineRunners so sample data is already in the database
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    // Callers fall back to the query path until the first rebuild has finished
+    public boolean isActive() {
+        return enabled && ready;
+    }
+
+    public void rebuild() {
+        // Held across the read so writes that land meanwhile are applied on top of the fresh masks
+        lock.writeLock().lock();
+        try {
+            masks = OccupancyMasks.of(timetableRepository.findAll());
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isSectionSlotTaken(Integer grade, String section, String classDay, Integer period, Long excludeId) {
+        long bit = OccupancyMasks.slotBit(classDay, period);
+        lock.readLock().lock();
+        try {
+            return masks.isSectionSlotTaken(grade, section, bit, excludeId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isTeacherSlotTaken(Long teacherId, String classDay, Integer period, Long excludeId) {
+        long bit = OccupancyMasks.slotBit(classDay, period);
+        lock.readLock().lock();
+        try {
+            return masks.isTeacherSlotTaken(teacherId, bit, excludeId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long sectionMask(Integer grade, String section) {
+        lock.readLock().lock();
+        try {
+            return masks.sectionMask(grade, section);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long teacherMask(Long teacherId) {
+        lock.readLock().lock();
+        try {
+            return masks.teacherMask(teacherId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Also used for updates: the entry's previous placement is replaced
+    public void add(TimetableEntry entry) {
+        lock.writeLock().lock();
+        try {
+            masks.add(entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long entryId) {
+        lock.writeLock().lock();
+        try {
+            masks.remove(entryId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public OccupancyReport checkConsistency() {
+        OccupancyReport report = compare();
+        for (int attempt = 1; attempt < CONSISTENCY_ATTEMPTS && !report.isConsistent(); attempt++) {
+            try {
+                Thread.sleep(CONSISTENCY_PAUSE_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return report;
+            }
+            report = compare();
+        }
+        return report;
+    }
+
+    // The database read and the mask snapshot are taken under the write lock, so no index update
+    // lands between them
+    private OccupancyReport compare() {
+        lock.writeLock().lock();
+        try {
+            List<TimetableEntry> entries = timetableRepository.findAll();
+            List<String> mismatches = masks.diff(OccupancyMasks.of(entries));
+            return new OccupancyReport(enabled, ready, mismatches.isEmpty(),
+                    masks.size(), entries.size(), mismatches);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.sutram.timetableapi.service;
+
+import com.sutram.timetableapi.model.SlotKeys;
+import com.sutram.timetableapi.model.TimetableEntry;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+// Week occupancy as 48-bit masks (6 days x 8 periods), one per grade/section and one per teacher.
+// Bit (dayIndex * 8 + period - 1) is set when the slot is taken. Not thread-safe on its own,
+// OccupancyIndex guards the live instance.
+// Each slot also counts the entries in it, like the workload counters: when a swap moves one entry
+// into a slot before the entry leaving it is removed, the removal leaves the newcomer's bit set.
+public class OccupancyMasks {
+
+    private static final List<String> DAYS = TimetableEntry.getValidDays();
+
+    public static final int PERIODS_PER_DAY = TimetableEntry.getValidPeriods().size();
+
+    public static final int SLOT_COUNT = DAYS.size() * PERIODS_PER_DAY;
+
+    public static final long FULL_WEEK = (1L << SLOT_COUNT) - 1;
+
+    // Where each indexed entry sits, so removals and "exclude this entry" checks need no database access
+    private record Placement(int sectionKey, long teacherId, long bit) {
+    }
+
+    private final Map<Integer, Slots> sectionSlots = new HashMap<>();
+
+    private final Map<Long, Slots> teacherSlots = new HashMap<>();
+
+    private final Map<Long, Placement> placements = new HashMap<>();
+
+    public static OccupancyMasks of(Iterable<TimetableEntry> entries) {
+        OccupancyMasks masks = new OccupancyMasks();
+        for (TimetableEntry entry : entries) {
+            masks.add(entry);
+        }
+        return masks;
+    }
+
+    // Returns -1 for a day/period outside the valid grid
+    // Same numbering as the week slot inside the packed slot keys
+    public static int slotIndex(String classDay, Integer period) {
+        return SlotKeys.weekSlot(classDay, period);
+    }
+
+    public static long slotBit(String classDay, Integer period) {
+        int index = slotIndex(classDay, period);
+        return index < 0 ? 0L : 1L << index;
+    }
+
+    public static String dayOf(int slotIndex) {
+        return DAYS.get(slotIndex / PERIODS_PER_DAY);
+    }
+
+    public static int periodOf(int slotIndex) {
+        return slotIndex % PERIODS_PER_DAY + 1;
+    }
+
+    public static int sectionKey(Integer grade, String section) {
+        return (grade << 8) | section.charAt(0);
+    }
+
+    public void add(TimetableEntry entry) {
+        long bit = slotBit(entry.getClassDay(), entry.getPeriod());
+        int sectionKey = sectionKey(entry.getGrade(), entry.getSection());
+        long teacherId = entry.getTeacher().getId();
+
+        if (entry.getId() != null) {
+            remove(entry.getId());
+            placements.put(entry.getId(), new Placement(sectionKey, teacherId, bit));
+        }
+        if (bit != 0) {
+            sectionSlots.computeIfAbsent(sectionKey, key -> new Slots()).count(bit);
+            teacherSlots.computeIfAbsent(teacherId, id -> new Slots()).count(bit);
+        }
+    }
+
+    public void remove(Long entryId) {
+        Placement placement = placements.remove(entryId);
+        if (placement == null || placement.bit() == 0) {
+            return;
+        }
+        uncount(sectionSlots, placement.sectionKey(), placement.bit());
+        uncount(teacherSlots, placement.teacherId(), placement.bit());
+    }
+
+    public long sectionMask(Integer grade, String section) {
+        return mask(sectionSlots.get(sectionKey(grade, section)));
+    }
+
+    public long teacherMask(Long teacherId) {
+        return mask(teacherSlots.get(teacherId));
+    }
+
+    public boolean isSectionSlotTaken(Integer grade, String section, long bit, Long excludeId) {
+        int sectionKey = sectionKey(grade, section);
+        Slots slots = sectionSlots.get(sectionKey);
+        if ((mask(slots) & bit) == 0) {
+            return false;
+        }
+        Placement excluded = excludeId != null ? placements.get(excludeId) : null;
+        boolean excludedHere = excluded != null && excluded.sectionKey() == sectionKey && excluded.bit() == bit;
+        return slots.entries(bit) > (excludedHere ? 1 : 0);
+    }
+
+    public boolean isTeacherSlotTaken(Long teacherId, long bit, Long excludeId) {
+        Slots slots = teacherSlots.get(teacherId);
+        if ((mask(slots) & bit) == 0) {
+            return false;
+        }
+        Placement excluded = excludeId != null ? placements.get(excludeId) : null;
+        boolean excludedHere = excluded != null && excluded.teacherId() == teacherId && excluded.bit() == bit;
+        return slots.entries(bit) > (excludedHere ? 1 : 0);
+    }
+
+    public int size() {
+        return placements.size();
+    }
+
+    public OccupancyMasks copy() {
+        OccupancyMasks copy = new OccupancyMasks();
+        sectionSlots.forEach((key, slots) -> copy.sectionSlots.put(key, slots.copy()));
+        teacherSlots.forEach((id, slots) -> copy.teacherSlots.put(id, slots.copy()));
+        copy.placements.putAll(placements);
+        return copy;
+    }
+
+    // Human-readable differences against another set of masks, empty when both agree
+    public List<String> diff(OccupancyMasks other) {
+        List<String> mismatches = new ArrayList<>();
+        Set<Integer> sectionKeys = new TreeSet<>(sectionSlots.keySet());
+        sectionKeys.addAll(other.sectionSlots.keySet());
+        for (Integer key : sectionKeys) {
+            long mine = mask(sectionSlots.get(key));
+            long theirs = mask(other.sectionSlots.get(key));
+            if (mine != theirs) {
+                mismatches.add("Section " + (key >> 8) + (char) (key & 0xFF)
+                        + ": index=" + Long.toBinaryString(mine) + ", database=" + Long.toBinaryString(theirs));
+            }
+        }
+        Set<Long> teacherIds = new TreeSet<>(teacherSlots.keySet());
+        teacherIds.addAll(other.teacherSlots.keySet());
+        for (Long id : teacherIds) {
+            long mine = mask(teacherSlots.get(id));
+            long theirs = mask(other.teacherSlots.get(id));
+            if (mine != theirs) {
+                mismatches.add("Teacher " + id
+                        + ": index=" + Long.toBinaryString(mine) + ", database=" + Long.toBinaryString(theirs));
+            }
+        }
+        return mismatches;
+    }
+
+    private static long mask(Slots slots) {
+        return slots != null ? slots.mask : 0L;
+    }
+
+    private static <K> void uncount(Map<K, Slots> slotsByKey, K key, long bit) {
+        Slots slots = slotsByKey.get(key);
+        if (slots != null && slots.uncount(bit)) {
+            slotsByKey.remove(key);
+        }
+    }
+
+    // Entries per slot, plus the mask of slots holding at least one
+    private static final class Slots {
+
+        private final int[] entries = new int[SLOT_COUNT];
+
+        private long mask;
+
+        private void count(long bit) {
+            entries[Long.numberOfTrailingZeros(bit)]++;
+            mask |= bit;
+        }
+
+        // Returns true once no slot holds an entry
+        private boolean uncount(long bit) {
+            int slot = Long.numberOfTrailingZeros(bit);
+            if (entries[slot] > 0 && --entries[slot] == 0) {
+                mask &= ~bit;
+            }
+            return mask == 0;
+        }
+
+        private int entries(long bit) {
+            return entries[Long.numberOfTrailingZeros(bit)];
+        }
+
+        private Slots copy() {
+            Slots copy = new Slots();
+            System.arraycopy(entries, 0, copy.entries, 0, SLOT_COUNT);
+            copy.mask = mask;
+            return copy;
+        }
+    }
+}
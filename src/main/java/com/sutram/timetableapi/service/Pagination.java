@@ -0,0 +1,46 @@
+package com.sutram.timetableapi.service;
+
+import com.sutram.timetableapi.dto.PageResponse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+// Shared parameter handling for the keyset-paginated list endpoints
+public final class Pagination {
+
+    private Pagination() {
+    }
+
+    public static int resolveLimit(Integer requested, int defaultLimit, int maxLimit) throws Exception {
+        if (requested == null) {
+            return defaultLimit;
+        }
+        if (requested < 1 || requested > maxLimit) {
+            throw new Exception("Limit must be between 1 and " + maxLimit);
+        }
+        return requested;
+    }
+
+    // Comma-separated field list; "id" is always returned first because it is the cursor
+    public static List<String> parseFields(String fields) {
+        List<String> parsed = new ArrayList<>();
+        parsed.add("id");
+        Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(field -> !field.isEmpty() && !parsed.contains(field))
+                .forEach(parsed::add);
+        return parsed;
+    }
+
+    public static <T> PageResponse<T> page(List<T> items, int limit, Function<T, Long> idOf) {
+        Long nextCursor = items.size() == limit ? idOf.apply(items.get(items.size() - 1)) : null;
+        return new PageResponse<>(items, limit, nextCursor);
+    }
+
+    public static PageResponse<Map<String, Object>> projectedPage(List<Map<String, Object>> rows, int limit) {
+        return page(rows, limit, row -> (Long) row.get("id"));
+    }
+}
@@ -0,0 +1,180 @@
+package com.sutram.timetableapi.service;
+
+import com.sutram.timetableapi.dto.FreeSlotsResponse;
+import com.sutram.timetableapi.dto.SubstituteCandidate;
+import com.sutram.timetableapi.dto.SubstitutePeriod;
+import com.sutram.timetableapi.dto.SubstitutePlan;
+import com.sutram.timetableapi.dto.TimetableEntryView;
+import com.sutram.timetableapi.dto.TimetableEntryView.TeacherView;
+import com.sutram.timetableapi.model.TimetableEntry;
+import com.sutram.timetableapi.repository.TimetableRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ToLongBiFunction;
+import java.util.function.ToLongFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Answers "when are all of these teachers and sections free?" by OR-ing their week masks:
+// a slot is free when no requested teacher or section has its bit set. Substitutes for an absent
+// teacher come from the same masks, one bit test per teacher and period.
+@Service
+public class SlotFinder {
+
+    private static final Pattern SECTION = Pattern.compile("^(\\d{1,2})-([A-Z])$");
+
+    // Subject specialists first, then teachers who know the grade, then the least loaded that day
+    private static final Comparator<SubstituteCandidate> CANDIDATE_ORDER = Comparator
+            .comparing(SubstituteCandidate::isTeachesSubject).reversed()
+            .thenComparing(Comparator.comparing(SubstituteCandidate::isTeachesGrade).reversed())
+            .thenComparingInt(SubstituteCandidate::getDailyLoad)
+            .thenComparing(SubstituteCandidate::getTeacherId);
+
+    @Autowired
+    private OccupancyIndex occupancyIndex;
+
+    @Autowired
+    private TimetableRepository timetableRepository;
+
+    @Autowired
+    private TeacherWorkloads teacherWorkloads;
+
+    @Value("${timetable.free-slots.max-entities:100}")
+    private int maxEntities = 100;
+
+    @Value("${timetable.substitutes.default-limit:10}")
+    private int defaultCandidateLimit = 10;
+
+    @Value("${timetable.substitutes.max-limit:100}")
+    private int maxCandidateLimit = 100;
+
+    // sections are written as grade-section, e.g. "7-B"
+    public FreeSlotsResponse findFreeSlots(List<Long> teacherIds, List<String> sections) throws Exception {
+        Set<Long> teachers = teacherIds != null ? new LinkedHashSet<>(teacherIds) : Set.of();
+        Set<String> sectionNames = sections != null ? new LinkedHashSet<>(sections) : Set.of();
+        if (teachers.isEmpty() && sectionNames.isEmpty()) {
+            throw new Exception("At least one teacher or section is required");
+        }
+        if (teachers.size() + sectionNames.size() > maxEntities) {
+            throw new Exception("At most " + maxEntities + " teachers and sections can be combined");
+        }
+
+        List<Integer> grades = new ArrayList<>();
+        List<String> letters = new ArrayList<>();
+        for (String name : sectionNames) {
+            Matcher matcher = SECTION.matcher(name);
+            int grade = matcher.matches() ? Integer.parseInt(matcher.group(1)) : 0;
+            if (grade < 1 || grade > 12) {
+                throw new Exception("Invalid section: " + name + " (expected grade-section such as 7-B)");
+            }
+            grades.add(grade);
+            letters.add(matcher.group(2));
+        }
+
+        // An unknown teacher would otherwise look free all week
+        for (Long id : teachers) {
+            if (!teacherWorkloads.exists(id)) {
+                throw new Exception("Teacher not found with ID: " + id);
+            }
+        }
+
+        long occupied = occupancyIndex.isActive()
+                ? union(teachers, grades, letters, occupancyIndex::teacherMask, occupancyIndex::sectionMask)
+                : queriedMask(teachers, grades, letters);
+        return new FreeSlotsResponse(List.copyOf(teachers), List.copyOf(sectionNames),
+                Long.bitCount(~occupied & OccupancyMasks.FULL_WEEK), freePeriodsByDay(occupied));
+    }
+
+    // For each of the teacher's periods that day, the other teachers who are free then
+    public SubstitutePlan findSubstitutes(Long teacherId, String classDay, Integer limit) throws Exception {
+        int firstSlot = OccupancyMasks.slotIndex(classDay, 1);
+        if (firstSlot < 0) {
+            throw new Exception("Day must be one of: " + String.join(", ", TimetableEntry.getValidDays()));
+        }
+        int candidateLimit = Pagination.resolveLimit(limit, defaultCandidateLimit, maxCandidateLimit);
+
+        if (!teacherWorkloads.exists(teacherId)) {
+            throw new Exception("Teacher not found with ID: " + teacherId);
+        }
+        List<TimetableEntryView> absentPeriods = teacherWorkloads.entriesOn(teacherId, classDay);
+        if (absentPeriods.isEmpty()) {
+            return new SubstitutePlan(teacherId, classDay, List.of());
+        }
+
+        // Each teacher's mask is read once; only the requested day's bits matter
+        ToLongFunction<Long> teacherMask = occupancyIndex.isActive()
+                ? occupancyIndex::teacherMask
+                : OccupancyMasks.of(timetableRepository.findByClassDay(classDay))::teacherMask;
+        long dayMask = ((1L << OccupancyMasks.PERIODS_PER_DAY) - 1) << firstSlot;
+        List<TeacherView> teachers = teacherWorkloads.teachers();
+        Map<Long, Long> busy = new HashMap<>();
+        for (TeacherView teacher : teachers) {
+            if (!teacher.id().equals(teacherId)) {
+                busy.put(teacher.id(), teacherMask.applyAsLong(teacher.id()) & dayMask);
+            }
+        }
+
+        List<SubstitutePeriod> periods = new ArrayList<>();
+        for (TimetableEntryView entry : absentPeriods) {
+            long bit = OccupancyMasks.slotBit(classDay, entry.period());
+            List<SubstituteCandidate> candidates = teachers.stream()
+                    .filter(teacher -> busy.containsKey(teacher.id()) && (busy.get(teacher.id()) & bit) == 0)
+                    .map(teacher -> new SubstituteCandidate(teacher.id(), teacher.name(), teacher.email(),
+                            teacherWorkloads.teachesSubject(teacher.id(), entry.subject()),
+                            teacherWorkloads.teachesGrade(teacher.id(), entry.grade()),
+                            Long.bitCount(busy.get(teacher.id()))))
+                    .sorted(CANDIDATE_ORDER)
+                    .limit(candidateLimit)
+                    .toList();
+            periods.add(new SubstitutePeriod(entry, candidates));
+        }
+        return new SubstitutePlan(teacherId, classDay, periods);
+    }
+
+    // Without the index, the same masks are built from one query per entity kind
+    private long queriedMask(Set<Long> teachers, List<Integer> grades, List<String> letters) {
+        List<TimetableEntry> entries = new ArrayList<>();
+        if (!teachers.isEmpty()) {
+            entries.addAll(timetableRepository.findByTeacherIdIn(teachers));
+        }
+        if (!grades.isEmpty()) {
+            entries.addAll(timetableRepository.findByGradeIn(Set.copyOf(grades)));
+        }
+        OccupancyMasks masks = OccupancyMasks.of(entries);
+        return union(teachers, grades, letters, masks::teacherMask, masks::sectionMask);
+    }
+
+    private static long union(Set<Long> teachers, List<Integer> grades, List<String> letters,
+                              ToLongFunction<Long> teacherMask, ToLongBiFunction<Integer, String> sectionMask) {
+        long occupied = 0;
+        for (Long id : teachers) {
+            occupied |= teacherMask.applyAsLong(id);
+        }
+        for (int i = 0; i < grades.size(); i++) {
+            occupied |= sectionMask.applyAsLong(grades.get(i), letters.get(i));
+        }
+        return occupied;
+    }
+
+    private static Map<String, List<Integer>> freePeriodsByDay(long occupied) {
+        Map<String, List<Integer>> byDay = new LinkedHashMap<>();
+        for (String day : TimetableEntry.getValidDays()) {
+            byDay.put(day, new ArrayList<>());
+        }
+        for (long free = ~occupied & OccupancyMasks.FULL_WEEK; free != 0; free &= free - 1) {
+            int slot = Long.numberOfTrailingZeros(free);
+            byDay.get(OccupancyMasks.dayOf(slot)).add(OccupancyMasks.periodOf(slot));
+        }
+        return byDay;
+    }
+}
@@ -0,0 +1,326 @@
+package com.sutram.timetableapi.service;
+
+import com.sutram.timetableapi.dto.TeacherWorkload;
+import com.sutram.timetableapi.dto.TimetableEntryView;
+import com.sutram.timetableapi.dto.TimetableEntryView.TeacherView;
+import com.sutram.timetableapi.dto.WorkloadReport;
+import com.sutram.timetableapi.event.TeacherChangeEvent;
+import com.sutram.timetableapi.event.TimetableChangeEvent;
+import com.sutram.timetableapi.model.ClassDay;
+import com.sutram.timetableapi.model.SlotKeys;
+import com.sutram.timetableapi.model.Teacher;
+import com.sutram.timetableapi.repository.TeacherRepository;
+import com.sutram.timetableapi.repository.TimetableRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Per-teacher load counters, kept current from the change events every create, update, delete,
+// import and reschedule publishes. A teacher's week is a 48-bit mask, one bit per slot, so day
+// counts and runs of consecutive periods are bit operations; subjects and grades are counted.
+// Reports therefore read the counters and the teacher table, never the timetable. Counted entries
+// are kept by id, so an entry is only ever counted once, in its latest placement: an event for a
+// write that the startup read already saw changes nothing.
+// The same counters answer the free-slot and substitute lookups: every teacher is kept too, and a
+// teacher change event re-reads only that teacher.
+@Component
+public class TeacherWorkloads {
+
+    private static final long DAY_BITS = (1L << SlotKeys.PERIODS_PER_DAY) - 1;
+
+    @Autowired
+    private TimetableRepository timetableRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Value("${timetable.workload.max-periods-per-day:6}")
+    private int maxPeriodsPerDay = 6;
+
+    @Value("${timetable.workload.max-periods-per-week:30}")
+    private int maxPeriodsPerWeek = 30;
+
+    @Value("${timetable.workload.max-consecutive-periods:4}")
+    private int maxConsecutivePeriods = 4;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Counters> counters = new HashMap<>();
+
+    private final Map<Long, TimetableEntryView> entries = new HashMap<>();
+
+    private final Map<Long, TeacherView> teachers = new HashMap<>();
+
+    // The one full read, at startup like the occupancy index
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            counters.clear();
+            entries.clear();
+            teachers.clear();
+            for (Teacher teacher : teacherRepository.findAll()) {
+                teachers.put(teacher.getId(), view(teacher));
+            }
+            for (TimetableEntryView entry : timetableRepository.findAllViews()) {
+                add(entry);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener
+    public void onTimetableChange(TimetableChangeEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (event.after() != null) {
+                add(event.after());
+            } else if (event.before() != null) {
+                remove(event.before().id());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Created, renamed or deleted: whatever the table holds now replaces what is kept
+    @EventListener
+    public void onTeacherChange(TeacherChangeEvent event) {
+        lock.writeLock().lock();
+        try {
+            Optional<Teacher> teacher = teacherRepository.findById(event.teacherId());
+            if (teacher.isEmpty()) {
+                teachers.remove(event.teacherId());
+                return;
+            }
+            TeacherView renamed = view(teacher.get());
+            teachers.put(event.teacherId(), renamed);
+            Counters teacherCounters = counters.get(event.teacherId());
+            if (teacherCounters != null) {
+                for (TimetableEntryView entry : List.copyOf(teacherCounters.entries.values())) {
+                    add(new TimetableEntryView(entry.id(), renamed, entry.grade(), entry.section(),
+                            entry.subject(), entry.classDay(), entry.period()));
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean exists(Long teacherId) {
+        lock.readLock().lock();
+        try {
+            return teachers.containsKey(teacherId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<TeacherView> teachers() {
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(teachers.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // The teacher's entries on one day, in period order
+    public List<TimetableEntryView> entriesOn(Long teacherId, String classDay) {
+        lock.readLock().lock();
+        try {
+            Counters teacherCounters = counters.get(teacherId);
+            if (teacherCounters == null) {
+                return List.of();
+            }
+            return teacherCounters.entries.values().stream()
+                    .filter(entry -> entry.classDay().equals(classDay))
+                    .sorted(Comparator.comparing(TimetableEntryView::period))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean teachesSubject(Long teacherId, String subject) {
+        lock.readLock().lock();
+        try {
+            Counters teacherCounters = counters.get(teacherId);
+            return teacherCounters != null && teacherCounters.subjects.containsKey(subject);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean teachesGrade(Long teacherId, Integer grade) {
+        lock.readLock().lock();
+        try {
+            Counters teacherCounters = counters.get(teacherId);
+            return teacherCounters != null && teacherCounters.grades.containsKey(grade);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Every teacher, busiest first; with alertsOnly just the ones over a threshold
+    public WorkloadReport getReport(boolean alertsOnly) {
+        List<Teacher> teachers = teacherRepository.findAll();
+        List<TeacherWorkload> workloads = new ArrayList<>(teachers.size());
+        int withAlerts = 0;
+        lock.readLock().lock();
+        try {
+            for (Teacher teacher : teachers) {
+                TeacherWorkload workload = workload(teacher);
+                if (!workload.getAlerts().isEmpty()) {
+                    withAlerts++;
+                } else if (alertsOnly) {
+                    continue;
+                }
+                workloads.add(workload);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        workloads.sort((a, b) -> a.getPeriodsPerWeek() != b.getPeriodsPerWeek()
+                ? Integer.compare(b.getPeriodsPerWeek(), a.getPeriodsPerWeek())
+                : Long.compare(a.getTeacherId(), b.getTeacherId()));
+        return new WorkloadReport(maxPeriodsPerDay, maxPeriodsPerWeek, maxConsecutivePeriods,
+                teachers.size(), withAlerts, workloads);
+    }
+
+    public TeacherWorkload getTeacherWorkload(Long teacherId) throws Exception {
+        Teacher teacher = teacherRepository.findById(teacherId)
+                .orElseThrow(() -> new Exception("Teacher not found with ID: " + teacherId));
+        lock.readLock().lock();
+        try {
+            return workload(teacher);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Caller holds the read lock
+    private TeacherWorkload workload(Teacher teacher) {
+        Counters teacherCounters = counters.get(teacher.getId());
+        long mask = teacherCounters != null ? teacherCounters.mask : 0L;
+        Map<String, Integer> periodsPerDay = new LinkedHashMap<>();
+        List<String> alerts = new ArrayList<>();
+        int longestRun = 0;
+        for (ClassDay day : ClassDay.values()) {
+            long dayBits = (mask >>> (day.ordinal() * SlotKeys.PERIODS_PER_DAY)) & DAY_BITS;
+            int periods = Long.bitCount(dayBits);
+            int run = longestRun(dayBits);
+            periodsPerDay.put(day.getLabel(), periods);
+            longestRun = Math.max(longestRun, run);
+            if (periods > maxPeriodsPerDay) {
+                alerts.add("More than " + maxPeriodsPerDay + " periods on " + day.getLabel() + " (" + periods + ")");
+            }
+            if (run > maxConsecutivePeriods) {
+                alerts.add("More than " + maxConsecutivePeriods + " consecutive periods on " + day.getLabel() + " (" + run + ")");
+            }
+        }
+        int periodsPerWeek = Long.bitCount(mask);
+        if (periodsPerWeek > maxPeriodsPerWeek) {
+            alerts.add("More than " + maxPeriodsPerWeek + " periods in the week (" + periodsPerWeek + ")");
+        }
+        return new TeacherWorkload(teacher.getId(), teacher.getName(), periodsPerWeek,
+                SlotKeys.SLOTS_PER_WEEK - periodsPerWeek, periodsPerDay, longestRun,
+                teacherCounters != null ? new TreeMap<>(teacherCounters.subjects) : new TreeMap<>(),
+                teacherCounters != null ? new TreeMap<>(teacherCounters.grades) : new TreeMap<>(),
+                alerts);
+    }
+
+    // Each step keeps only bits whose lower neighbour is set, shortening every run by one
+    static int longestRun(long bits) {
+        int run = 0;
+        while (bits != 0) {
+            bits &= bits << 1;
+            run++;
+        }
+        return run;
+    }
+
+    // Caller holds the write lock. Replaces the entry's previous placement, if counted
+    private void add(TimetableEntryView entry) {
+        TimetableEntryView previous = entries.put(entry.id(), entry);
+        if (previous != null) {
+            uncount(previous);
+        }
+        count(entry);
+    }
+
+    // Caller holds the write lock
+    private void remove(Long entryId) {
+        TimetableEntryView previous = entries.remove(entryId);
+        if (previous != null) {
+            uncount(previous);
+        }
+    }
+
+    private void count(TimetableEntryView entry) {
+        int slot = SlotKeys.weekSlot(entry.classDay(), entry.period());
+        if (slot < 0) {
+            return;
+        }
+        Counters teacherCounters = counters.computeIfAbsent(entry.teacher().id(), id -> new Counters());
+        teacherCounters.entries.put(entry.id(), entry);
+        teacherCounters.slots[slot]++;
+        teacherCounters.mask |= 1L << slot;
+        teacherCounters.subjects.merge(entry.subject(), 1, Integer::sum);
+        teacherCounters.grades.merge(entry.grade(), 1, Integer::sum);
+    }
+
+    private void uncount(TimetableEntryView entry) {
+        int slot = SlotKeys.weekSlot(entry.classDay(), entry.period());
+        Counters teacherCounters = counters.get(entry.teacher().id());
+        if (slot < 0 || teacherCounters == null) {
+            return;
+        }
+        teacherCounters.entries.remove(entry.id());
+        if (teacherCounters.slots[slot] > 0 && --teacherCounters.slots[slot] == 0) {
+            teacherCounters.mask &= ~(1L << slot);
+        }
+        teacherCounters.subjects.computeIfPresent(entry.subject(), (subject, count) -> count > 1 ? count - 1 : null);
+        teacherCounters.grades.computeIfPresent(entry.grade(), (grade, count) -> count > 1 ? count - 1 : null);
+        if (teacherCounters.entries.isEmpty()) {
+            counters.remove(entry.teacher().id());
+        }
+    }
+
+    private static TeacherView view(Teacher teacher) {
+        return new TeacherView(teacher.getId(), teacher.getName(), teacher.getEmail());
+    }
+
+    // Slots are counted rather than only flagged: while a reschedule swaps two of a teacher's
+    // entries, the event moving one in arrives before the event moving the other out
+    private static final class Counters {
+
+        private final Map<Long, TimetableEntryView> entries = new HashMap<>();
+
+        private final int[] slots = new int[SlotKeys.SLOTS_PER_WEEK];
+
+        private long mask;
+
+        private final Map<String, Integer> subjects = new HashMap<>();
+
+        private final Map<Integer, Integer> grades = new HashMap<>();
+    }
+}
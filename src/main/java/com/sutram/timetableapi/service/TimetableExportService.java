@@ -0,0 +1,105 @@
+package com.sutram.timetableapi.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sutram.timetableapi.dto.ExportFormat;
+import com.sutram.timetableapi.dto.TimetableExportRow;
+import com.sutram.timetableapi.repository.TimetableRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+// Writes rows to the response as they come off the database cursor, so memory use does not grow
+// with the size of the timetable.
+@Service
+public class TimetableExportService {
+
+    // Push buffered rows to the client regularly so the first bytes arrive early
+    private static final int FLUSH_EVERY = 1000;
+
+    private static final String CSV_HEADER = "id,teacherId,teacherName,teacherEmail,grade,section,subject,classDay,period";
+
+    @Autowired
+    private TimetableRepository timetableRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public long export(Long teacherId, Integer grade, String section, ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<TimetableExportRow> rows = timetableRepository.streamExportRows(teacherId, grade, section)) {
+            return format == ExportFormat.CSV ? writeCsv(rows.iterator(), out) : writeNdjson(rows.iterator(), out);
+        }
+    }
+
+    private long writeNdjson(Iterator<TimetableExportRow> rows, OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(TimetableExportRow.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long count = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.setRootValueSeparator(null);
+            while (rows.hasNext()) {
+                writer.writeValue(generator, rows.next());
+                generator.writeRaw('\n');
+                if (++count % FLUSH_EVERY == 0) {
+                    generator.flush();
+                }
+            }
+        }
+        return count;
+    }
+
+    private long writeCsv(Iterator<TimetableExportRow> rows, OutputStream out) throws IOException {
+        long count = 0;
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+            while (rows.hasNext()) {
+                TimetableExportRow row = rows.next();
+                writer.write(String.valueOf(row.getId()));
+                writer.write(',');
+                writer.write(String.valueOf(row.getTeacherId()));
+                writer.write(',');
+                writer.write(csv(row.getTeacherName()));
+                writer.write(',');
+                writer.write(csv(row.getTeacherEmail()));
+                writer.write(',');
+                writer.write(String.valueOf(row.getGrade()));
+                writer.write(',');
+                writer.write(csv(row.getSection()));
+                writer.write(',');
+                writer.write(csv(row.getSubject()));
+                writer.write(',');
+                writer.write(csv(row.getClassDay()));
+                writer.write(',');
+                writer.write(String.valueOf(row.getPeriod()));
+                writer.write('\n');
+                if (++count % FLUSH_EVERY == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        return count;
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,419 @@
+package com.sutram.timetableapi.service;
+
+import com.sutram.timetableapi.dto.BatchImportMode;
+import com.sutram.timetableapi.dto.BatchImportResult;
+import com.sutram.timetableapi.dto.CurriculumRequest;
+import com.sutram.timetableapi.dto.GenerationResult;
+import com.sutram.timetableapi.dto.SectionCurriculum;
+import com.sutram.timetableapi.dto.TimetableRequest;
+import com.sutram.timetableapi.model.Teacher;
+import com.sutram.timetableapi.repository.TeacherRepository;
+import com.sutram.timetableapi.repository.TimetableRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+// Builds a conflict-free week from a curriculum with randomized greedy search plus a one-step
+// repair, restarted in parallel on every core until a complete grid is found or the time budget
+// runs out. Slots already taken in the timetable are respected, so the result can be imported as is.
+@Component
+public class TimetableGenerator {
+
+    private static final int DAYS = OccupancyMasks.SLOT_COUNT / OccupancyMasks.PERIODS_PER_DAY;
+
+    @Autowired
+    private TimetableService timetableService;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private TimetableRepository timetableRepository;
+
+    @Autowired
+    private OccupancyIndex occupancyIndex;
+
+    @Value("${timetable.generator.default-time-budget-ms:5000}")
+    private long defaultTimeBudgetMillis = 5000;
+
+    @Value("${timetable.generator.max-time-budget-ms:60000}")
+    private long maxTimeBudgetMillis = 60000;
+
+    // 0 uses every available core
+    @Value("${timetable.generator.parallelism:0}")
+    private int parallelism;
+
+    // A subject one section needs a number of periods of, with the indexes of the teachers who can take it
+    private record Demand(int section, String subject, int periods, int[] teachers) {
+    }
+
+    private record Problem(int[] sectionGrades, String[] sectionNames, long[] sectionBase,
+                           long[] teacherIds, long[] teacherBase, Demand[] demands, int lessons) {
+    }
+
+    public GenerationResult generate(CurriculumRequest curriculum) throws Exception {
+        long started = System.nanoTime();
+        Problem problem = buildProblem(curriculum);
+
+        long budget = curriculum.getTimeBudgetMillis() != null
+                ? Math.max(1, Math.min(curriculum.getTimeBudgetMillis(), maxTimeBudgetMillis))
+                : defaultTimeBudgetMillis;
+        long deadline = started + TimeUnit.MILLISECONDS.toNanos(budget);
+        long seed = curriculum.getSeed() != null ? curriculum.getSeed() : System.nanoTime();
+        int workers = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+
+        AtomicBoolean solved = new AtomicBoolean();
+        AtomicLong attempts = new AtomicLong();
+        AtomicReference<Attempt> best = new AtomicReference<>();
+        ForkJoinPool pool = new ForkJoinPool(workers);
+        try {
+            List<ForkJoinTask<?>> tasks = new ArrayList<>();
+            for (int worker = 0; worker < workers; worker++) {
+                SplittableRandom random = new SplittableRandom(seed + worker);
+                tasks.add(pool.submit(() -> search(problem, random, deadline, solved, attempts, best)));
+            }
+            for (ForkJoinTask<?> task : tasks) {
+                task.join();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        Attempt result = best.get();
+        boolean complete = result.placed == problem.lessons();
+        List<TimetableRequest> entries = toRequests(problem, result);
+        BatchImportResult persisted = complete && curriculum.isPersist()
+                ? timetableService.importTimetableEntries(entries, BatchImportMode.ALL_OR_NOTHING)
+                : null;
+        return new GenerationResult(complete, problem.lessons(), result.placed, attempts.get(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started),
+                entries, unplaced(problem, result), persisted);
+    }
+
+    private void search(Problem problem, SplittableRandom random, long deadline,
+                        AtomicBoolean solved, AtomicLong attempts, AtomicReference<Attempt> best) {
+        do {
+            Attempt attempt = new Attempt(problem, random);
+            attempt.run();
+            attempts.incrementAndGet();
+            best.accumulateAndGet(attempt,
+                    (current, candidate) -> current == null || candidate.placed > current.placed ? candidate : current);
+            if (attempt.placed == problem.lessons()) {
+                solved.set(true);
+            }
+        } while (!solved.get() && System.nanoTime() < deadline);
+    }
+
+    private Problem buildProblem(CurriculumRequest curriculum) throws Exception {
+        Map<Long, Integer> teacherIndex = new LinkedHashMap<>();
+        for (List<Long> ids : curriculum.getSubjectTeachers().values()) {
+            if (ids != null) {
+                ids.forEach(id -> teacherIndex.putIfAbsent(id, teacherIndex.size()));
+            }
+        }
+        Set<Long> knownTeachers = teacherRepository.findAllById(teacherIndex.keySet()).stream()
+                .map(Teacher::getId)
+                .collect(Collectors.toSet());
+        for (Long id : teacherIndex.keySet()) {
+            if (!knownTeachers.contains(id)) {
+                throw new Exception("Teacher not found with ID: " + id);
+            }
+        }
+
+        List<SectionCurriculum> sections = curriculum.getSections();
+        int[] sectionGrades = new int[sections.size()];
+        String[] sectionNames = new String[sections.size()];
+        Set<String> seen = new HashSet<>();
+        List<Demand> demands = new ArrayList<>();
+        int lessons = 0;
+        for (int i = 0; i < sections.size(); i++) {
+            SectionCurriculum section = sections.get(i);
+            String label = section.getGrade() + section.getSection();
+            if (!seen.add(label)) {
+                throw new Exception("Section " + label + " appears more than once in the curriculum");
+            }
+            sectionGrades[i] = section.getGrade();
+            sectionNames[i] = section.getSection();
+
+            int total = 0;
+            for (Map.Entry<String, Integer> subject : section.getSubjects().entrySet()) {
+                Integer periods = subject.getValue();
+                if (periods == null || periods < 1) {
+                    throw new Exception("Periods per week must be positive for " + label + " " + subject.getKey());
+                }
+                List<Long> ids = curriculum.getSubjectTeachers().get(subject.getKey());
+                if (ids == null || ids.isEmpty()) {
+                    throw new Exception("No teachers can teach " + subject.getKey());
+                }
+                int[] teachers = ids.stream().distinct().mapToInt(teacherIndex::get).toArray();
+                demands.add(new Demand(i, subject.getKey(), periods, teachers));
+                total += periods;
+            }
+            if (total > OccupancyMasks.SLOT_COUNT) {
+                throw new Exception("Section " + label + " needs " + total + " periods but the week only has "
+                        + OccupancyMasks.SLOT_COUNT);
+            }
+            lessons += total;
+        }
+
+        long[] teacherIds = teacherIndex.keySet().stream().mapToLong(Long::longValue).toArray();
+        long[] sectionBase = new long[sections.size()];
+        long[] teacherBase = new long[teacherIds.length];
+        OccupancyMasks existing = occupancyIndex.isActive() ? null : loadExistingOccupancy(sectionGrades, teacherIndex.keySet());
+        for (int i = 0; i < sectionBase.length; i++) {
+            sectionBase[i] = existing != null
+                    ? existing.sectionMask(sectionGrades[i], sectionNames[i])
+                    : occupancyIndex.sectionMask(sectionGrades[i], sectionNames[i]);
+        }
+        for (int i = 0; i < teacherBase.length; i++) {
+            teacherBase[i] = existing != null
+                    ? existing.teacherMask(teacherIds[i])
+                    : occupancyIndex.teacherMask(teacherIds[i]);
+        }
+        return new Problem(sectionGrades, sectionNames, sectionBase, teacherIds, teacherBase,
+                demands.toArray(new Demand[0]), lessons);
+    }
+
+    private OccupancyMasks loadExistingOccupancy(int[] grades, Set<Long> teacherIds) {
+        Set<Integer> distinctGrades = Arrays.stream(grades).boxed().collect(Collectors.toSet());
+        OccupancyMasks masks = OccupancyMasks.of(timetableRepository.findByGradeIn(distinctGrades));
+        timetableRepository.findByTeacherIdIn(teacherIds).forEach(masks::add);
+        return masks;
+    }
+
+    private List<TimetableRequest> toRequests(Problem problem, Attempt attempt) {
+        List<TimetableRequest> requests = new ArrayList<>();
+        Integer[] lessons = new Integer[problem.lessons()];
+        for (int i = 0; i < lessons.length; i++) {
+            lessons[i] = i;
+        }
+        Arrays.sort(lessons, Comparator
+                .comparingInt((Integer l) -> problem.demands()[attempt.lessonDemand[l]].section())
+                .thenComparingInt(l -> attempt.lessonSlot[l]));
+        for (int lesson : lessons) {
+            int slot = attempt.lessonSlot[lesson];
+            if (slot < 0) {
+                continue;
+            }
+            Demand demand = problem.demands()[attempt.lessonDemand[lesson]];
+            TimetableRequest request = new TimetableRequest();
+            request.setTeacherId(problem.teacherIds()[attempt.lessonTeacher[lesson]]);
+            request.setGrade(problem.sectionGrades()[demand.section()]);
+            request.setSection(problem.sectionNames()[demand.section()]);
+            request.setSubject(demand.subject());
+            request.setClassDay(OccupancyMasks.dayOf(slot));
+            request.setPeriod(OccupancyMasks.periodOf(slot));
+            requests.add(request);
+        }
+        return requests;
+    }
+
+    private List<String> unplaced(Problem problem, Attempt attempt) {
+        int[] missing = new int[problem.demands().length];
+        for (int lesson = 0; lesson < problem.lessons(); lesson++) {
+            if (attempt.lessonSlot[lesson] < 0) {
+                missing[attempt.lessonDemand[lesson]]++;
+            }
+        }
+        List<String> unplaced = new ArrayList<>();
+        for (int d = 0; d < missing.length; d++) {
+            if (missing[d] > 0) {
+                Demand demand = problem.demands()[d];
+                unplaced.add(problem.sectionGrades()[demand.section()] + problem.sectionNames()[demand.section()]
+                        + " " + demand.subject() + ": " + missing[d] + " of " + demand.periods() + " periods unplaced");
+            }
+        }
+        return unplaced;
+    }
+
+    private static int randomBit(long mask, SplittableRandom random) {
+        int skip = random.nextInt(Long.bitCount(mask));
+        for (int i = 0; i < skip; i++) {
+            mask &= mask - 1;
+        }
+        return Long.numberOfTrailingZeros(mask);
+    }
+
+    // One randomized construction of the whole week
+    private static final class Attempt {
+
+        private final Problem problem;
+        private final SplittableRandom random;
+        private final long[] sectionMask;
+        private final long[] teacherMask;
+        private final int[][] owner;
+        private final int[][] dayCount;
+        private final int[] primary;
+        private final int[] lessonDemand;
+        private final int[] lessonSlot;
+        private final int[] lessonTeacher;
+        private int placed;
+
+        private Attempt(Problem problem, SplittableRandom random) {
+            this.problem = problem;
+            this.random = random;
+            this.sectionMask = problem.sectionBase().clone();
+            this.teacherMask = problem.teacherBase().clone();
+            this.owner = new int[sectionMask.length][OccupancyMasks.SLOT_COUNT];
+            this.dayCount = new int[problem.demands().length][DAYS];
+            this.primary = new int[problem.demands().length];
+            this.lessonDemand = new int[problem.lessons()];
+            this.lessonSlot = new int[problem.lessons()];
+            this.lessonTeacher = new int[problem.lessons()];
+            for (int[] row : owner) {
+                Arrays.fill(row, -1);
+            }
+            Arrays.fill(lessonSlot, -1);
+            Arrays.fill(lessonTeacher, -1);
+        }
+
+        private void run() {
+            Demand[] demands = problem.demands();
+
+            // Most constrained demands first; shuffling beforehand breaks ties differently per attempt
+            Integer[] order = new Integer[demands.length];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            for (int i = order.length - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                Integer swap = order[i];
+                order[i] = order[j];
+                order[j] = swap;
+            }
+            Arrays.sort(order, Comparator
+                    .comparingInt((Integer d) -> demands[d].teachers().length)
+                    .thenComparingInt(d -> -demands[d].periods()));
+
+            // Each section/subject gets one main teacher, balancing weekly load
+            int[] load = new int[teacherMask.length];
+            for (int t = 0; t < load.length; t++) {
+                load[t] = Long.bitCount(teacherMask[t]);
+            }
+            for (int d : order) {
+                int[] candidates = demands[d].teachers();
+                int chosen = candidates[random.nextInt(candidates.length)];
+                for (int t : candidates) {
+                    if (load[t] < load[chosen]) {
+                        chosen = t;
+                    }
+                }
+                primary[d] = chosen;
+                load[chosen] += demands[d].periods();
+            }
+
+            int lesson = 0;
+            for (int d : order) {
+                for (int p = 0; p < demands[d].periods(); p++, lesson++) {
+                    lessonDemand[lesson] = d;
+                    if (place(lesson, d)) {
+                        placed++;
+                    }
+                }
+            }
+        }
+
+        private boolean place(int lesson, int d) {
+            Demand demand = problem.demands()[d];
+            int section = demand.section();
+            int[] candidates = candidates(d);
+
+            for (int t : candidates) {
+                long free = ~(sectionMask[section] | teacherMask[t]) & OccupancyMasks.FULL_WEEK;
+                if (free != 0) {
+                    // Prefer days the subject is not taught yet so it spreads across the week
+                    long spread = free & ~usedDays(d);
+                    assign(lesson, t, randomBit(spread != 0 ? spread : free, random));
+                    return true;
+                }
+            }
+
+            // Repair: move a lesson generated for this section out of a slot the teacher still has free
+            for (int t : candidates) {
+                long blocked = ~teacherMask[t] & sectionMask[section] & ~problem.sectionBase()[section]
+                        & OccupancyMasks.FULL_WEEK;
+                while (blocked != 0) {
+                    int slot = Long.numberOfTrailingZeros(blocked);
+                    blocked &= blocked - 1;
+                    int other = owner[section][slot];
+                    int otherTeacher = lessonTeacher[other];
+                    long target = ~(sectionMask[section] | teacherMask[otherTeacher]) & OccupancyMasks.FULL_WEEK;
+                    if (target == 0) {
+                        continue;
+                    }
+                    unassign(other);
+                    assign(other, otherTeacher, randomBit(target, random));
+                    assign(lesson, t, slot);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // Main teacher first, then the others in their listed order
+        private int[] candidates(int d) {
+            int[] teachers = problem.demands()[d].teachers();
+            int[] candidates = new int[teachers.length];
+            candidates[0] = primary[d];
+            int next = 1;
+            for (int t : teachers) {
+                if (t != primary[d]) {
+                    candidates[next++] = t;
+                }
+            }
+            return candidates;
+        }
+
+        private long usedDays(int d) {
+            long mask = 0;
+            for (int day = 0; day < DAYS; day++) {
+                if (dayCount[d][day] > 0) {
+                    mask |= ((1L << OccupancyMasks.PERIODS_PER_DAY) - 1) << (day * OccupancyMasks.PERIODS_PER_DAY);
+                }
+            }
+            return mask;
+        }
+
+        private void assign(int lesson, int teacher, int slot) {
+            int d = lessonDemand[lesson];
+            int section = problem.demands()[d].section();
+            long bit = 1L << slot;
+            sectionMask[section] |= bit;
+            teacherMask[teacher] |= bit;
+            owner[section][slot] = lesson;
+            dayCount[d][slot / OccupancyMasks.PERIODS_PER_DAY]++;
+            lessonSlot[lesson] = slot;
+            lessonTeacher[lesson] = teacher;
+        }
+
+        private void unassign(int lesson) {
+            int d = lessonDemand[lesson];
+            int section = problem.demands()[d].section();
+            int slot = lessonSlot[lesson];
+            long bit = 1L << slot;
+            sectionMask[section] &= ~bit;
+            teacherMask[lessonTeacher[lesson]] &= ~bit;
+            owner[section][slot] = -1;
+            dayCount[d][slot / OccupancyMasks.PERIODS_PER_DAY]--;
+            lessonSlot[lesson] = -1;
+            lessonTeacher[lesson] = -1;
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.sutram.timetableapi.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sutram.timetableapi.dto.ApiResponse;
+import com.sutram.timetableapi.dto.TimetableEntryView;
+import com.sutram.timetableapi.dto.TimetableEntryView.TeacherView;
+import com.sutram.timetableapi.dto.TimetableGrid;
+import com.sutram.timetableapi.event.TeacherChangeEvent;
+import com.sutram.timetableapi.event.TimetableChangeEvent;
+import com.sutram.timetableapi.model.SlotKeys;
+import com.sutram.timetableapi.model.Teacher;
+import com.sutram.timetableapi.repository.TeacherRepository;
+import com.sutram.timetableapi.repository.TimetableRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Weekly grids of every section and teacher, kept up to date from the change events and held as the
+// finished response body: the ApiResponse JSON as UTF-8 bytes. A read is a map lookup that returns the
+// same array until the grid changes; a change drops the bytes and the next read serializes them again.
+@Component
+public class TimetableGrids {
+
+    private static final String MESSAGE = "Grid retrieved successfully";
+
+    @Autowired
+    private TimetableRepository timetableRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${timetable.grids.enabled:true}")
+    private boolean enabled = true;
+
+    private final Map<Integer, Grid> sections = new ConcurrentHashMap<>();
+
+    private final Map<Long, Grid> teachers = new ConcurrentHashMap<>();
+
+    // Serializes changes to the grids; reads never take it
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile boolean ready;
+
+    // Same timing as the occupancy index: after the runners have loaded any data
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    public boolean isActive() {
+        return enabled && ready;
+    }
+
+    public void rebuild() {
+        lock.lock();
+        try {
+            sections.clear();
+            teachers.clear();
+            for (TimetableEntryView entry : timetableRepository.findAllViews()) {
+                put(entry);
+            }
+            ready = true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @EventListener
+    @Order(TimetableVersions.BODIES_ORDER)
+    public void onTimetableChange(TimetableChangeEvent event) {
+        lock.lock();
+        try {
+            if (event.before() != null) {
+                remove(event.before());
+            }
+            if (event.after() != null) {
+                put(event.after());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Teacher names and emails are part of every cell they teach
+    @EventListener
+    @Order(TimetableVersions.BODIES_ORDER)
+    public void onTeacherChange(TeacherChangeEvent event) {
+        lock.lock();
+        try {
+            Grid teacherGrid = teachers.get(event.teacherId());
+            if (teacherGrid == null) {
+                return;
+            }
+            Optional<Teacher> teacher = teacherRepository.findById(event.teacherId());
+            if (teacher.isEmpty()) {
+                return;
+            }
+            TeacherView renamed = new TeacherView(teacher.get().getId(), teacher.get().getName(), teacher.get().getEmail());
+            for (TimetableEntryView entry : teacherGrid.entries()) {
+                put(new TimetableEntryView(entry.id(), renamed, entry.grade(), entry.section(),
+                        entry.subject(), entry.classDay(), entry.period()));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public byte[] sectionGrid(Integer grade, String section) throws Exception {
+        int key = SlotKeys.firstSectionSlotKey(grade, section);
+        if (key < 0) {
+            throw new Exception("Grade must be at least 1 and section a single uppercase letter");
+        }
+        if (!isActive()) {
+            return serialize(TimetableGrid.of(grade, section, null, timetableRepository.findViewsByGradeAndSection(grade, section)));
+        }
+        Grid grid = sections.get(key);
+        return grid != null ? grid.json() : serialize(TimetableGrid.of(grade, section, null, new TimetableEntryView[SlotKeys.SLOTS_PER_WEEK]));
+    }
+
+    public byte[] teacherGrid(Long teacherId) throws Exception {
+        Grid grid = isActive() ? teachers.get(teacherId) : null;
+        if (grid != null) {
+            return grid.json();
+        }
+        if (!teacherRepository.existsById(teacherId)) {
+            throw new Exception("Teacher not found with ID: " + teacherId);
+        }
+        return serialize(TimetableGrid.of(null, null, teacherId, timetableRepository.findViewsByTeacherId(teacherId)));
+    }
+
+    // Caller holds lock
+    private void put(TimetableEntryView entry) {
+        int slot = SlotKeys.weekSlot(entry.classDay(), entry.period());
+        sections.computeIfAbsent(SlotKeys.firstSectionSlotKey(entry.grade(), entry.section()),
+                key -> new Grid(entry.grade(), entry.section(), null)).set(slot, entry);
+        teachers.computeIfAbsent(entry.teacher().id(), id -> new Grid(null, null, id)).set(slot, entry);
+    }
+
+    // Caller holds lock. A cell is only cleared if the entry still holds it: within a reschedule another
+    // entry's event may already have moved into the slot.
+    private void remove(TimetableEntryView entry) {
+        int slot = SlotKeys.weekSlot(entry.classDay(), entry.period());
+        int sectionKey = SlotKeys.firstSectionSlotKey(entry.grade(), entry.section());
+        Grid section = sections.get(sectionKey);
+        if (section != null && section.clear(slot, entry.id())) {
+            sections.remove(sectionKey);
+        }
+        Grid teacher = teachers.get(entry.teacher().id());
+        if (teacher != null && teacher.clear(slot, entry.id())) {
+            teachers.remove(entry.teacher().id());
+        }
+    }
+
+    private byte[] serialize(TimetableGrid grid) throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(ApiResponse.success(MESSAGE, grid));
+    }
+
+    private final class Grid {
+
+        private final Integer grade;
+
+        private final String section;
+
+        private final Long teacherId;
+
+        // Guarded by this
+        private final TimetableEntryView[] cells = new TimetableEntryView[SlotKeys.SLOTS_PER_WEEK];
+
+        // Guarded by this
+        private int size;
+
+        // Null after a change until the next read
+        private volatile byte[] json;
+
+        private Grid(Integer grade, String section, Long teacherId) {
+            this.grade = grade;
+            this.section = section;
+            this.teacherId = teacherId;
+        }
+
+        synchronized void set(int slot, TimetableEntryView entry) {
+            if (cells[slot] == null) {
+                size++;
+            }
+            cells[slot] = entry;
+            json = null;
+        }
+
+        // Returns whether the grid is now empty
+        synchronized boolean clear(int slot, Long entryId) {
+            if (cells[slot] != null && cells[slot].id().equals(entryId)) {
+                cells[slot] = null;
+                size--;
+                json = null;
+            }
+            return size == 0;
+        }
+
+        synchronized List<TimetableEntryView> entries() {
+            List<TimetableEntryView> entries = new ArrayList<>(size);
+            for (TimetableEntryView cell : cells) {
+                if (cell != null) {
+                    entries.add(cell);
+                }
+            }
+            return entries;
+        }
+
+        byte[] json() throws JsonProcessingException {
+            byte[] bytes = json;
+            if (bytes != null) {
+                return bytes;
+            }
+            // Serialized under the same monitor as changes, so stale bytes are never stored
+            synchronized (this) {
+                if (json == null) {
+                    json = serialize(TimetableGrid.of(grade, section, teacherId, cells));
+                }
+                return json;
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.sutram.timetableapi.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Timers for each step of a timetable write and counters for rejected conflicts, so a slow write
+// can be traced to the teacher lookup, the conflict check or the save. Serialization time is the
+// gap between these and the http.server.requests timer for the same endpoint.
+@Component
+public class TimetableMetrics {
+
+    public enum WriteStep {
+        ENTRY_LOOKUP,
+        TEACHER_LOOKUP,
+        CONFLICT_CHECK,
+        SAVE
+    }
+
+    public enum ConflictReason {
+        SLOT_OCCUPIED,
+        TEACHER_BUSY
+    }
+
+    private final MeterRegistry registry;
+
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public TimetableMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    // operation is "create", "update" or "batch"; startNanos comes from System.nanoTime()
+    public void recordStep(String operation, WriteStep step, long startNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        timers.computeIfAbsent(operation + ":" + step, key -> Timer.builder("timetable.write.step")
+                        .description("Time spent in each step of a timetable write")
+                        .tag("operation", operation)
+                        .tag("step", tagValue(step))
+                        .publishPercentileHistogram()
+                        .register(registry))
+                .record(elapsed, TimeUnit.NANOSECONDS);
+    }
+
+    // check is where the conflict was caught: "index", "query", "constraint" or "batch"
+    public void recordConflict(ConflictReason reason, String check) {
+        counters.computeIfAbsent(reason + ":" + check, key -> Counter.builder("timetable.conflicts.rejected")
+                        .description("Writes rejected because of a scheduling conflict")
+                        .tag("reason", tagValue(reason))
+                        .tag("check", check)
+                        .register(registry))
+                .increment();
+    }
+
+    private static String tagValue(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,117 @@
+package com.sutram.timetableapi.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.sutram.timetableapi.dto.CacheStatsReport;
+import com.sutram.timetableapi.dto.TimetableEntryView;
+import com.sutram.timetableapi.event.TeacherChangeEvent;
+import com.sutram.timetableapi.event.TimetableChangeEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Bounded read-through cache in front of the section and teacher timetable reads.
+// Keys are evicted from the change events, which are published after the write has committed.
+// A load that was already running when the eviction arrives finishes first and is then dropped,
+// so a stale list can never stay cached after a write.
+@Component
+public class TimetableReadCache implements MeterBinder {
+
+    @Autowired
+    private TimetableService timetableService;
+
+    private final boolean enabled;
+
+    private final long sectionMaxSize;
+
+    private final long teacherMaxSize;
+
+    private final Cache<String, List<TimetableEntryView>> sections;
+
+    private final Cache<Long, List<TimetableEntryView>> teachers;
+
+    public TimetableReadCache(@Value("${timetable.cache.enabled:true}") boolean enabled,
+                              @Value("${timetable.cache.section-max-size:2000}") long sectionMaxSize,
+                              @Value("${timetable.cache.teacher-max-size:2000}") long teacherMaxSize) {
+        this.enabled = enabled;
+        this.sectionMaxSize = sectionMaxSize;
+        this.teacherMaxSize = teacherMaxSize;
+        this.sections = Caffeine.newBuilder().maximumSize(sectionMaxSize).recordStats().build();
+        this.teachers = Caffeine.newBuilder().maximumSize(teacherMaxSize).recordStats().build();
+    }
+
+    public List<TimetableEntryView> getTimetableByGradeAndSection(Integer grade, String section) {
+        if (!enabled) {
+            return timetableService.getTimetableByGradeAndSection(grade, section);
+        }
+        return sections.get(sectionKey(grade, section),
+                key -> List.copyOf(timetableService.getTimetableByGradeAndSection(grade, section)));
+    }
+
+    public List<TimetableEntryView> getTimetableByTeacher(Long teacherId) {
+        if (!enabled) {
+            return timetableService.getTimetableByTeacher(teacherId);
+        }
+        return teachers.get(teacherId, key -> List.copyOf(timetableService.getTimetableByTeacher(teacherId)));
+    }
+
+    // An update that moves an entry evicts both its old and its new section and teacher
+    @EventListener
+    @Order(TimetableVersions.BODIES_ORDER)
+    public void onTimetableChange(TimetableChangeEvent event) {
+        evict(event.before());
+        evict(event.after());
+    }
+
+    // Cached lists carry the teacher's name and email, so every section the teacher appears in goes too
+    @EventListener
+    @Order(TimetableVersions.BODIES_ORDER)
+    public void onTeacherChange(TeacherChangeEvent event) {
+        teachers.invalidate(event.teacherId());
+        sections.asMap().entrySet().removeIf(entry -> entry.getValue().stream()
+                .anyMatch(view -> view.teacher().id().equals(event.teacherId())));
+    }
+
+    public void invalidateAll() {
+        sections.invalidateAll();
+        teachers.invalidateAll();
+    }
+
+    // Publishes hit, miss and eviction counts as cache.* meters
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, sections, "timetable.sections");
+        CaffeineCacheMetrics.monitor(registry, teachers, "timetable.teachers");
+    }
+
+    public List<CacheStatsReport> stats() {
+        return List.of(report("sections", sections, sectionMaxSize), report("teachers", teachers, teacherMaxSize));
+    }
+
+    private void evict(TimetableEntryView view) {
+        if (view == null) {
+            return;
+        }
+        sections.invalidate(sectionKey(view.grade(), view.section()));
+        teachers.invalidate(view.teacher().id());
+    }
+
+    // Plain string key: the path variable is not validated, so it must not be folded into a packed key
+    private static String sectionKey(Integer grade, String section) {
+        return grade + "/" + section;
+    }
+
+    private static CacheStatsReport report(String name, Cache<?, ?> cache, long maximumSize) {
+        CacheStats stats = cache.stats();
+        return new CacheStatsReport(name, cache.estimatedSize(), maximumSize, stats.hitCount(), stats.missCount(),
+                stats.hitRate(), stats.evictionCount());
+    }
+}
@@ -1,15 +1,45 @@
 package com.sutram.timetableapi.service;
 
+import com.sutram.timetableapi.dto.BatchImportMode;
+import com.sutram.timetableapi.dto.BatchImportResult;
+import com.sutram.timetableapi.dto.BatchRowResult;
+import com.sutram.timetableapi.dto.EntryChange;
+import com.sutram.timetableapi.dto.PageResponse;
+import com.sutram.timetableapi.dto.RescheduleResult;
+import com.sutram.timetableapi.dto.TimetableEntryView;
 import com.sutram.timetableapi.dto.TimetableRequest;
+import com.sutram.timetableapi.event.TimetableChangeEvent;
+import com.sutram.timetableapi.event.TimetableCommitEvent;
+import com.sutram.timetableapi.model.ClassDay;
+import com.sutram.timetableapi.model.SlotKeys;
 import com.sutram.timetableapi.model.Teacher;
 import com.sutram.timetableapi.model.TimetableEntry;
 import com.sutram.timetableapi.repository.TeacherRepository;
 import com.sutram.timetableapi.repository.TimetableRepository;
+import com.sutram.timetableapi.service.TimetableMetrics.ConflictReason;
+import com.sutram.timetableapi.service.TimetableMetrics.WriteStep;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class TimetableService {
@@ -20,31 +50,73 @@ public class TimetableService {
     @Autowired
     private TeacherRepository teacherRepository;
     
-    public List<TimetableEntry> getAllTimetableEntries() {
+    @Autowired
+    private OccupancyIndex occupancyIndex;
+    
+    @Autowired
+    private Validator validator;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private TimetableMetrics timetableMetrics;
+    
+    // The unique slot constraints are authoritative; the query pre-check only gives an earlier error
+    @Value("${timetable.conflict-check.query-precheck:true}")
+    private boolean queryPrecheck = true;
+    
+    @Value("${timetable.batch.max-size:20000}")
+    private int maxBatchSize = 20000;
+    
+    @Value("${timetable.pagination.default-limit:100}")
+    private int defaultPageLimit = 100;
+    
+    @Value("${timetable.pagination.max-limit:500}")
+    private int maxPageLimit = 500;
+    
+    public List<TimetableEntryView> getAllTimetableEntries() {
 
-        return timetableRepository.findAll();
+        return timetableRepository.findAllViews();
     }
     
-    public Optional<TimetableEntry> getTimetableEntryById(Long id) {
+    // Keyset pagination on id; with fields set only those columns are selected
+    public PageResponse<?> getTimetablePage(Long afterId, Integer limit, String fields) throws Exception {
+        int pageLimit = Pagination.resolveLimit(limit, defaultPageLimit, maxPageLimit);
+        if (fields != null) {
+            List<Map<String, Object>> rows = timetableRepository.findProjectedPage(
+                    afterId, pageLimit, Pagination.parseFields(fields));
+            return Pagination.projectedPage(rows, pageLimit);
+        }
+        List<TimetableEntryView> entries = timetableRepository.findViewsAfter(
+                afterId != null ? afterId : 0L, Limit.of(pageLimit));
+        return Pagination.page(entries, pageLimit, TimetableEntryView::id);
+    }
+    
+    public Optional<TimetableEntryView> getTimetableEntryById(Long id) {
 
-        return timetableRepository.findById(id);
+        return timetableRepository.findViewById(id);
     }
     
-    public List<TimetableEntry> getTimetableByTeacher(Long teacherId) {
-        return timetableRepository.findByTeacherId(teacherId);
+    public List<TimetableEntryView> getTimetableByTeacher(Long teacherId) {
+        return timetableRepository.findViewsByTeacherId(teacherId);
     }
     
-    public List<TimetableEntry> getTimetableByGradeAndSection(Integer grade, String section) {
-        return timetableRepository.findByGradeAndSection(grade, section);
+    public List<TimetableEntryView> getTimetableByGradeAndSection(Integer grade, String section) {
+        return timetableRepository.findViewsByGradeAndSection(grade, section);
     }
     
     public TimetableEntry createTimetableEntry(TimetableRequest request) throws Exception {
         // Check if teacher exists
+        long start = System.nanoTime();
         Teacher teacher = teacherRepository.findById(request.getTeacherId())
                 .orElseThrow(() -> new Exception("Teacher not found with ID: " + request.getTeacherId()));
+        timetableMetrics.recordStep("create", WriteStep.TEACHER_LOOKUP, start);
         
         // Validate no scheduling conflicts
+        start = System.nanoTime();
         validateNoConflicts(request, null);
+        timetableMetrics.recordStep("create", WriteStep.CONFLICT_CHECK, start);
         
         // Create new timetable entry
         TimetableEntry entry = new TimetableEntry();
@@ -55,20 +127,32 @@ public class TimetableService {
         entry.setClassDay(request.getClassDay());
         entry.setPeriod(request.getPeriod());
         
-        return timetableRepository.save(entry);
+        start = System.nanoTime();
+        TimetableEntry savedEntry = saveEntry(entry);
+        timetableMetrics.recordStep("create", WriteStep.SAVE, start);
+        occupancyIndex.add(savedEntry);
+        publishChanges(List.of(TimetableChangeEvent.created(TimetableEntryView.of(savedEntry))));
+        return savedEntry;
     }
     
     public TimetableEntry updateTimetableEntry(Long id, TimetableRequest request) throws Exception {
         // Check if timetable entry exists
+        long start = System.nanoTime();
         TimetableEntry existingEntry = timetableRepository.findById(id)
                 .orElseThrow(() -> new Exception("Timetable entry not found with ID: " + id));
+        TimetableEntryView before = TimetableEntryView.of(existingEntry);
+        timetableMetrics.recordStep("update", WriteStep.ENTRY_LOOKUP, start);
         
         // Check if teacher exists
+        start = System.nanoTime();
         Teacher teacher = teacherRepository.findById(request.getTeacherId())
                 .orElseThrow(() -> new Exception("Teacher not found with ID: " + request.getTeacherId()));
+        timetableMetrics.recordStep("update", WriteStep.TEACHER_LOOKUP, start);
         
         // Validate no scheduling conflicts (excluding current entry)
+        start = System.nanoTime();
         validateNoConflicts(request, id);
+        timetableMetrics.recordStep("update", WriteStep.CONFLICT_CHECK, start);
         
         // Update the entry
         existingEntry.setTeacher(teacher);
@@ -78,47 +162,485 @@ public class TimetableService {
         existingEntry.setClassDay(request.getClassDay());
         existingEntry.setPeriod(request.getPeriod());
         
-        return timetableRepository.save(existingEntry);
+        start = System.nanoTime();
+        TimetableEntry savedEntry = saveEntry(existingEntry);
+        timetableMetrics.recordStep("update", WriteStep.SAVE, start);
+        occupancyIndex.add(savedEntry);
+        publishChanges(List.of(TimetableChangeEvent.updated(before, TimetableEntryView.of(savedEntry))));
+        return savedEntry;
     }
     
     public void deleteTimetableEntry(Long id) throws Exception {
-        if (!timetableRepository.existsById(id)) {
-            throw new Exception("Timetable entry not found with ID: " + id);
-        }
+        TimetableEntry existingEntry = timetableRepository.findById(id)
+                .orElseThrow(() -> new Exception("Timetable entry not found with ID: " + id));
         timetableRepository.deleteById(id);
+        occupancyIndex.remove(id);
+        publishChanges(List.of(TimetableChangeEvent.deleted(TimetableEntryView.of(existingEntry))));
+    }
+    
+    // Set-based deletes. The affected views are read first, for the change events, then removed by one
+    // statement with the same condition in the same transaction. A different row count means a write
+    // landed in between, and the delete is rolled back rather than leaving the caches unaware of a row.
+    @Transactional(rollbackFor = Exception.class)
+    public int deleteSectionEntries(Integer grade, String section) throws Exception {
+        int first = SlotKeys.firstSectionSlotKey(grade, section);
+        if (first < 0) {
+            throw new Exception("Grade must be at least 1 and section a single uppercase letter");
+        }
+        int last = first + SlotKeys.SLOTS_PER_WEEK - 1;
+        return bulkDelete(timetableRepository.lockViewsBySlotKeyRange(first, last));
+    }
+    
+    @Transactional(rollbackFor = Exception.class)
+    public int deleteTeacherEntries(Long teacherId) throws Exception {
+        if (!teacherRepository.existsById(teacherId)) {
+            throw new Exception("Teacher not found with ID: " + teacherId);
+        }
+        return deleteEntriesReferencingTeacher(teacherId);
+    }
+    
+    @Transactional(rollbackFor = Exception.class)
+    public int deleteDayEntries(String classDay) throws Exception {
+        if (ClassDay.fromLabel(classDay) == null) {
+            throw new Exception("Day must be one of: Monday, Tuesday, Wednesday, Thursday, Friday, Saturday");
+        }
+        return bulkDelete(timetableRepository.lockViewsByClassDay(classDay));
+    }
+    
+    // The teacher and all of their entries go together or not at all
+    @Transactional(rollbackFor = Exception.class)
+    public int deleteTeacherWithEntries(Long teacherId) throws Exception {
+        if (!teacherRepository.existsById(teacherId)) {
+            throw new Exception("Teacher not found with ID: " + teacherId);
+        }
+        int deleted = deleteEntriesReferencingTeacher(teacherId);
+        teacherRepository.deleteById(teacherId);
+        return deleted;
+    }
+    
+    private int deleteEntriesReferencingTeacher(Long teacherId) throws Exception {
+        return bulkDelete(timetableRepository.lockViewsReferencingTeacher(teacherId));
+    }
+    
+    // entries were read under row locks, so they are deleted by id and the events match the rows removed
+    private int bulkDelete(List<TimetableEntryView> entries) throws Exception {
+        if (entries.isEmpty()) {
+            return 0;
+        }
+        int deleted = timetableRepository.deleteEntries(entries.stream().map(TimetableEntryView::id).toList());
+        if (deleted != entries.size()) {
+            throw new Exception("Timetable changed during the delete, please retry");
+        }
+        afterCommit(() -> {
+            List<TimetableChangeEvent> changes = new ArrayList<>(entries.size());
+            for (TimetableEntryView entry : entries) {
+                occupancyIndex.remove(entry.id());
+                changes.add(TimetableChangeEvent.deleted(entry));
+            }
+            publishChanges(changes);
+        });
+        return deleted;
+    }
+    
+    public BatchImportResult importTimetableEntries(List<TimetableRequest> requests, BatchImportMode mode) throws Exception {
+        if (requests.size() > maxBatchSize) {
+            throw new Exception("Batch size " + requests.size() + " exceeds the limit of " + maxBatchSize);
+        }
+        
+        // One lookup for every teacher referenced by the batch
+        Set<Long> teacherIds = requests.stream()
+                .map(TimetableRequest::getTeacherId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Teacher> teachers = teacherRepository.findAllById(teacherIds).stream()
+                .collect(Collectors.toMap(Teacher::getId, Function.identity()));
+        
+        // Without the live index, load the existing entries the batch can collide with
+        OccupancyMasks existing = occupancyIndex.isActive() ? null : loadExistingOccupancy(requests, teacherIds);
+        OccupancyMasks batch = new OccupancyMasks();
+        
+        List<BatchRowResult> rows = new ArrayList<>(requests.size());
+        List<TimetableEntry> accepted = new ArrayList<>();
+        List<BatchRowResult> acceptedRows = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            TimetableRequest request = requests.get(i);
+            String error = validateBatchRow(request, teachers, existing, batch);
+            if (error != null) {
+                rows.add(new BatchRowResult(i, false, error, null));
+                continue;
+            }
+            TimetableEntry entry = new TimetableEntry();
+            entry.setTeacher(teachers.get(request.getTeacherId()));
+            entry.setGrade(request.getGrade());
+            entry.setSection(request.getSection());
+            entry.setSubject(request.getSubject());
+            entry.setClassDay(request.getClassDay());
+            entry.setPeriod(request.getPeriod());
+            batch.add(entry);
+            accepted.add(entry);
+            
+            BatchRowResult row = new BatchRowResult(i, true, "Imported", null);
+            rows.add(row);
+            acceptedRows.add(row);
+        }
+        
+        int rejected = requests.size() - accepted.size();
+        if (mode == BatchImportMode.ALL_OR_NOTHING && rejected > 0) {
+            for (BatchRowResult row : acceptedRows) {
+                row.setSuccess(false);
+                row.setMessage("Not imported because other rows were rejected");
+            }
+            return new BatchImportResult(mode, requests.size(), 0, requests.size(), rows);
+        }
+        
+        // saveAll runs in a single transaction; sequence ids let Hibernate batch the inserts
+        List<TimetableEntry> saved;
+        long start = System.nanoTime();
+        try {
+            saved = timetableRepository.saveAll(accepted);
+            timetableMetrics.recordStep("batch", WriteStep.SAVE, start);
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent write took one of the slots after validation; the whole batch is rolled back
+            throw translateSlotConflict(e);
+        }
+        List<TimetableChangeEvent> changes = new ArrayList<>(saved.size());
+        for (int i = 0; i < saved.size(); i++) {
+            occupancyIndex.add(saved.get(i));
+            acceptedRows.get(i).setEntryId(saved.get(i).getId());
+            changes.add(TimetableChangeEvent.created(TimetableEntryView.of(saved.get(i))));
+        }
+        publishChanges(changes);
+        return new BatchImportResult(mode, requests.size(), saved.size(), rejected, rows);
+    }
+    
+    // Moves, swaps and reassignments applied together: the final placements are validated as a whole,
+    // so a swap does not conflict with its own other half, and written in one transaction
+    @Transactional(rollbackFor = Exception.class)
+    public RescheduleResult rescheduleEntries(List<EntryChange> changes) throws Exception {
+        if (changes == null || changes.isEmpty()) {
+            throw new Exception("At least one change is required");
+        }
+        if (changes.size() > maxBatchSize) {
+            throw new Exception("Batch size " + changes.size() + " exceeds the limit of " + maxBatchSize);
+        }
+        
+        // Loaded before the occupancy queries, which would otherwise return them read-only
+        Set<Long> entryIds = changes.stream()
+                .map(EntryChange::getEntryId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, TimetableEntry> entries = timetableRepository.findByIdIn(entryIds).stream()
+                .collect(Collectors.toMap(TimetableEntry::getId, Function.identity()));
+        Set<Long> teacherIds = changes.stream()
+                .map(EntryChange::getTeacherId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Teacher> teachers = teacherRepository.findAllById(teacherIds).stream()
+                .collect(Collectors.toMap(Teacher::getId, Function.identity()));
+        
+        // Final state of each change as a detached copy; managed entries stay untouched until all rows pass
+        List<BatchRowResult> rows = new ArrayList<>();
+        List<TimetableEntry> targets = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < changes.size(); i++) {
+            EntryChange change = changes.get(i);
+            String message = validateChange(change, entries, teachers, seen);
+            rows.add(new BatchRowResult(i, message == null, message, change.getEntryId()));
+            targets.add(message == null ? applyChange(entries.get(change.getEntryId()), change, teachers) : null);
+        }
+        
+        // Everything the final placements could collide with, minus the entries being changed
+        Set<Integer> grades = new HashSet<>();
+        Set<Long> affectedTeachers = new HashSet<>();
+        for (TimetableEntry target : targets) {
+            if (target != null) {
+                TimetableEntry current = entries.get(target.getId());
+                grades.add(current.getGrade());
+                grades.add(target.getGrade());
+                affectedTeachers.add(current.getTeacher().getId());
+                affectedTeachers.add(target.getTeacher().getId());
+            }
+        }
+        List<TimetableEntry> neighbours = new ArrayList<>();
+        if (!grades.isEmpty()) {
+            neighbours.addAll(timetableRepository.findByGradeIn(grades));
+            neighbours.addAll(timetableRepository.findByTeacherIdIn(affectedTeachers));
+        }
+        OccupancyMasks occupancy = OccupancyMasks.of(neighbours);
+        targets.stream().filter(Objects::nonNull).forEach(target -> occupancy.remove(target.getId()));
+        
+        int rejected = 0;
+        for (int i = 0; i < targets.size(); i++) {
+            TimetableEntry target = targets.get(i);
+            String message = target != null ? placeTarget(target, occupancy) : rows.get(i).getMessage();
+            if (message != null) {
+                rows.get(i).setSuccess(false);
+                rows.get(i).setMessage(message);
+                rejected++;
+            }
+        }
+        if (rejected > 0) {
+            for (BatchRowResult row : rows) {
+                if (row.isSuccess()) {
+                    row.setSuccess(false);
+                    row.setMessage("Not applied because other changes were rejected");
+                }
+            }
+            return new RescheduleResult(false, changes.size(), rejected, rows);
+        }
+        
+        // Entries whose slot or teacher changes are parked first; the final values then go out as batched updates
+        Set<Long> moving = targets.stream()
+                .filter(target -> movesSlot(entries.get(target.getId()), target))
+                .map(TimetableEntry::getId)
+                .collect(Collectors.toSet());
+        if (!moving.isEmpty()) {
+            timetableRepository.parkEntries(moving);
+        }
+        List<TimetableEntryView> before = new ArrayList<>();
+        List<TimetableEntry> updated = new ArrayList<>();
+        for (TimetableEntry target : targets) {
+            TimetableEntry entry = entries.get(target.getId());
+            before.add(TimetableEntryView.of(entry));
+            entry.setTeacher(target.getTeacher());
+            entry.setGrade(target.getGrade());
+            entry.setSection(target.getSection());
+            entry.setSubject(target.getSubject());
+            entry.setClassDay(target.getClassDay());
+            entry.setPeriod(target.getPeriod());
+            updated.add(entry);
+        }
+        try {
+            timetableRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent write took one of the slots after validation; the whole reschedule is rolled back
+            throw translateSlotConflict(e);
+        }
+        
+        afterCommit(() -> {
+            List<TimetableChangeEvent> events = new ArrayList<>(updated.size());
+            for (int i = 0; i < updated.size(); i++) {
+                occupancyIndex.add(updated.get(i));
+                events.add(TimetableChangeEvent.updated(before.get(i), TimetableEntryView.of(updated.get(i))));
+            }
+            publishChanges(events);
+        });
+        return new RescheduleResult(true, changes.size(), 0, rows);
+    }
+    
+    private String validateChange(EntryChange change, Map<Long, TimetableEntry> entries,
+                                  Map<Long, Teacher> teachers, Set<Long> seen) {
+        Set<ConstraintViolation<EntryChange>> violations = validator.validate(change);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        if (!entries.containsKey(change.getEntryId())) {
+            return "Timetable entry not found with ID: " + change.getEntryId();
+        }
+        if (!seen.add(change.getEntryId())) {
+            return "Timetable entry " + change.getEntryId() + " is changed more than once";
+        }
+        if (change.getTeacherId() != null && !teachers.containsKey(change.getTeacherId())) {
+            return "Teacher not found with ID: " + change.getTeacherId();
+        }
+        return null;
+    }
+    
+    private static TimetableEntry applyChange(TimetableEntry entry, EntryChange change, Map<Long, Teacher> teachers) {
+        return new TimetableEntry(entry.getId(),
+                change.getTeacherId() != null ? teachers.get(change.getTeacherId()) : entry.getTeacher(),
+                change.getGrade() != null ? change.getGrade() : entry.getGrade(),
+                change.getSection() != null ? change.getSection() : entry.getSection(),
+                change.getSubject() != null ? change.getSubject() : entry.getSubject(),
+                change.getClassDay() != null ? change.getClassDay() : entry.getClassDay(),
+                change.getPeriod() != null ? change.getPeriod() : entry.getPeriod());
+    }
+    
+    // Checks one final placement against the occupancy so far, then claims its slot
+    private String placeTarget(TimetableEntry target, OccupancyMasks occupancy) {
+        long bit = OccupancyMasks.slotBit(target.getClassDay(), target.getPeriod());
+        if (occupancy.isSectionSlotTaken(target.getGrade(), target.getSection(), bit, null)) {
+            timetableMetrics.recordConflict(ConflictReason.SLOT_OCCUPIED, "reschedule");
+            return "Slot is already occupied by another teacher";
+        }
+        if (occupancy.isTeacherSlotTaken(target.getTeacher().getId(), bit, null)) {
+            timetableMetrics.recordConflict(ConflictReason.TEACHER_BUSY, "reschedule");
+            return "Teacher is already assigned to another class at the same time";
+        }
+        occupancy.add(target);
+        return null;
+    }
+    
+    // Whether the entry leaves its section slot or teacher slot; subject-only changes need no parking
+    private static boolean movesSlot(TimetableEntry current, TimetableEntry target) {
+        return !current.getGrade().equals(target.getGrade())
+                || !current.getSection().equals(target.getSection())
+                || !current.getClassDay().equals(target.getClassDay())
+                || !current.getPeriod().equals(target.getPeriod())
+                || !current.getTeacher().getId().equals(target.getTeacher().getId());
+    }
+    
+    // One event per changed entry for the caches and read models, then one for the whole commit
+    private void publishChanges(List<TimetableChangeEvent> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        changes.forEach(eventPublisher::publishEvent);
+        eventPublisher.publishEvent(new TimetableCommitEvent(changes));
+    }
+    
+    // Index and cache updates wait for the commit, or a concurrent reader could cache rows that roll back
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+    
+    private OccupancyMasks loadExistingOccupancy(List<TimetableRequest> requests, Set<Long> teacherIds) {
+        Set<Integer> grades = requests.stream()
+                .map(TimetableRequest::getGrade)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        // Entries returned by both queries are indexed once, keyed by id
+        List<TimetableEntry> entries = new ArrayList<>(timetableRepository.findByGradeIn(grades));
+        entries.addAll(timetableRepository.findByTeacherIdIn(teacherIds));
+        return OccupancyMasks.of(entries);
+    }
+    
+    private String validateBatchRow(TimetableRequest request, Map<Long, Teacher> teachers,
+                                    OccupancyMasks existing, OccupancyMasks batch) {
+        Set<ConstraintViolation<TimetableRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        if (!teachers.containsKey(request.getTeacherId())) {
+            return "Teacher not found with ID: " + request.getTeacherId();
+        }
+        
+        long bit = OccupancyMasks.slotBit(request.getClassDay(), request.getPeriod());
+        boolean slotTaken = existing != null
+                ? existing.isSectionSlotTaken(request.getGrade(), request.getSection(), bit, null)
+                : occupancyIndex.isSectionSlotTaken(request.getGrade(), request.getSection(),
+                        request.getClassDay(), request.getPeriod(), null);
+        if (slotTaken || batch.isSectionSlotTaken(request.getGrade(), request.getSection(), bit, null)) {
+            timetableMetrics.recordConflict(ConflictReason.SLOT_OCCUPIED, "batch");
+            return "Slot is already occupied by another teacher";
+        }
+        
+        boolean teacherBusy = existing != null
+                ? existing.isTeacherSlotTaken(request.getTeacherId(), bit, null)
+                : occupancyIndex.isTeacherSlotTaken(request.getTeacherId(),
+                        request.getClassDay(), request.getPeriod(), null);
+        if (teacherBusy || batch.isTeacherSlotTaken(request.getTeacherId(), bit, null)) {
+            timetableMetrics.recordConflict(ConflictReason.TEACHER_BUSY, "batch");
+            return "Teacher is already assigned to another class at the same time";
+        }
+        return null;
     }
     
     private void validateNoConflicts(TimetableRequest request, Long excludeId) throws Exception {
+        if (occupancyIndex.isActive()) {
+            validateAgainstIndex(request, excludeId);
+            return;
+        }
+        if (!queryPrecheck) {
+            return;
+        }
+        
         // Check if slot is already occupied by another teacher
-        if (timetableRepository.existsByGradeAndSectionAndClassDayAndPeriod(
-                request.getGrade(), request.getSection(), request.getClassDay(), request.getPeriod())) {
+        Integer slotKey = SlotKeys.slotKey(request.getGrade(), request.getSection(), request.getClassDay(), request.getPeriod());
+        if (timetableRepository.existsBySlotKey(slotKey)) {
             
             // If updating, check if it's the same entry
             if (excludeId != null) {
-                Optional<TimetableEntry> existingEntry = timetableRepository.findByGradeAndSectionAndClassDayAndPeriod(
-                        request.getGrade(), request.getSection(), request.getClassDay(), request.getPeriod());
+                Optional<TimetableEntry> existingEntry = timetableRepository.findBySlotKey(slotKey);
                 if (existingEntry.isPresent() && !existingEntry.get().getId().equals(excludeId)) {
-                    throw new Exception("Slot is already occupied by another teacher");
+                    throw slotOccupied("query");
                 }
             } else {
-                throw new Exception("Slot is already occupied by another teacher");
+                throw slotOccupied("query");
             }
         }
         
         // Check if teacher is already assigned to another class at the same time
-        if (timetableRepository.existsByTeacherIdAndClassDayAndPeriod(
-                request.getTeacherId(), request.getClassDay(), request.getPeriod())) {
+        Long teacherSlotKey = SlotKeys.teacherSlotKey(request.getTeacherId(), request.getClassDay(), request.getPeriod());
+        if (timetableRepository.existsByTeacherSlotKey(teacherSlotKey)) {
             
             // If updating, check if it's the same entry
             if (excludeId != null) {
-                Optional<TimetableEntry> existingEntry = timetableRepository.findByTeacherIdAndClassDayAndPeriod(
-                        request.getTeacherId(), request.getClassDay(), request.getPeriod());
+                Optional<TimetableEntry> existingEntry = timetableRepository.findByTeacherSlotKey(teacherSlotKey);
                 if (existingEntry.isPresent() && !existingEntry.get().getId().equals(excludeId)) {
-                    throw new Exception("Teacher is already assigned to another class at the same time");
+                    throw teacherBusy("query");
                 }
             } else {
-                throw new Exception("Teacher is already assigned to another class at the same time");
+                throw teacherBusy("query");
+            }
+        }
+    }
+    
+    private void validateAgainstIndex(TimetableRequest request, Long excludeId) throws Exception {
+        if (occupancyIndex.isSectionSlotTaken(request.getGrade(), request.getSection(),
+                request.getClassDay(), request.getPeriod(), excludeId)) {
+            throw slotOccupied("index");
+        }
+        
+        if (occupancyIndex.isTeacherSlotTaken(request.getTeacherId(),
+                request.getClassDay(), request.getPeriod(), excludeId)) {
+            throw teacherBusy("index");
+        }
+    }
+    
+    private TimetableEntry saveEntry(TimetableEntry entry) throws Exception {
+        try {
+            return timetableRepository.save(entry);
+        } catch (DataIntegrityViolationException e) {
+            throw translateSlotConflict(e);
+        }
+    }
+    
+    // Maps a unique slot constraint violation to the same errors the pre-checks report
+    private Exception translateSlotConflict(DataIntegrityViolationException e) {
+        String constraint = null;
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof org.hibernate.exception.ConstraintViolationException violation
+                    && violation.getConstraintName() != null) {
+                constraint = violation.getConstraintName();
+                break;
             }
         }
+        if (constraint == null) {
+            constraint = e.getMostSpecificCause().getMessage();
+        }
+        String name = constraint != null ? constraint.toLowerCase(Locale.ROOT) : "";
+        if (name.contains(TimetableEntry.SECTION_SLOT_CONSTRAINT)) {
+            return slotOccupied("constraint");
+        }
+        if (name.contains(TimetableEntry.TEACHER_SLOT_CONSTRAINT)) {
+            return teacherBusy("constraint");
+        }
+        return e;
+    }
+    
+    private Exception slotOccupied(String check) {
+        timetableMetrics.recordConflict(ConflictReason.SLOT_OCCUPIED, check);
+        return new Exception("Slot is already occupied by another teacher");
+    }
+    
+    private Exception teacherBusy(String check) {
+        timetableMetrics.recordConflict(ConflictReason.TEACHER_BUSY, check);
+        return new Exception("Teacher is already assigned to another class at the same time");
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,85 @@
+package com.sutram.timetableapi.service;
+
+import com.sutram.timetableapi.dto.TimetableEntryView;
+import com.sutram.timetableapi.event.TeacherChangeEvent;
+import com.sutram.timetableapi.event.TimetableChangeEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Monotonic version counters behind the ETags of the timetable GET endpoints.
+// Counters are bumped from the change events TimetableService publishes after each saved write.
+// Callers must read the ETag before loading the body: a write landing in between then yields an
+// older tag with a newer body, which only costs the client one extra download on its next poll.
+// For the same reason the counters move only after the read cache and the grids have taken the
+// change in: their listeners run at BODIES_ORDER, these at VERSIONS_ORDER.
+@Component
+public class TimetableVersions {
+
+    public static final int BODIES_ORDER = 0;
+
+    public static final int VERSIONS_ORDER = 100;
+
+    // Counters live in memory, so tags from before a restart must not match tags after it
+    private final String epoch = Long.toHexString(System.currentTimeMillis());
+
+    private final Map<String, AtomicLong> sections = new ConcurrentHashMap<>();
+
+    private final Map<Long, AtomicLong> teachers = new ConcurrentHashMap<>();
+
+    private final AtomicLong entries = new AtomicLong();
+
+    // Section and full-table bodies embed teacher names and emails, so any teacher edit changes them
+    private final AtomicLong teacherDetails = new AtomicLong();
+
+    @EventListener
+    @Order(VERSIONS_ORDER)
+    public void onTimetableChange(TimetableChangeEvent event) {
+        bump(event.before());
+        bump(event.after());
+        entries.incrementAndGet();
+    }
+
+    @EventListener
+    @Order(VERSIONS_ORDER)
+    public void onTeacherChange(TeacherChangeEvent event) {
+        teachers.computeIfAbsent(event.teacherId(), id -> new AtomicLong()).incrementAndGet();
+        teacherDetails.incrementAndGet();
+    }
+
+    public String sectionETag(Integer grade, String section) {
+        return etag(version(sections.get(sectionKey(grade, section))), teacherDetails.get());
+    }
+
+    public String teacherETag(Long teacherId) {
+        return etag(version(teachers.get(teacherId)), 0);
+    }
+
+    public String allEntriesETag() {
+        return etag(entries.get(), teacherDetails.get());
+    }
+
+    private void bump(TimetableEntryView view) {
+        if (view == null) {
+            return;
+        }
+        sections.computeIfAbsent(sectionKey(view.grade(), view.section()), key -> new AtomicLong()).incrementAndGet();
+        teachers.computeIfAbsent(view.teacher().id(), id -> new AtomicLong()).incrementAndGet();
+    }
+
+    private String etag(long version, long teacherVersion) {
+        return "\"" + epoch + "-" + Long.toHexString(version) + "-" + Long.toHexString(teacherVersion) + "\"";
+    }
+
+    private static long version(AtomicLong counter) {
+        return counter != null ? counter.get() : 0;
+    }
+
+    private static String sectionKey(Integer grade, String section) {
+        return grade + "/" + section;
+    }
+}
@@ -0,0 +1,114 @@
+package com.sutram.timetableapi.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControlFilterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final AdmissionControlFilter filter = new AdmissionControlFilter();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(filter, "registry", registry);
+        ReflectionTestUtils.setField(filter, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(filter, "writeConcurrency", 1);
+        ReflectionTestUtils.setField(filter, "writeQueue", 0);
+        ReflectionTestUtils.setField(filter, "writeTimeoutMillis", 0L);
+        ReflectionTestUtils.setField(filter, "readConcurrency", 1);
+        ReflectionTestUtils.setField(filter, "readQueue", 0);
+        ReflectionTestUtils.setField(filter, "readTimeoutMillis", 0L);
+        filter.init();
+    }
+
+    @Test
+    void testSaturatedWritesDoNotBlockReads() throws Exception {
+        // Arrange: while one write runs, a second write, a read and a feed subscription arrive
+        MockHttpServletResponse write = new MockHttpServletResponse();
+        MockHttpServletResponse read = new MockHttpServletResponse();
+        MockHttpServletResponse feed = new MockHttpServletResponse();
+        FilterChain running = (request, response) -> {
+            filter.doFilter(new MockHttpServletRequest("PUT", "/api/timetable/1"), write, (r, s) -> fail("write admitted"));
+            filter.doFilter(new MockHttpServletRequest("GET", "/api/timetable/grade/7/section/A"), read, (r, s) -> { });
+            filter.doFilter(new MockHttpServletRequest("GET", "/api/timetable/changes"), feed, (r, s) -> { });
+            assertEquals(1.0, registry.get("timetable.admission.active").tag("class", "timetable-writes").gauge().value());
+        };
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/timetable"), new MockHttpServletResponse(), running);
+
+        // Assert
+        assertEquals(429, write.getStatus());
+        assertEquals("1", write.getHeader("Retry-After"));
+        assertTrue(write.getContentAsString().contains("the timetable-writes queue is full"));
+        assertEquals(200, read.getStatus());
+        assertEquals(200, feed.getStatus());
+        assertEquals(1.0, registry.get("timetable.admission.rejected")
+                .tags("class", "timetable-writes", "reason", "queue_full").counter().count());
+        assertEquals(0.0, registry.get("timetable.admission.active").tag("class", "timetable-writes").gauge().value());
+    }
+
+    @Test
+    void testTeacherEndpointsHaveTheirOwnBudget() throws Exception {
+        // Arrange
+        MockHttpServletResponse teacher = new MockHttpServletResponse();
+        FilterChain running = (request, response) ->
+                filter.doFilter(new MockHttpServletRequest("POST", "/api/teachers"), teacher, (r, s) -> { });
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("DELETE", "/api/timetable/7"), new MockHttpServletResponse(), running);
+
+        // Assert
+        assertEquals(200, teacher.getStatus());
+    }
+
+    @Test
+    void testPreflightIsNotQueuedBehindWrites() throws Exception {
+        // Arrange: a browser read with If-None-Match is preflighted while the write budget is used up
+        MockHttpServletResponse preflight = new MockHttpServletResponse();
+        FilterChain running = (request, response) -> {
+            MockHttpServletRequest options = new MockHttpServletRequest("OPTIONS", "/api/timetable/grade/7/section/A");
+            options.addHeader("Origin", "https://school.example");
+            options.addHeader("Access-Control-Request-Method", "GET");
+            options.addHeader("Access-Control-Request-Headers", "if-none-match");
+            filter.doFilter(options, preflight, (r, s) -> { });
+        };
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/timetable"), new MockHttpServletResponse(), running);
+
+        // Assert
+        assertEquals(200, preflight.getStatus());
+        assertTrue(registry.find("timetable.admission.rejected").counters().isEmpty());
+    }
+
+    @Test
+    void testStreamedExportHoldsReadSlotUntilComplete() throws Exception {
+        // Arrange: the export starts async processing and keeps streaming after the filter returns
+        MockHttpServletRequest export = new MockHttpServletRequest("GET", "/api/timetable/export");
+        export.setAsyncSupported(true);
+        filter.doFilter(export, new MockHttpServletResponse(), (request, response) -> request.startAsync());
+        MockHttpServletResponse whileStreaming = new MockHttpServletResponse();
+        MockHttpServletResponse afterStreaming = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/timetable/1"), whileStreaming, (r, s) -> { });
+        ((MockAsyncContext) export.getAsyncContext()).complete();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/timetable/1"), afterStreaming, (r, s) -> { });
+
+        // Assert
+        assertEquals(429, whileStreaming.getStatus());
+        assertEquals(200, afterStreaming.getStatus());
+        assertEquals(0.0, registry.get("timetable.admission.active").tag("class", "timetable-reads").gauge().value());
+    }
+}
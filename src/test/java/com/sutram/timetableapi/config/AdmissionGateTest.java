@@ -0,0 +1,57 @@
+package com.sutram.timetableapi.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionGateTest {
+
+    @Test
+    void testQueueFullIsRefusedAtOnce() {
+        // Arrange
+        AdmissionGate gate = new AdmissionGate("writes", 1, 0, 10_000);
+        assertEquals(AdmissionGate.Outcome.ADMITTED, gate.acquire());
+
+        // Act
+        long started = System.nanoTime();
+        AdmissionGate.Outcome outcome = gate.acquire();
+
+        // Assert
+        assertEquals(AdmissionGate.Outcome.QUEUE_FULL, outcome);
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started) < 1000);
+        assertEquals(1, gate.active());
+        assertEquals(0, gate.queueDepth());
+    }
+
+    @Test
+    void testQueuedRequestTimesOut() {
+        // Arrange
+        AdmissionGate gate = new AdmissionGate("writes", 1, 1, 50);
+        gate.acquire();
+
+        // Act & Assert
+        assertEquals(AdmissionGate.Outcome.TIMED_OUT, gate.acquire());
+        assertEquals(0, gate.queueDepth());
+    }
+
+    @Test
+    void testQueuedRequestIsAdmittedOnRelease() throws Exception {
+        // Arrange
+        AdmissionGate gate = new AdmissionGate("writes", 1, 1, 10_000);
+        gate.acquire();
+        CompletableFuture<AdmissionGate.Outcome> waiter = CompletableFuture.supplyAsync(gate::acquire);
+        while (gate.queueDepth() == 0) {
+            Thread.onSpinWait();
+        }
+
+        // Act
+        gate.release();
+
+        // Assert
+        assertEquals(AdmissionGate.Outcome.ADMITTED, waiter.get(5, TimeUnit.SECONDS));
+        assertEquals(1, gate.active());
+    }
+}
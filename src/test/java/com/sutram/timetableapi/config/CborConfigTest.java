@@ -0,0 +1,60 @@
+package com.sutram.timetableapi.config;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sutram.timetableapi.dto.ApiResponse;
+import com.sutram.timetableapi.dto.TimetableEntryView;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CborConfigTest {
+
+    private final ObjectMapper cbor = CborConfig.cborObjectMapper(Jackson2ObjectMapperBuilder.cbor());
+
+    private final ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    void testRoundTripMatchesJson() throws Exception {
+        // Arrange
+        ApiResponse<List<TimetableEntryView>> response = ApiResponse.success("Grade timetable retrieved successfully", week());
+
+        // Act
+        byte[] bytes = cbor.writeValueAsBytes(response);
+        ApiResponse<List<TimetableEntryView>> decoded = cbor.readValue(bytes, new TypeReference<>() { });
+
+        // Assert
+        assertEquals(response, decoded);
+        assertEquals(json.readTree(json.writeValueAsBytes(response)), cbor.readTree(bytes));
+    }
+
+    @Test
+    void testRepeatedStringsAreWrittenOnce() throws Exception {
+        // Arrange
+        ApiResponse<List<TimetableEntryView>> response = ApiResponse.success("Grade timetable retrieved successfully", week());
+        ObjectMapper plainCbor = Jackson2ObjectMapperBuilder.cbor().build();
+
+        // Act
+        int withReferences = cbor.writeValueAsBytes(response).length;
+        int withoutReferences = plainCbor.writeValueAsBytes(response).length;
+        int jsonSize = json.writeValueAsBytes(response).length;
+
+        // Assert: 48 rows share one teacher, 6 days and 2 subjects
+        assertTrue(withReferences < withoutReferences / 2, withReferences + " vs " + withoutReferences);
+        assertTrue(withReferences < jsonSize / 2, withReferences + " vs " + jsonSize);
+    }
+
+    private static List<TimetableEntryView> week() {
+        String[] days = {"Monday", "Tuesday", "Wednesday", "Thursday", "Friday", "Saturday"};
+        List<TimetableEntryView> entries = new ArrayList<>();
+        for (int slot = 0; slot < 48; slot++) {
+            entries.add(new TimetableEntryView(slot + 1L, 1L, "Bijay Panda", "bijayaprasana.job@gmail.com",
+                    7, "A", slot % 2 == 0 ? "Mathematics" : "English", days[slot / 8], slot % 8 + 1));
+        }
+        return entries;
+    }
+}
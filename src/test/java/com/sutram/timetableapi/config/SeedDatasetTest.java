@@ -0,0 +1,107 @@
+package com.sutram.timetableapi.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeedDatasetTest {
+
+    private final SeedDataset.Settings settings = new SeedDataset.Settings(3, 12, 4, 0, 40, 42L);
+
+    @Test
+    void testDatasetIsConflictFreeAndComplete() {
+        // Act
+        List<String> rows = new ArrayList<>();
+        int unplaced = generate(settings, rows);
+
+        // Assert: every section gets all 40 periods, no slot or teacher is double-booked
+        Set<String> sectionSlots = new HashSet<>();
+        Set<String> teacherSlots = new HashSet<>();
+        Map<String, Integer> teacherLoads = new HashMap<>();
+        int entries = 0;
+        for (String row : rows) {
+            String[] fields = row.split("\\|");
+            if (!fields[0].equals("entry")) {
+                continue;
+            }
+            entries++;
+            assertTrue(Integer.parseInt(fields[3]) <= 12);
+            assertTrue(sectionSlots.add(fields[3] + "-" + fields[4] + "@" + fields[6]));
+            assertTrue(teacherSlots.add(fields[2] + "@" + fields[6]));
+            teacherLoads.merge(fields[2], 1, Integer::sum);
+        }
+        assertEquals(0, unplaced);
+        assertEquals(3 * 12 * 4 * 40, entries);
+        assertTrue(teacherLoads.values().stream().allMatch(load -> load <= SeedDataset.MAX_TEACHER_PERIODS));
+        // The third school has sections I to L
+        assertTrue(sectionSlots.stream().anyMatch(slot -> slot.startsWith("12-L@")));
+        assertFalse(sectionSlots.stream().anyMatch(slot -> slot.startsWith("1-M@")));
+    }
+
+    @Test
+    void testUnplacedPeriodsAreCounted() {
+        // Act: one teacher per subject cannot cover 48 sections
+        List<String> rows = new ArrayList<>();
+        int unplaced = generate(new SeedDataset.Settings(1, 12, 4, 7, 40, 42L), rows);
+
+        // Assert
+        long entries = rows.stream().filter(row -> row.startsWith("entry|")).count();
+        assertTrue(unplaced > 0);
+        assertEquals(12 * 4 * 40, entries + unplaced);
+    }
+
+    @Test
+    void testSameSeedGivesSameDataset() {
+        // Act
+        List<String> first = generate(settings);
+        List<String> second = generate(settings);
+        List<String> otherSeed = generate(new SeedDataset.Settings(3, 12, 4, 0, 40, 7L));
+
+        // Assert
+        assertEquals(first, second);
+        assertNotEquals(first, otherSeed);
+    }
+
+    @Test
+    void testRejectsMoreSectionsThanLetters() {
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> generate(new SeedDataset.Settings(7, 12, 4, 0, 40, 42L)));
+        assertEquals("Schools x sections per grade must be at most 26, one section letter each", exception.getMessage());
+    }
+
+    @Test
+    void testRejectsGradesPastTwelve() {
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> generate(new SeedDataset.Settings(1, 13, 4, 0, 40, 42L)));
+        assertEquals("Grades per school must be at most 12", exception.getMessage());
+    }
+
+    private static List<String> generate(SeedDataset.Settings settings) {
+        List<String> rows = new ArrayList<>();
+        generate(settings, rows);
+        return rows;
+    }
+
+    private static int generate(SeedDataset.Settings settings, List<String> rows) {
+        return SeedDataset.generate(settings, new SeedDataset.Sink() {
+            @Override
+            public void teacher(long id, String name, String email) {
+                rows.add("teacher|" + id + "|" + name + "|" + email);
+            }
+
+            @Override
+            public void entry(long id, long teacherId, int grade, String section, String subject, int weekSlot) {
+                rows.add("entry|" + id + "|" + teacherId + "|" + grade + "|" + section + "|" + subject + "|" + weekSlot);
+            }
+        });
+    }
+}
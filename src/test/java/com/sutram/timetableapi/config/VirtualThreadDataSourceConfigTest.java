@@ -0,0 +1,47 @@
+package com.sutram.timetableapi.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualThreadDataSourceConfigTest {
+
+    private final BeanPostProcessor limits = VirtualThreadDataSourceConfig.hikariPoolLimits(32, 5000);
+
+    @Test
+    void testBoundedPoolIsAccepted() {
+        // Arrange
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setMaximumPoolSize(16);
+        dataSource.setConnectionTimeout(2000);
+
+        // Act & Assert
+        assertSame(dataSource, limits.postProcessAfterInitialization(dataSource, "dataSource"));
+    }
+
+    @Test
+    void testOversizedPoolIsRejected() {
+        // Arrange
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setMaximumPoolSize(200);
+
+        // Act & Assert
+        Exception exception = assertThrows(IllegalStateException.class,
+                () -> limits.postProcessAfterInitialization(dataSource, "dataSource"));
+        assertEquals("spring.datasource.hikari.maximum-pool-size is 200 but must be at most 32 when virtual threads are enabled",
+                exception.getMessage());
+    }
+
+    @Test
+    void testLongConnectionTimeoutIsRejected() {
+        // Arrange
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setMaximumPoolSize(16);
+        dataSource.setConnectionTimeout(30000);
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> limits.postProcessAfterInitialization(dataSource, "dataSource"));
+    }
+}
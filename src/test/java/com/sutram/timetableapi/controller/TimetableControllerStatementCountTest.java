@@ -0,0 +1,156 @@
+package com.sutram.timetableapi.controller;
+
+import com.sutram.timetableapi.model.Teacher;
+import com.sutram.timetableapi.repository.TeacherRepository;
+import com.sutram.timetableapi.repository.TimetableRepository;
+import com.sutram.timetableapi.service.TimetableReadCache;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Every read endpoint must load entries and their teachers in a single SQL statement
+@SpringBootTest
+@AutoConfigureMockMvc
+class TimetableControllerStatementCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private TimetableRepository timetableRepository;
+
+    @Autowired
+    private TimetableReadCache timetableReadCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+
+    private Long teacherId;
+
+    private Long entryId;
+
+    @BeforeEach
+    void setUp() {
+        // Sample data from DataLoader: three entries, each with a different teacher
+        Teacher teacher = teacherRepository.findAll().stream()
+                .filter(t -> t.getEmail().equals("bijayaprasana.job@gmail.com"))
+                .findFirst()
+                .orElseThrow();
+        teacherId = teacher.getId();
+        entryId = timetableRepository.findByTeacherId(teacherId).get(0).getId();
+
+        timetableReadCache.invalidateAll();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @Test
+    void testGetAllTimetableEntries() throws Exception {
+        mockMvc.perform(get("/api/timetable"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(3))
+                .andExpect(jsonPath("$.data[0].teacher.name").exists());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testGetTimetableEntryById() throws Exception {
+        mockMvc.perform(get("/api/timetable/" + entryId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.teacher.email").value("bijayaprasana.job@gmail.com"));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testGetTimetableByTeacher() throws Exception {
+        mockMvc.perform(get("/api/timetable/teacher/" + teacherId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].subject").value("Mathematics"));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testGetTimetableByGradeAndSection() throws Exception {
+        mockMvc.perform(get("/api/timetable/grade/6/section/A"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].teacher.name").value("Jiwanshu Kumar"));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testCachedSectionReadSkipsDatabase() throws Exception {
+        mockMvc.perform(get("/api/timetable/grade/6/section/A")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/timetable/grade/6/section/A"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].teacher.name").value("Jiwanshu Kumar"));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testUnchangedSectionAnswersNotModified() throws Exception {
+        String etag = mockMvc.perform(get("/api/timetable/grade/6/section/A"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+        timetableReadCache.invalidateAll();
+        statistics.clear();
+
+        mockMvc.perform(get("/api/timetable/grade/6/section/A").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testStatementsPerRequestAreRecorded() throws Exception {
+        mockMvc.perform(get("/api/timetable/teacher/" + teacherId)).andExpect(status().isOk());
+
+        DistributionSummary statements = meterRegistry.get("timetable.request.statements")
+                .tags("method", "GET", "uri", "/api/timetable/teacher/{teacherId}")
+                .summary();
+        assertTrue(statements.count() >= 1);
+        assertEquals(1, statements.max());
+    }
+
+    @Test
+    void testGetTimetablePage() throws Exception {
+        mockMvc.perform(get("/api/timetable?limit=2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items.length()").value(2))
+                .andExpect(jsonPath("$.data.nextCursor").exists());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
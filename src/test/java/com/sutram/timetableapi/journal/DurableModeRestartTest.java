@@ -0,0 +1,120 @@
+package com.sutram.timetableapi.journal;
+
+import com.sutram.timetableapi.TimetableApplication;
+import com.sutram.timetableapi.controller.TeacherController;
+import com.sutram.timetableapi.dto.BatchImportMode;
+import com.sutram.timetableapi.dto.TimetableEntryView;
+import com.sutram.timetableapi.dto.TimetableRequest;
+import com.sutram.timetableapi.model.Teacher;
+import com.sutram.timetableapi.repository.TeacherRepository;
+import com.sutram.timetableapi.repository.TimetableRepository;
+import com.sutram.timetableapi.service.TimetableService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Writes through the service in durable mode, stops the application and starts it again on an empty
+// database: whatever the first run had committed when it stopped must be what the second run restores.
+class DurableModeRestartTest {
+
+    private static final String[] DAYS = {"Monday", "Tuesday", "Wednesday", "Thursday", "Friday", "Saturday"};
+
+    private static final int THREADS = 8;
+
+    private static final int UPDATES_PER_THREAD = 25;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testRestartRestoresCommittedState() throws Exception {
+        // Arrange: two teachers, a 40-period import, racing updates of one entry, a bulk and a single delete
+        Set<TimetableEntryView> committedEntries;
+        Set<Teacher> committedTeachers;
+        try (ConfigurableApplicationContext first = start("durablerestart1")) {
+            TeacherController teachers = first.getBean(TeacherController.class);
+            TimetableService service = first.getBean(TimetableService.class);
+            Long maths = teachers.createTeacher(new Teacher(null, "Durable Maths", "maths@durable.example")).getBody().getData().getId();
+            Long english = teachers.createTeacher(new Teacher(null, "Durable English", "english@durable.example")).getBody().getData().getId();
+
+            List<TimetableRequest> requests = new ArrayList<>();
+            for (int slot = 0; slot < 40; slot++) {
+                requests.add(request(slot % 2 == 0 ? maths : english, "Subject", DAYS[slot / 8], slot % 8 + 1));
+            }
+            service.importTimetableEntries(requests, BatchImportMode.ALL_OR_NOTHING);
+            TimetableEntryView raced = first.getBean(TimetableRepository.class).findViewsByGradeAndSection(7, "D").get(0);
+
+            ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+            CountDownLatch go = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                int writer = thread;
+                futures.add(executor.submit(() -> {
+                    go.await();
+                    for (int update = 0; update < UPDATES_PER_THREAD; update++) {
+                        service.updateTimetableEntry(raced.id(), request(raced.teacher().id(),
+                                "Subject " + writer + "-" + update, raced.classDay(), raced.period()));
+                    }
+                    return null;
+                }));
+            }
+            go.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            executor.shutdown();
+
+            service.deleteDayEntries("Friday");
+            service.deleteTimetableEntry(first.getBean(TimetableRepository.class).findViewsByGradeAndSection(7, "D").get(1).id());
+
+            committedEntries = Set.copyOf(first.getBean(TimetableRepository.class).findAllViews());
+            committedTeachers = Set.copyOf(first.getBean(TeacherRepository.class).findAll());
+        }
+
+        // Act
+        Set<TimetableEntryView> restoredEntries;
+        Set<Teacher> restoredTeachers;
+        try (ConfigurableApplicationContext second = start("durablerestart2")) {
+            restoredEntries = Set.copyOf(second.getBean(TimetableRepository.class).findAllViews());
+            restoredTeachers = Set.copyOf(second.getBean(TeacherRepository.class).findAll());
+        }
+
+        // Assert
+        assertEquals(40 - 8 - 1, committedEntries.size());
+        assertEquals(committedEntries, restoredEntries);
+        assertEquals(committedTeachers, restoredTeachers);
+    }
+
+    // Each run gets its own in-memory database, so the second one starts empty
+    private ConfigurableApplicationContext start(String database) {
+        return new SpringApplicationBuilder(TimetableApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:" + database,
+                "--spring.jpa.show-sql=false",
+                "--timetable.durability.enabled=true",
+                "--timetable.durability.directory=" + directory);
+    }
+
+    private static TimetableRequest request(Long teacherId, String subject, String classDay, Integer period) {
+        TimetableRequest request = new TimetableRequest();
+        request.setTeacherId(teacherId);
+        request.setGrade(7);
+        request.setSection("D");
+        request.setSubject(subject);
+        request.setClassDay(classDay);
+        request.setPeriod(period);
+        return request;
+    }
+}
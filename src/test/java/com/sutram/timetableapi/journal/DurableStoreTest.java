@@ -0,0 +1,122 @@
+package com.sutram.timetableapi.journal;
+
+import com.sutram.timetableapi.dto.TimetableEntryView;
+import com.sutram.timetableapi.event.TimetableChangeEvent;
+import com.sutram.timetableapi.event.TimetableCommitEvent;
+import com.sutram.timetableapi.journal.JournalRecord.EntryPut;
+import com.sutram.timetableapi.repository.TeacherRepository;
+import com.sutram.timetableapi.repository.TimetableRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DurableStoreTest {
+
+    private static final String[] DAYS = {"Monday", "Tuesday", "Wednesday", "Thursday", "Friday", "Saturday"};
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TeacherRepository teacherRepository;
+
+    @Mock
+    private TimetableRepository timetableRepository;
+
+    @InjectMocks
+    private DurableStore durableStore;
+
+    private TimetableJournal journal;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(durableStore, "directory", directory.toString());
+        durableStore.afterSingletonsInstantiated();
+        journal = (TimetableJournal) ReflectionTestUtils.getField(durableStore, "journal");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        durableStore.shutdown();
+    }
+
+    @Test
+    void testBatchImportIsForcedOnce() {
+        // Arrange: a 20,000-row import, one teacher per week of slots
+        Map<Long, TimetableEntryView> rows = new HashMap<>();
+        List<TimetableChangeEvent> changes = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            TimetableEntryView row = view(i + 1, i / 48 + 1, DAYS[i % 48 / 8], i % 8 + 1);
+            rows.put(row.id(), row);
+            changes.add(TimetableChangeEvent.created(row));
+        }
+        when(timetableRepository.findViewsByIdIn(any())).thenAnswer(invocation ->
+                invocation.<List<Long>>getArgument(0).stream().map(rows::get).toList());
+        long forcesBefore = journal.forces();
+
+        // Act
+        durableStore.onTimetableCommit(new TimetableCommitEvent(changes));
+
+        // Assert
+        assertEquals(1, journal.forces() - forcesBefore);
+        assertEquals(20_000, journal.recordsSinceSnapshot());
+        assertEquals(20_000, journal.state().entries().size());
+        verify(timetableRepository, times(20)).findViewsByIdIn(any());
+    }
+
+    @Test
+    void testEventsJournaledOutOfCommitOrderEndOnTheCommittedRow() {
+        // Arrange: entry 1 was moved to period 2, then to period 3, which is what the database holds
+        TimetableEntryView period1 = view(1, 1, "Monday", 1);
+        TimetableEntryView period2 = view(1, 1, "Monday", 2);
+        TimetableEntryView period3 = view(1, 1, "Monday", 3);
+        when(timetableRepository.findViewsByIdIn(List.of(1L))).thenReturn(List.of(period3));
+
+        // Act: the later update reaches the journal first
+        durableStore.onTimetableCommit(new TimetableCommitEvent(List.of(TimetableChangeEvent.updated(period2, period3))));
+        durableStore.onTimetableCommit(new TimetableCommitEvent(List.of(TimetableChangeEvent.updated(period1, period2))));
+
+        // Assert
+        assertEquals(List.of(EntryPut.of(period3)), List.copyOf(journal.state().entries()));
+    }
+
+    @Test
+    void testCreateJournaledAfterItsDeleteStaysDeleted() {
+        // Arrange: the entry was deleted before its create was journaled
+        TimetableEntryView created = view(1, 1, "Monday", 1);
+        when(timetableRepository.findViewsByIdIn(List.of(1L))).thenReturn(List.of());
+
+        // Act
+        durableStore.onTimetableCommit(new TimetableCommitEvent(List.of(TimetableChangeEvent.deleted(created))));
+        durableStore.onTimetableCommit(new TimetableCommitEvent(List.of(TimetableChangeEvent.created(created))));
+
+        // Assert
+        assertTrue(journal.state().entries().isEmpty());
+    }
+
+    private static TimetableEntryView view(long id, long teacherId, String classDay, int period) {
+        return new TimetableEntryView(id, teacherId, "Teacher " + teacherId, "teacher" + teacherId + "@sutramsolutions.com",
+                (int) (id % 12) + 1, "A", "Mathematics", classDay, period);
+    }
+}
@@ -0,0 +1,159 @@
+package com.sutram.timetableapi.journal;
+
+import com.sutram.timetableapi.journal.JournalRecord.EntryDelete;
+import com.sutram.timetableapi.journal.JournalRecord.EntryPut;
+import com.sutram.timetableapi.journal.JournalRecord.TeacherDelete;
+import com.sutram.timetableapi.journal.JournalRecord.TeacherPut;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimetableJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testSnapshotPlusJournalRestoresState() throws Exception {
+        // Arrange
+        try (TimetableJournal journal = TimetableJournal.open(directory, true)) {
+            journal.append(new TeacherPut(1L, "Bijay Panda", "bijayaprasana.job@gmail.com"));
+            journal.append(new TeacherPut(2L, "Jiwanshu Kumar", "javajiwanshu@sutramsolutions.com"));
+            journal.append(new EntryPut(1L, 1L, 7, "A", "Mathematics", 0, 1));
+            journal.append(new EntryPut(2L, 2L, 6, "A", "English", 0, 2));
+            journal.snapshot();
+            journal.append(new EntryPut(1L, 1L, 7, "A", "Mathematics", 2, 4));
+            journal.append(new EntryDelete(2L));
+            journal.append(new TeacherPut(2L, "Jiwanshu K", "javajiwanshu@sutramsolutions.com"));
+        }
+
+        // Act
+        JournalState state;
+        int replayed;
+        try (TimetableJournal journal = TimetableJournal.open(directory, true)) {
+            state = journal.state();
+            replayed = journal.recordsSinceSnapshot();
+        }
+
+        // Assert: only the records after the snapshot are replayed
+        assertEquals(3, replayed);
+        assertEquals(List.of(new EntryPut(1L, 1L, 7, "A", "Mathematics", 2, 4)), List.copyOf(state.entries()));
+        assertEquals(Set.of(new TeacherPut(1L, "Bijay Panda", "bijayaprasana.job@gmail.com"),
+                new TeacherPut(2L, "Jiwanshu K", "javajiwanshu@sutramsolutions.com")), Set.copyOf(state.teachers()));
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(2, files.count());
+        }
+    }
+
+    @Test
+    void testTornRecordIsCutOff() throws Exception {
+        // Arrange: a crash in the middle of writing the last record leaves half a frame behind
+        try (TimetableJournal journal = TimetableJournal.open(directory, true)) {
+            journal.append(new TeacherPut(1L, "Bijay Panda", "bijayaprasana.job@gmail.com"));
+            journal.append(new EntryPut(1L, 1L, 7, "A", "Mathematics", 0, 1));
+        }
+        Path log = journalFile();
+        ByteBuffer torn = JournalCodec.frame(new EntryPut(2L, 1L, 7, "A", "Mathematics", 0, 2));
+        torn.limit(torn.capacity() - 3);
+        try (FileChannel channel = FileChannel.open(log, StandardOpenOption.APPEND)) {
+            channel.write(torn);
+        }
+
+        // Act: recover, then keep writing after the cut
+        try (TimetableJournal journal = TimetableJournal.open(directory, true)) {
+            assertEquals(1, journal.state().entries().size());
+            journal.append(new EntryPut(3L, 1L, 7, "A", "Mathematics", 0, 3));
+        }
+
+        // Assert
+        try (TimetableJournal journal = TimetableJournal.open(directory, true)) {
+            Set<Long> ids = journal.state().entries().stream().map(EntryPut::id).collect(Collectors.toSet());
+            assertEquals(Set.of(1L, 3L), ids);
+        }
+    }
+
+    @Test
+    void testTeacherDeleteDropsTheirEntries() {
+        // Arrange
+        JournalState state = new JournalState();
+        state.apply(new TeacherPut(1L, "Bijay Panda", "bijayaprasana.job@gmail.com"));
+        state.apply(new EntryPut(1L, 1L, 7, "A", "Mathematics", 0, 1));
+
+        // Act
+        state.apply(new TeacherDelete(1L));
+
+        // Assert
+        assertTrue(state.teachers().isEmpty());
+        assertTrue(state.entries().isEmpty());
+    }
+
+    @Test
+    void testKilledProcessLosesNoAcknowledgedWrite() throws Exception {
+        // Arrange: a separate JVM appends records, printing each id once append() has returned
+        String java = ProcessHandle.current().info().command().orElse("java");
+        Process writer = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                JournalWriter.class.getName(), directory.toString())
+                .redirectErrorStream(true)
+                .start();
+        long lastAcknowledged = 0;
+        try (BufferedReader acks = new BufferedReader(new InputStreamReader(writer.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while (lastAcknowledged < 500 && (line = acks.readLine()) != null) {
+                lastAcknowledged = Long.parseLong(line.trim());
+            }
+
+
+            // Act: kill it while it is still writing, with no chance to close the journal
+            writer.destroyForcibly();
+            assertTrue(writer.waitFor(30, TimeUnit.SECONDS));
+        }
+
+        // Assert
+        assertTrue(lastAcknowledged >= 500);
+        try (TimetableJournal journal = TimetableJournal.open(directory, true)) {
+            Set<Long> ids = journal.state().entries().stream().map(EntryPut::id).collect(Collectors.toSet());
+            for (long id = 1; id <= lastAcknowledged; id++) {
+                assertTrue(ids.contains(id), "Acknowledged entry " + id + " was lost");
+            }
+        }
+    }
+
+    private Path journalFile() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith("journal-")).findFirst().orElseThrow();
+        }
+    }
+
+    // Child process for the crash test; snapshots now and then so recovery crosses generations
+    static class JournalWriter {
+
+        public static void main(String[] args) throws Exception {
+            try (TimetableJournal journal = TimetableJournal.open(Path.of(args[0]), true)) {
+                journal.append(new TeacherPut(1L, "Bijay Panda", "bijayaprasana.job@gmail.com"));
+                for (long id = 1; id <= 1_000_000; id++) {
+                    journal.append(new EntryPut(id, 1L, 7, "A", "Mathematics", (int) (id % 6), (int) (id % 8) + 1));
+                    System.out.println(id);
+                    System.out.flush();
+                    if (id % 150 == 0) {
+                        journal.snapshot();
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.sutram.timetableapi.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlotKeysTest {
+
+    @Test
+    void testSectionWeekIsOneContiguousRange() {
+        int first = SlotKeys.firstSectionSlotKey(7, "B");
+
+        assertEquals(first, SlotKeys.slotKey(7, "B", "Monday", 1));
+        assertEquals(first + SlotKeys.SLOTS_PER_WEEK - 1, SlotKeys.slotKey(7, "B", "Saturday", 8));
+        assertEquals(first - 1, SlotKeys.slotKey(7, "A", "Saturday", 8));
+        assertEquals(first + SlotKeys.SLOTS_PER_WEEK, SlotKeys.slotKey(7, "C", "Monday", 1));
+    }
+
+    @Test
+    void testTeacherSlotKeys() {
+        assertEquals(3L * 48, SlotKeys.teacherSlotKey(3L, "Monday", 1));
+        assertEquals(3L * 48 + 47, SlotKeys.teacherSlotKey(3L, "Saturday", 8));
+    }
+
+    @Test
+    void testInvalidPartsHaveNoKey() {
+        assertNull(SlotKeys.slotKey(7, "a", "Monday", 1));
+        assertNull(SlotKeys.slotKey(7, "AB", "Monday", 1));
+        assertNull(SlotKeys.slotKey(0, "A", "Monday", 1));
+        assertNull(SlotKeys.slotKey(7, "A", "Sunday", 1));
+        assertNull(SlotKeys.slotKey(7, "A", "Monday", 9));
+        assertNull(SlotKeys.teacherSlotKey(null, "Monday", 1));
+        assertEquals(-1, SlotKeys.firstSectionSlotKey(7, "a"));
+    }
+
+    @Test
+    void testEntryDerivesItsKeys() {
+        TimetableEntry entry = new TimetableEntry(1L, new Teacher(2L, "Jiwanshu Kumar", "javajiwanshu@sutramsolutions.com"),
+                6, "A", "English", "Tuesday", 2);
+        entry.setPeriod(3);
+
+        entry.updateSlotKeys();
+
+        assertEquals(SlotKeys.slotKey(6, "A", "Tuesday", 3), entry.getSlotKey());
+        assertEquals(SlotKeys.teacherSlotKey(2L, "Tuesday", 3), entry.getTeacherSlotKey());
+    }
+
+    @Test
+    void testClassDayConverterRoundTrips() {
+        ClassDayConverter converter = new ClassDayConverter();
+
+        assertEquals((short) 5, converter.convertToDatabaseColumn("Saturday"));
+        assertEquals("Monday", converter.convertToEntityAttribute((short) 0));
+        assertNull(converter.convertToDatabaseColumn("monday"));
+    }
+}
@@ -0,0 +1,175 @@
+package com.sutram.timetableapi.service;
+
+import com.sutram.timetableapi.dto.ChangeFeedEvent;
+import com.sutram.timetableapi.dto.TimetableEntryView;
+import com.sutram.timetableapi.event.TimetableChangeEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChangeFeedTest {
+
+    // Small history and buffers so overflow is easy to reach; heartbeats effectively off
+    private final ChangeFeed changeFeed = new ChangeFeed(3, 2, 2, 3_600_000, 60_000);
+
+    @AfterEach
+    void tearDown() {
+        changeFeed.shutdown();
+    }
+
+    @Test
+    void testSubscriberOnlyReceivesMatchingChanges() throws Exception {
+        // Arrange
+        RecordingSink sink = new RecordingSink();
+        changeFeed.subscribe(new ChangeFeed.Filter(null, 7, "A"), null, sink);
+
+        // Act
+        changeFeed.onTimetableChange(TimetableChangeEvent.created(view(1L, 1L, 6, "B")));
+        changeFeed.onTimetableChange(TimetableChangeEvent.created(view(2L, 2L, 7, "A")));
+
+        // Assert
+        ChangeFeed.FeedMessage message = sink.next();
+        assertEquals("created", message.name());
+        assertEquals(2L, message.id());
+        assertEquals(2L, ((ChangeFeedEvent) message.data()).after().id());
+        assertNull(sink.poll());
+    }
+
+    @Test
+    void testResumeReplaysChangesAfterToken() throws Exception {
+        // Arrange
+        changeFeed.onTimetableChange(TimetableChangeEvent.created(view(1L, 1L, 7, "A")));
+        changeFeed.onTimetableChange(TimetableChangeEvent.created(view(2L, 1L, 7, "A")));
+        changeFeed.onTimetableChange(TimetableChangeEvent.deleted(view(1L, 1L, 7, "A")));
+        RecordingSink sink = new RecordingSink();
+
+        // Act
+        changeFeed.subscribe(new ChangeFeed.Filter(1L, null, null), 1L, sink);
+
+        // Assert
+        assertEquals(2L, sink.next().id());
+        ChangeFeed.FeedMessage deleted = sink.next();
+        assertEquals("deleted", deleted.name());
+        assertEquals(3L, deleted.id());
+    }
+
+    @Test
+    void testResumeBeyondHistoryAsksForReset() throws Exception {
+        // Arrange: the history keeps the last 3 of 5 changes
+        for (long id = 1; id <= 5; id++) {
+            changeFeed.onTimetableChange(TimetableChangeEvent.created(view(id, 1L, 7, "A")));
+        }
+        RecordingSink sink = new RecordingSink();
+
+        // Act
+        changeFeed.subscribe(new ChangeFeed.Filter(null, null, null), 1L, sink);
+
+        // Assert
+        ChangeFeed.FeedMessage reset = sink.next();
+        assertEquals(ChangeFeed.RESET, reset.name());
+        assertEquals(5L, reset.id());
+        assertNull(sink.poll());
+    }
+
+    @Test
+    void testResumeAheadOfFeedAsksForReset() throws Exception {
+        // Arrange: the client saw sequence 40 before a restart; this run has sent 2 changes
+        changeFeed.onTimetableChange(TimetableChangeEvent.created(view(1L, 1L, 7, "A")));
+        changeFeed.onTimetableChange(TimetableChangeEvent.created(view(2L, 1L, 7, "A")));
+        RecordingSink sink = new RecordingSink();
+
+        // Act
+        changeFeed.subscribe(new ChangeFeed.Filter(null, null, null), 40L, sink);
+        changeFeed.onTimetableChange(TimetableChangeEvent.created(view(3L, 1L, 7, "A")));
+
+        // Assert: a reset at the current sequence, then live changes as usual
+        ChangeFeed.FeedMessage reset = sink.next();
+        assertEquals(ChangeFeed.RESET, reset.name());
+        assertEquals(2L, reset.id());
+        assertEquals(3L, sink.next().id());
+        assertNull(sink.poll());
+    }
+
+    @Test
+    void testSlowSubscriberIsResetAndDisconnected() throws Exception {
+        // Arrange: the first send blocks until released, so later changes pile up in the buffer
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingSink sink = new RecordingSink() {
+            @Override
+            public void send(ChangeFeed.FeedMessage message) throws java.io.IOException {
+                super.send(message);
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        changeFeed.subscribe(new ChangeFeed.Filter(null, null, null), null, sink);
+        changeFeed.onTimetableChange(TimetableChangeEvent.created(view(1L, 1L, 7, "A")));
+        assertEquals(1L, sink.next().id());
+
+        // Act
+        for (long id = 2; id <= 5; id++) {
+            changeFeed.onTimetableChange(TimetableChangeEvent.created(view(id, 1L, 7, "A")));
+        }
+        release.countDown();
+
+        // Assert
+        assertEquals(ChangeFeed.RESET, sink.next().name());
+        assertTrue(sink.completed.await(5, TimeUnit.SECONDS));
+        assertEquals(0, changeFeed.subscriberCount());
+    }
+
+    @Test
+    void testSubscriberLimit() throws Exception {
+        // Arrange
+        changeFeed.subscribe(new ChangeFeed.Filter(null, null, null), null, new RecordingSink());
+        changeFeed.subscribe(new ChangeFeed.Filter(null, null, null), null, new RecordingSink());
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class,
+                () -> changeFeed.subscribe(new ChangeFeed.Filter(null, null, null), null, new RecordingSink()));
+        Exception exception = assertThrows(Exception.class,
+                () -> changeFeed.subscribe(new ChangeFeed.Filter(null, null, "A"), null, new RecordingSink()));
+        assertEquals("Grade is required when filtering by section", exception.getMessage());
+    }
+
+    private static TimetableEntryView view(Long id, Long teacherId, Integer grade, String section) {
+        return new TimetableEntryView(id, teacherId, "Teacher " + teacherId, "teacher" + teacherId + "@sutramsolutions.com",
+                grade, section, "Mathematics", "Monday", id.intValue());
+    }
+
+    private static class RecordingSink implements ChangeFeed.Sink {
+
+        private final BlockingQueue<ChangeFeed.FeedMessage> sent = new LinkedBlockingQueue<>();
+
+        private final CountDownLatch completed = new CountDownLatch(1);
+
+        @Override
+        public void send(ChangeFeed.FeedMessage message) throws java.io.IOException {
+            sent.add(message);
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+
+        ChangeFeed.FeedMessage next() throws InterruptedException {
+            ChangeFeed.FeedMessage message = sent.poll(5, TimeUnit.SECONDS);
+            assertNotNull(message);
+            return message;
+        }
+
+        ChangeFeed.FeedMessage poll() throws InterruptedException {
+            return sent.poll(200, TimeUnit.MILLISECONDS);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.sutram.timetableapi.service;
+
+import com.sutram.timetableapi.dto.IntegrityReport;
+import com.sutram.timetableapi.dto.SlotCollision;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntegrityScanTest {
+
+    // Monday = 0 ... Saturday = 5, as stored in class_day
+    private static final int MONDAY = 0;
+
+    private static final int TUESDAY = 1;
+
+    @Test
+    void testFindsEveryKindOfProblem() {
+        // Arrange
+        IntegrityScan scan = new IntegrityScan(teachers(1, 2), 1000);
+        long[][] rows = {
+                // id, teacher, grade, section letter (26 for lowercase a), day, period
+                {1, 1, 7, 0, MONDAY, 1},
+                {2, 2, 7, 0, MONDAY, 1},     // section 7-A Monday 1 again
+                {3, 1, 8, 1, MONDAY, 1},     // teacher 1 Monday 1 again
+                {4, 9, 8, 1, TUESDAY, 1},    // teacher 9 does not exist
+                {5, 1, 8, 1, 6, 1},          // no seventh day
+                {6, 1, 8, 1, TUESDAY, 9},    // no ninth period
+                {7, 1, 8, 26, TUESDAY, 2},   // lowercase section
+                {8, 2, 8, 1, TUESDAY, 3},
+                {9, 2, 13, 0, TUESDAY, 4}    // no thirteenth grade
+        };
+
+        // Act
+        IntegrityReport report = run(scan, rows);
+
+        // Assert
+        assertFalse(report.isClean());
+        assertEquals(9, report.getScannedEntries());
+        assertEquals(List.of(new SlotCollision("7-A", "Monday", 1, List.of(1L, 2L))), report.getSectionCollisions());
+        assertEquals(List.of(new SlotCollision("1", "Monday", 1, List.of(1L, 3L))), report.getTeacherCollisions());
+        assertEquals(List.of(4L), report.getOrphanedEntryIds());
+        assertEquals(List.of(5L, 6L, 7L, 9L), report.getInvalidEntryIds());
+    }
+
+    @Test
+    void testCollisionsAcrossConcurrentChunks() {
+        // Arrange: 14,976 rows filling the week of every section of grades 1-12, with row 10,001
+        // repeating row 1's section slot and teacher slot
+        IntegrityScan scan = new IntegrityScan(teachers(IntStream.rangeClosed(1, 312).toArray()), 1000);
+        long[][] rows = new long[14_976][];
+        for (int i = 0; i < rows.length; i++) {
+            int section = i / 48;
+            int slot = i % 48;
+            rows[i] = new long[] {i + 1, section + 1, 1 + section / 26, section % 26, slot / 8, slot % 8 + 1};
+        }
+        rows[10_000] = new long[] {10_001, 1, 1, 0, MONDAY, 1};
+
+        // Act
+        IntegrityReport report = run(scan, rows);
+
+        // Assert
+        assertEquals(14_976, report.getScannedEntries());
+        assertEquals(1, report.getTeacherCollisionCount());
+        assertEquals(List.of(1L, 10_001L), report.getTeacherCollisions().get(0).getEntryIds());
+        assertEquals(List.of(new SlotCollision("1-A", "Monday", 1, List.of(1L, 10_001L))), report.getSectionCollisions());
+        assertTrue(report.getOrphanedEntryIds().isEmpty());
+        assertTrue(report.getInvalidEntryIds().isEmpty());
+    }
+
+    @Test
+    void testFindingsAreCapped() {
+        // Arrange
+        IntegrityScan scan = new IntegrityScan(teachers(1), 2);
+        long[][] rows = new long[5][];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = new long[] {i + 1, 1, 7, 0, MONDAY, 9};
+        }
+
+        // Act
+        IntegrityReport report = run(scan, rows);
+
+        // Assert
+        assertEquals(5, report.getInvalidEntryCount());
+        assertEquals(2, report.getInvalidEntryIds().size());
+    }
+
+    // Both passes, fed in parallel the way IntegrityAuditor feeds its chunks
+    private static IntegrityReport run(IntegrityScan scan, long[][] rows) {
+        IntStream.range(0, rows.length).parallel().forEach(i -> {
+            long[] row = rows[i];
+            scan.accept(row[0], row[1], (int) row[2], section(row[3]), (int) row[4], (int) row[5]);
+        });
+        if (scan.hasCollisions()) {
+            scan.selectReported();
+            IntStream.range(0, rows.length).parallel().forEach(i -> {
+                long[] row = rows[i];
+                scan.collect(row[0], row[1], (int) row[2], section(row[3]), (int) row[4], (int) row[5]);
+            });
+        }
+        return scan.report(1, 1, 0);
+    }
+
+    private static String section(long letter) {
+        return letter == 26 ? "a" : String.valueOf((char) ('A' + letter));
+    }
+
+    private static BitSet teachers(int... ids) {
+        BitSet bits = new BitSet();
+        for (int id : ids) {
+            bits.set(id);
+        }
+        return bits;
+    }
+}
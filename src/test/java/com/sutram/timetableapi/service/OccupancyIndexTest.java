@@ -0,0 +1,79 @@
+package com.sutram.timetableapi.service;
+
+import com.sutram.timetableapi.dto.OccupancyReport;
+import com.sutram.timetableapi.model.Teacher;
+import com.sutram.timetableapi.model.TimetableEntry;
+import com.sutram.timetableapi.repository.TimetableRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OccupancyIndexTest {
+
+    @Mock
+    private TimetableRepository timetableRepository;
+
+    @InjectMocks
+    private OccupancyIndex occupancyIndex;
+
+    private final Teacher teacher = new Teacher(1L, "Bijay Panda", "bijayaprasana.job@gmail.com");
+
+    private final TimetableEntry monday = new TimetableEntry(1L, teacher, 7, "A", "Mathematics", "Monday", 1);
+
+    private final TimetableEntry tuesday = new TimetableEntry(2L, teacher, 7, "A", "Mathematics", "Tuesday", 1);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(occupancyIndex, "enabled", true);
+    }
+
+    @Test
+    void testWriteCommittedDuringCheckIsNotReported() throws Exception {
+        // Arrange: the index holds Monday; Tuesday commits just before the check reads the table and
+        // its index update waits for the check to let go of the index
+        when(timetableRepository.findAll()).thenReturn(List.of(monday));
+        occupancyIndex.rebuild();
+        Thread pendingUpdate = new Thread(() -> occupancyIndex.add(tuesday));
+        when(timetableRepository.findAll()).thenAnswer(invocation -> {
+            if (pendingUpdate.getState() == Thread.State.NEW) {
+                pendingUpdate.start();
+            }
+            return List.of(monday, tuesday);
+        });
+
+        // Act
+        OccupancyReport report = occupancyIndex.checkConsistency();
+        pendingUpdate.join();
+
+        // Assert
+        assertTrue(report.isConsistent(), report.getMismatches().toString());
+        assertEquals(2, report.getIndexedEntries());
+    }
+
+    @Test
+    void testLastingDifferenceIsReported() {
+        // Arrange: Tuesday is in the table but never reaches the index
+        when(timetableRepository.findAll()).thenReturn(List.of(monday));
+        occupancyIndex.rebuild();
+        when(timetableRepository.findAll()).thenReturn(List.of(monday, tuesday));
+
+        // Act
+        OccupancyReport report = occupancyIndex.checkConsistency();
+
+        // Assert
+        assertFalse(report.isConsistent());
+        assertEquals(List.of("Section 7A: index=1, database=100000001", "Teacher 1: index=1, database=100000001"),
+                report.getMismatches());
+        verify(timetableRepository, times(4)).findAll();
+    }
+}
@@ -0,0 +1,97 @@
+package com.sutram.timetableapi.service;
+
+import com.sutram.timetableapi.model.Teacher;
+import com.sutram.timetableapi.model.TimetableEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OccupancyMasksTest {
+
+    private Teacher teacher1;
+    private Teacher teacher2;
+    private OccupancyMasks masks;
+
+    @BeforeEach
+    void setUp() {
+        teacher1 = new Teacher(1L, "Bijay Panda", "bijayaprasana.job@gmail.com");
+        teacher2 = new Teacher(2L, "Jiwanshu Kumar", "javajiwanshu@sutramsolutions.com");
+        masks = OccupancyMasks.of(List.of(
+                new TimetableEntry(1L, teacher1, 7, "A", "Mathematics", "Monday", 1),
+                new TimetableEntry(2L, teacher2, 6, "B", "English", "Saturday", 8)));
+    }
+
+    @Test
+    void testSlotIndex() {
+        assertEquals(0, OccupancyMasks.slotIndex("Monday", 1));
+        assertEquals(47, OccupancyMasks.slotIndex("Saturday", 8));
+        assertEquals(-1, OccupancyMasks.slotIndex("Sunday", 1));
+        assertEquals(-1, OccupancyMasks.slotIndex("Monday", 9));
+        assertEquals("Saturday", OccupancyMasks.dayOf(47));
+        assertEquals(8, OccupancyMasks.periodOf(47));
+    }
+
+    @Test
+    void testSlotTaken() {
+        long monday1 = OccupancyMasks.slotBit("Monday", 1);
+
+        assertTrue(masks.isSectionSlotTaken(7, "A", monday1, null));
+        assertFalse(masks.isSectionSlotTaken(7, "B", monday1, null));
+        assertTrue(masks.isTeacherSlotTaken(1L, monday1, null));
+        assertFalse(masks.isTeacherSlotTaken(2L, monday1, null));
+    }
+
+    @Test
+    void testSlotTakenByExcludedEntry() {
+        long monday1 = OccupancyMasks.slotBit("Monday", 1);
+
+        assertFalse(masks.isSectionSlotTaken(7, "A", monday1, 1L));
+        assertTrue(masks.isSectionSlotTaken(7, "A", monday1, 2L));
+        assertFalse(masks.isTeacherSlotTaken(1L, monday1, 1L));
+    }
+
+    @Test
+    void testMoveAndRemove() {
+        masks.add(new TimetableEntry(1L, teacher2, 7, "A", "Mathematics", "Tuesday", 3));
+
+        assertEquals(OccupancyMasks.slotBit("Tuesday", 3), masks.sectionMask(7, "A"));
+        assertEquals(0L, masks.teacherMask(1L));
+        assertEquals(OccupancyMasks.slotBit("Tuesday", 3) | OccupancyMasks.slotBit("Saturday", 8),
+                masks.teacherMask(2L));
+
+        masks.remove(1L);
+
+        assertEquals(0L, masks.sectionMask(7, "A"));
+        assertEquals(1, masks.size());
+    }
+
+    @Test
+    void testSwapKeepsTheSlotOfTheEntryMovingIn() {
+        // Arrange: entries 1 and 3 share Monday period 1 in different sections
+        masks.add(new TimetableEntry(3L, teacher2, 8, "A", "English", "Monday", 1));
+        long monday1 = OccupancyMasks.slotBit("Monday", 1);
+
+        // Act: they swap teachers, one entry at a time
+        masks.add(new TimetableEntry(1L, teacher2, 7, "A", "Mathematics", "Monday", 1));
+        masks.add(new TimetableEntry(3L, teacher1, 8, "A", "English", "Monday", 1));
+
+        // Assert
+        assertEquals(monday1, masks.teacherMask(1L));
+        assertEquals(monday1 | OccupancyMasks.slotBit("Saturday", 8), masks.teacherMask(2L));
+        assertTrue(masks.isTeacherSlotTaken(1L, monday1, null));
+        assertFalse(masks.isTeacherSlotTaken(1L, monday1, 3L));
+    }
+
+    @Test
+    void testDiff() {
+        OccupancyMasks copy = masks.copy();
+        assertTrue(masks.diff(copy).isEmpty());
+
+        copy.remove(2L);
+
+        assertEquals(2, masks.diff(copy).size());
+    }
+}
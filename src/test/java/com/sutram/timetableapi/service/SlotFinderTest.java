@@ -0,0 +1,167 @@
+package com.sutram.timetableapi.service;
+
+import com.sutram.timetableapi.dto.FreeSlotsResponse;
+import com.sutram.timetableapi.dto.SubstituteCandidate;
+import com.sutram.timetableapi.dto.SubstitutePlan;
+import com.sutram.timetableapi.dto.TimetableEntryView;
+import com.sutram.timetableapi.model.Teacher;
+import com.sutram.timetableapi.model.TimetableEntry;
+import com.sutram.timetableapi.repository.TeacherRepository;
+import com.sutram.timetableapi.repository.TimetableRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SlotFinderTest {
+
+    @Mock
+    private OccupancyIndex occupancyIndex;
+
+    @Mock
+    private TimetableRepository timetableRepository;
+
+    @Mock
+    private TeacherRepository teacherRepository;
+
+    @Mock
+    private TeacherWorkloads teacherWorkloads;
+
+    @InjectMocks
+    private SlotFinder slotFinder;
+
+    private final Teacher teacher1 = new Teacher(1L, "Bijay Panda", "bijayaprasana.job@gmail.com");
+
+    private final Teacher teacher2 = new Teacher(2L, "Jiwanshu Kumar", "javajiwanshu@sutramsolutions.com");
+
+    @Test
+    void testFreeSlotsIntersectTeachersAndSections() throws Exception {
+        // Arrange: teacher 1 busy all of Monday, teacher 2 busy Tuesday period 1, 7-B busy all of Saturday
+        when(teacherWorkloads.exists(any())).thenReturn(true);
+        when(occupancyIndex.isActive()).thenReturn(true);
+        when(occupancyIndex.teacherMask(1L)).thenReturn(0xFFL);
+        when(occupancyIndex.teacherMask(2L)).thenReturn(OccupancyMasks.slotBit("Tuesday", 1));
+        when(occupancyIndex.sectionMask(7, "B")).thenReturn(0xFFL << 40);
+
+        // Act
+        FreeSlotsResponse result = slotFinder.findFreeSlots(List.of(1L, 2L), List.of("7-B"));
+
+        // Assert
+        assertEquals(48 - 8 - 1 - 8, result.getFreeSlotCount());
+        assertEquals(List.of("Monday", "Tuesday", "Wednesday", "Thursday", "Friday", "Saturday"),
+                List.copyOf(result.getFreePeriodsByDay().keySet()));
+        assertEquals(List.of(), result.getFreePeriodsByDay().get("Monday"));
+        assertEquals(List.of(2, 3, 4, 5, 6, 7, 8), result.getFreePeriodsByDay().get("Tuesday"));
+        assertEquals(List.of(), result.getFreePeriodsByDay().get("Saturday"));
+        verifyNoInteractions(timetableRepository, teacherRepository);
+    }
+
+    @Test
+    void testFreeSlotsWithoutIndexUseQueries() throws Exception {
+        // Arrange
+        TimetableEntry entry = new TimetableEntry(1L, teacher1, 6, "A", "English", "Friday", 3);
+        when(occupancyIndex.isActive()).thenReturn(false);
+        when(timetableRepository.findByGradeIn(Set.of(6))).thenReturn(List.of(entry));
+
+        // Act
+        FreeSlotsResponse result = slotFinder.findFreeSlots(null, List.of("6-A"));
+
+        // Assert
+        assertEquals(47, result.getFreeSlotCount());
+        assertFalse(result.getFreePeriodsByDay().get("Friday").contains(3));
+        verifyNoInteractions(teacherRepository, teacherWorkloads);
+    }
+
+    @Test
+    void testUnknownTeacherIsRejected() {
+        // Arrange
+        when(teacherWorkloads.exists(1L)).thenReturn(true);
+        when(teacherWorkloads.exists(99L)).thenReturn(false);
+
+        // Act & Assert
+        Exception exception = assertThrows(Exception.class, () -> slotFinder.findFreeSlots(List.of(1L, 99L), null));
+        assertEquals("Teacher not found with ID: 99", exception.getMessage());
+    }
+
+    @Test
+    void testInvalidSectionIsRejected() {
+        // Act & Assert
+        Exception exception = assertThrows(Exception.class, () -> slotFinder.findFreeSlots(null, List.of("13-A")));
+        assertEquals("Invalid section: 13-A (expected grade-section such as 7-B)", exception.getMessage());
+    }
+
+    @Test
+    void testEmptyRequestIsRejected() {
+        // Act & Assert
+        Exception exception = assertThrows(Exception.class, () -> slotFinder.findFreeSlots(List.of(), null));
+        assertEquals("At least one teacher or section is required", exception.getMessage());
+    }
+
+    @Test
+    void testSubstitutesAreRankedBySubjectGradeAndLoad() throws Exception {
+        // Arrange: teacher 1 is absent for Mathematics in 7-A on Monday periods 1 and 2
+        Teacher teacher3 = new Teacher(3L, "Demo Teacher", "teacher@sutramsolutions.com");
+        Teacher teacher4 = new Teacher(4L, "Second Maths", "maths@sutramsolutions.com");
+        when(teacherRepository.findAll()).thenReturn(List.of(teacher1, teacher2, teacher3, teacher4));
+        when(timetableRepository.findAllViews()).thenReturn(List.of(
+                new TimetableEntryView(11L, 1L, "Bijay Panda", "bijayaprasana.job@gmail.com", 7, "A", "Mathematics", "Monday", 2),
+                new TimetableEntryView(10L, 1L, "Bijay Panda", "bijayaprasana.job@gmail.com", 7, "A", "Mathematics", "Monday", 1),
+                new TimetableEntryView(12L, 1L, "Bijay Panda", "bijayaprasana.job@gmail.com", 7, "A", "Mathematics", "Tuesday", 1),
+                new TimetableEntryView(20L, 2L, "Jiwanshu Kumar", "javajiwanshu@sutramsolutions.com", 7, "B", "English", "Tuesday", 5),
+                new TimetableEntryView(40L, 4L, "Second Maths", "maths@sutramsolutions.com", 6, "A", "Mathematics", "Monday", 2),
+                new TimetableEntryView(41L, 4L, "Second Maths", "maths@sutramsolutions.com", 6, "B", "Mathematics", "Monday", 3)));
+        TeacherWorkloads workloads = new TeacherWorkloads();
+        ReflectionTestUtils.setField(workloads, "teacherRepository", teacherRepository);
+        ReflectionTestUtils.setField(workloads, "timetableRepository", timetableRepository);
+        workloads.rebuild();
+        ReflectionTestUtils.setField(slotFinder, "teacherWorkloads", workloads);
+        clearInvocations(teacherRepository, timetableRepository);
+        when(occupancyIndex.isActive()).thenReturn(true);
+        when(occupancyIndex.teacherMask(2L)).thenReturn(OccupancyMasks.slotBit("Tuesday", 5));
+        when(occupancyIndex.teacherMask(3L)).thenReturn(0L);
+        when(occupancyIndex.teacherMask(4L)).thenReturn(OccupancyMasks.slotBit("Monday", 2) | OccupancyMasks.slotBit("Monday", 3));
+
+        // Act
+        SubstitutePlan plan = slotFinder.findSubstitutes(1L, "Monday", null);
+
+        // Assert
+        assertEquals(2, plan.getPeriods().size());
+        assertEquals(10L, plan.getPeriods().get(0).getEntry().id());
+        assertEquals(List.of(4L, 2L, 3L), plan.getPeriods().get(0).getCandidates().stream()
+                .map(SubstituteCandidate::getTeacherId).toList());
+        assertEquals(2, plan.getPeriods().get(0).getCandidates().get(0).getDailyLoad());
+        // Teacher 4 is busy in period 2
+        assertEquals(List.of(2L, 3L), plan.getPeriods().get(1).getCandidates().stream()
+                .map(SubstituteCandidate::getTeacherId).toList());
+        verify(occupancyIndex, never()).teacherMask(1L);
+        // Teachers, the absent teacher's periods and every profile come from the workload counters
+        verifyNoInteractions(teacherRepository, timetableRepository);
+    }
+
+    @Test
+    void testSubstitutesForUnknownTeacher() {
+        // Arrange
+        when(teacherWorkloads.exists(99L)).thenReturn(false);
+
+        // Act & Assert
+        Exception exception = assertThrows(Exception.class, () -> slotFinder.findSubstitutes(99L, "Monday", null));
+        assertEquals("Teacher not found with ID: 99", exception.getMessage());
+    }
+
+    @Test
+    void testSubstitutesForInvalidDay() {
+        // Act & Assert
+        Exception exception = assertThrows(Exception.class, () -> slotFinder.findSubstitutes(1L, "Sunday", null));
+        assertEquals("Day must be one of: Monday, Tuesday, Wednesday, Thursday, Friday, Saturday", exception.getMessage());
+    }
+}
@@ -0,0 +1,210 @@
+package com.sutram.timetableapi.service;
+
+import com.sutram.timetableapi.dto.TeacherWorkload;
+import com.sutram.timetableapi.dto.TimetableEntryView;
+import com.sutram.timetableapi.dto.TimetableEntryView.TeacherView;
+import com.sutram.timetableapi.dto.WorkloadReport;
+import com.sutram.timetableapi.event.TeacherChangeEvent;
+import com.sutram.timetableapi.event.TimetableChangeEvent;
+import com.sutram.timetableapi.model.Teacher;
+import com.sutram.timetableapi.repository.TeacherRepository;
+import com.sutram.timetableapi.repository.TimetableRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TeacherWorkloadsTest {
+
+    @Mock
+    private TimetableRepository timetableRepository;
+
+    @Mock
+    private TeacherRepository teacherRepository;
+
+    @InjectMocks
+    private TeacherWorkloads teacherWorkloads;
+
+    private final Teacher bijay = new Teacher(1L, "Bijay Panda", "bijayaprasana.job@gmail.com");
+
+    private final Teacher jiwanshu = new Teacher(2L, "Jiwanshu Kumar", "javajiwanshu@sutramsolutions.com");
+
+    @Test
+    void testCountersFollowChanges() throws Exception {
+        // Arrange: periods 1-7 on Monday, two more on Tuesday
+        List<TimetableEntryView> entries = new ArrayList<>();
+        for (int period = 1; period <= 7; period++) {
+            entries.add(entry(period, 1L, 7, "Mathematics", "Monday", period));
+        }
+        entries.add(entry(8, 1L, 8, "English", "Tuesday", 1));
+        entries.add(entry(9, 1L, 8, "English", "Tuesday", 3));
+        when(timetableRepository.findAllViews()).thenReturn(entries);
+        when(teacherRepository.findById(1L)).thenReturn(Optional.of(bijay));
+        teacherWorkloads.rebuild();
+
+        // Act: Monday period 4 moves to Tuesday period 2
+        teacherWorkloads.onTimetableChange(TimetableChangeEvent.updated(entries.get(3), entry(4, 1L, 7, "Mathematics", "Tuesday", 2)));
+        TeacherWorkload workload = teacherWorkloads.getTeacherWorkload(1L);
+
+        // Assert
+        assertEquals(9, workload.getPeriodsPerWeek());
+        assertEquals(39, workload.getFreePeriodsPerWeek());
+        assertEquals(6, workload.getPeriodsPerDay().get("Monday"));
+        assertEquals(3, workload.getPeriodsPerDay().get("Tuesday"));
+        assertEquals(0, workload.getPeriodsPerDay().get("Saturday"));
+        assertEquals(3, workload.getMaxConsecutivePeriods());
+        assertEquals(Map.of("Mathematics", 7, "English", 2), workload.getSubjects());
+        assertEquals(Map.of(7, 7, 8, 2), workload.getGrades());
+        assertTrue(workload.getAlerts().isEmpty(), workload.getAlerts().toString());
+    }
+
+    @Test
+    void testSwapWithinTeacherKeepsBothSlots() throws Exception {
+        // Arrange
+        TimetableEntryView first = entry(1, 1L, 7, "Mathematics", "Monday", 1);
+        TimetableEntryView second = entry(2, 1L, 7, "English", "Monday", 2);
+        when(timetableRepository.findAllViews()).thenReturn(List.of(first, second));
+        when(teacherRepository.findById(1L)).thenReturn(Optional.of(bijay));
+        teacherWorkloads.rebuild();
+
+        // Act: the move into period 2 is applied before the move out of it
+        teacherWorkloads.onTimetableChange(TimetableChangeEvent.updated(first, entry(1, 1L, 7, "Mathematics", "Monday", 2)));
+        teacherWorkloads.onTimetableChange(TimetableChangeEvent.updated(second, entry(2, 1L, 7, "English", "Monday", 1)));
+
+        // Assert
+        TeacherWorkload workload = teacherWorkloads.getTeacherWorkload(1L);
+        assertEquals(2, workload.getPeriodsPerWeek());
+        assertEquals(2, workload.getMaxConsecutivePeriods());
+    }
+
+    @Test
+    void testReportFlagsThresholds() {
+        // Arrange: eight periods in a row on Monday
+        List<TimetableEntryView> entries = new ArrayList<>();
+        for (int period = 1; period <= 8; period++) {
+            entries.add(entry(period, 1L, 7, "Mathematics", "Monday", period));
+        }
+        when(timetableRepository.findAllViews()).thenReturn(entries);
+        when(teacherRepository.findAll()).thenReturn(List.of(bijay, jiwanshu));
+        teacherWorkloads.rebuild();
+
+        // Act
+        WorkloadReport report = teacherWorkloads.getReport(false);
+        WorkloadReport alerts = teacherWorkloads.getReport(true);
+
+        // Assert
+        assertEquals(2, report.getTeacherCount());
+        assertEquals(1, report.getTeachersWithAlerts());
+        assertEquals(List.of(1L, 2L), report.getTeachers().stream().map(TeacherWorkload::getTeacherId).toList());
+        assertEquals(List.of("More than 6 periods on Monday (8)", "More than 4 consecutive periods on Monday (8)"),
+                report.getTeachers().get(0).getAlerts());
+        assertEquals(48, report.getTeachers().get(1).getFreePeriodsPerWeek());
+        assertEquals(1, alerts.getTeachers().size());
+        verify(timetableRepository, times(1)).findAllViews();
+    }
+
+    @Test
+    void testEventForAlreadyLoadedEntryIsNotCountedTwice() throws Exception {
+        // Arrange: the create committed before the startup read, its event arrives afterwards
+        TimetableEntryView created = entry(1, 1L, 7, "Mathematics", "Monday", 1);
+        when(timetableRepository.findAllViews()).thenReturn(List.of(created));
+        when(teacherRepository.findById(1L)).thenReturn(Optional.of(bijay));
+        teacherWorkloads.rebuild();
+
+        // Act
+        teacherWorkloads.onTimetableChange(TimetableChangeEvent.created(created));
+        TeacherWorkload afterCreate = teacherWorkloads.getTeacherWorkload(1L);
+        teacherWorkloads.onTimetableChange(TimetableChangeEvent.deleted(created));
+        TeacherWorkload afterDelete = teacherWorkloads.getTeacherWorkload(1L);
+
+        // Assert
+        assertEquals(1, afterCreate.getPeriodsPerWeek());
+        assertEquals(Map.of("Mathematics", 1), afterCreate.getSubjects());
+        assertEquals(0, afterDelete.getPeriodsPerWeek());
+        assertTrue(afterDelete.getSubjects().isEmpty());
+    }
+
+    @Test
+    void testTeachersFollowChangesWithoutQueriesPerLookup() {
+        // Arrange
+        when(teacherRepository.findAll()).thenReturn(List.of(bijay));
+        when(timetableRepository.findAllViews()).thenReturn(List.of());
+        teacherWorkloads.rebuild();
+
+        // Act: teacher 2 is created, teacher 1 deleted
+        when(teacherRepository.findById(2L)).thenReturn(Optional.of(jiwanshu));
+        when(teacherRepository.findById(1L)).thenReturn(Optional.empty());
+        teacherWorkloads.onTeacherChange(new TeacherChangeEvent(2L));
+        teacherWorkloads.onTeacherChange(new TeacherChangeEvent(1L));
+        clearInvocations(teacherRepository, timetableRepository);
+
+        // Assert
+        assertFalse(teacherWorkloads.exists(1L));
+        assertTrue(teacherWorkloads.exists(2L));
+        assertFalse(teacherWorkloads.exists(99L));
+        verifyNoInteractions(teacherRepository, timetableRepository);
+    }
+
+    @Test
+    void testLookupsFollowTimetableChanges() {
+        // Arrange: Mathematics in 7-A twice on Monday, English in 8-A on Tuesday
+        TimetableEntryView first = entry(10, 1L, 7, "Mathematics", "Monday", 3);
+        TimetableEntryView second = entry(11, 1L, 7, "Mathematics", "Monday", 1);
+        TimetableEntryView english = entry(12, 1L, 8, "English", "Tuesday", 1);
+        when(teacherRepository.findAll()).thenReturn(List.of(bijay, jiwanshu));
+        when(timetableRepository.findAllViews()).thenReturn(List.of(first, second, english));
+        teacherWorkloads.rebuild();
+
+        // Act: one Mathematics period goes to teacher 2 and English is deleted
+        teacherWorkloads.onTimetableChange(TimetableChangeEvent.updated(first, entry(10, 2L, 7, "Mathematics", "Monday", 3)));
+        teacherWorkloads.onTimetableChange(TimetableChangeEvent.deleted(english));
+
+        // Assert
+        assertEquals(List.of(second), teacherWorkloads.entriesOn(1L, "Monday"));
+        assertEquals(List.of(), teacherWorkloads.entriesOn(1L, "Tuesday"));
+        assertTrue(teacherWorkloads.teachesSubject(1L, "Mathematics"));
+        assertFalse(teacherWorkloads.teachesSubject(1L, "English"));
+        assertFalse(teacherWorkloads.teachesGrade(1L, 8));
+        assertTrue(teacherWorkloads.teachesSubject(2L, "Mathematics"));
+        assertTrue(teacherWorkloads.teachesGrade(2L, 7));
+    }
+
+    @Test
+    void testRenameRewritesKeptEntries() {
+        // Arrange
+        when(teacherRepository.findAll()).thenReturn(List.of(bijay));
+        when(timetableRepository.findAllViews()).thenReturn(List.of(entry(10, 1L, 7, "Mathematics", "Monday", 1)));
+        teacherWorkloads.rebuild();
+        when(teacherRepository.findById(1L)).thenReturn(Optional.of(new Teacher(1L, "Bijay P. Panda", "bijayaprasana.job@gmail.com")));
+
+        // Act
+        teacherWorkloads.onTeacherChange(new TeacherChangeEvent(1L));
+
+        // Assert
+        assertEquals("Bijay P. Panda", teacherWorkloads.entriesOn(1L, "Monday").get(0).teacher().name());
+        assertEquals(List.of("Bijay P. Panda"), teacherWorkloads.teachers().stream().map(TeacherView::name).toList());
+        assertTrue(teacherWorkloads.teachesGrade(1L, 7));
+    }
+
+    @Test
+    void testLongestRun() {
+        assertEquals(0, TeacherWorkloads.longestRun(0b0));
+        assertEquals(1, TeacherWorkloads.longestRun(0b10101));
+        assertEquals(3, TeacherWorkloads.longestRun(0b1110110));
+    }
+
+    private static TimetableEntryView entry(long id, Long teacherId, Integer grade, String subject, String classDay, Integer period) {
+        return new TimetableEntryView(id, teacherId, "Teacher " + teacherId, "teacher" + teacherId + "@sutramsolutions.com",
+                grade, "A", subject, classDay, period);
+    }
+}
@@ -0,0 +1,129 @@
+package com.sutram.timetableapi.service;
+
+import com.sutram.timetableapi.dto.TimetableRequest;
+import com.sutram.timetableapi.model.Teacher;
+import com.sutram.timetableapi.repository.TeacherRepository;
+import com.sutram.timetableapi.repository.TimetableRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Hammers a single slot from many threads. The occupancy index is off so nothing but the
+// unique slot constraints stands between concurrent writers. Uses its own database so the
+// shared test context is not affected.
+@SpringBootTest(properties = {
+        "timetable.occupancy-index.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:concurrencydb"
+})
+class TimetableConcurrencyTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private TimetableService timetableService;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private TimetableRepository timetableRepository;
+
+    private final List<Teacher> teachers = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        for (Teacher teacher : teachers) {
+            timetableRepository.deleteAll(timetableRepository.findByTeacherId(teacher.getId()));
+        }
+        teacherRepository.deleteAll(teachers);
+        teachers.clear();
+    }
+
+    @Test
+    void testConcurrentCreatesForSameSectionSlot() throws Exception {
+        // Arrange: a different teacher per thread, all aiming at 12Z Monday period 1
+        for (int i = 0; i < THREADS; i++) {
+            teachers.add(teacherRepository.save(new Teacher(null, "Stress Teacher " + i, "stress" + i + "@sutramsolutions.com")));
+        }
+
+        // Act
+        List<String> errors = hammer(i -> request(teachers.get(i).getId(), "Z"));
+
+        // Assert
+        assertEquals(THREADS - 1, errors.size());
+        errors.forEach(error -> assertEquals("Slot is already occupied by another teacher", error));
+        assertEquals(1, timetableRepository.findByGradeAndSection(12, "Z").size());
+    }
+
+    @Test
+    void testConcurrentCreatesForSameTeacherSlot() throws Exception {
+        // Arrange: one teacher, a different section per thread
+        teachers.add(teacherRepository.save(new Teacher(null, "Stress Teacher", "stress@sutramsolutions.com")));
+        Long teacherId = teachers.get(0).getId();
+
+        // Act
+        List<String> errors = hammer(i -> request(teacherId, String.valueOf((char) ('A' + i))));
+
+        // Assert
+        assertEquals(THREADS - 1, errors.size());
+        errors.forEach(error -> assertEquals("Teacher is already assigned to another class at the same time", error));
+        assertEquals(1, timetableRepository.findByTeacherId(teacherId).size());
+    }
+
+    // Releases all threads at once and returns the error message of every rejected create
+    private List<String> hammer(IntFunction<TimetableRequest> requestFor) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                TimetableRequest request = requestFor.apply(i);
+                Callable<String> create = () -> {
+                    start.await();
+                    try {
+                        timetableService.createTimetableEntry(request);
+                        return null;
+                    } catch (Exception e) {
+                        return e.getMessage();
+                    }
+                };
+                results.add(executor.submit(create));
+            }
+            start.countDown();
+
+            List<String> errors = new ArrayList<>();
+            for (Future<String> result : results) {
+                String error = result.get();
+                if (error != null) {
+                    errors.add(error);
+                }
+            }
+            return errors;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private TimetableRequest request(Long teacherId, String section) {
+        TimetableRequest request = new TimetableRequest();
+        request.setTeacherId(teacherId);
+        request.setGrade(12);
+        request.setSection(section);
+        request.setSubject("Physics");
+        request.setClassDay("Monday");
+        request.setPeriod(1);
+        return request;
+    }
+}
@@ -0,0 +1,69 @@
+package com.sutram.timetableapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sutram.timetableapi.dto.ExportFormat;
+import com.sutram.timetableapi.dto.TimetableExportRow;
+import com.sutram.timetableapi.repository.TimetableRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TimetableExportServiceTest {
+
+    @Mock
+    private TimetableRepository timetableRepository;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private TimetableExportService timetableExportService;
+
+    @Test
+    void testExportNdjson() throws Exception {
+        // Arrange
+        when(timetableRepository.streamExportRows(1L, null, null)).thenReturn(Stream.of(
+                new TimetableExportRow(1L, 1L, "Bijay Panda", "bijayaprasana.job@gmail.com", 7, "A", "Mathematics", "Monday", 1),
+                new TimetableExportRow(2L, 1L, "Bijay Panda", "bijayaprasana.job@gmail.com", 7, "B", "Mathematics", "Monday", 2)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long count = timetableExportService.export(1L, null, null, ExportFormat.NDJSON, out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, count);
+        assertEquals(2, lines.length);
+        assertEquals("{\"id\":1,\"teacherId\":1,\"teacherName\":\"Bijay Panda\",\"teacherEmail\":\"bijayaprasana.job@gmail.com\","
+                + "\"grade\":7,\"section\":\"A\",\"subject\":\"Mathematics\",\"classDay\":\"Monday\",\"period\":1}", lines[0]);
+        assertEquals(2L, objectMapper.readValue(lines[1], TimetableExportRow.class).getId());
+    }
+
+    @Test
+    void testExportCsvEscapesValues() throws Exception {
+        // Arrange
+        when(timetableRepository.streamExportRows(null, 6, "A")).thenReturn(Stream.of(
+                new TimetableExportRow(2L, 2L, "Kumar, \"JK\"", "javajiwanshu@sutramsolutions.com", 6, "A", "English", "Monday", 2)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long count = timetableExportService.export(null, 6, "A", ExportFormat.CSV, out);
+
+        // Assert
+        assertEquals(1, count);
+        assertEquals("id,teacherId,teacherName,teacherEmail,grade,section,subject,classDay,period\n"
+                + "2,2,\"Kumar, \"\"JK\"\"\",javajiwanshu@sutramsolutions.com,6,A,English,Monday,2\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+}
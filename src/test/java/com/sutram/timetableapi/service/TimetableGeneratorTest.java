@@ -0,0 +1,153 @@
+package com.sutram.timetableapi.service;
+
+import com.sutram.timetableapi.dto.BatchImportMode;
+import com.sutram.timetableapi.dto.CurriculumRequest;
+import com.sutram.timetableapi.dto.GenerationResult;
+import com.sutram.timetableapi.dto.SectionCurriculum;
+import com.sutram.timetableapi.dto.TimetableRequest;
+import com.sutram.timetableapi.model.Teacher;
+import com.sutram.timetableapi.repository.TeacherRepository;
+import com.sutram.timetableapi.repository.TimetableRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TimetableGeneratorTest {
+
+    @Mock
+    private TimetableService timetableService;
+
+    @Mock
+    private TeacherRepository teacherRepository;
+
+    @Mock
+    private TimetableRepository timetableRepository;
+
+    @Mock
+    private OccupancyIndex occupancyIndex;
+
+    @InjectMocks
+    private TimetableGenerator timetableGenerator;
+
+    @Test
+    void testGenerate_FullWeekIsConflictFree() throws Exception {
+        // Arrange: 10 sections with every one of the 48 slots booked
+        CurriculumRequest curriculum = curriculum(10, 6L);
+        when(teacherRepository.findAllById(any())).thenAnswer(invocation -> teachers(invocation.getArgument(0)));
+
+        // Act
+        GenerationResult result = timetableGenerator.generate(curriculum);
+
+        // Assert
+        assertTrue(result.isComplete());
+        assertEquals(480, result.getPlacedPeriods());
+        assertTrue(result.getUnplaced().isEmpty());
+
+        Set<String> sectionSlots = new HashSet<>();
+        Set<String> teacherSlots = new HashSet<>();
+        for (TimetableRequest entry : result.getEntries()) {
+            assertTrue(sectionSlots.add(entry.getGrade() + entry.getSection() + entry.getClassDay() + entry.getPeriod()));
+            assertTrue(teacherSlots.add(entry.getTeacherId() + entry.getClassDay() + entry.getPeriod()));
+        }
+        verify(timetableService, never()).importTimetableEntries(anyList(), any());
+    }
+
+    @Test
+    void testGenerate_ReportsBestPartialResult() throws Exception {
+        // Arrange: one teacher per subject cannot cover 10 sections
+        CurriculumRequest curriculum = curriculum(10, 1L);
+        curriculum.setTimeBudgetMillis(200L);
+        when(teacherRepository.findAllById(any())).thenAnswer(invocation -> teachers(invocation.getArgument(0)));
+
+        // Act
+        GenerationResult result = timetableGenerator.generate(curriculum);
+
+        // Assert
+        assertFalse(result.isComplete());
+        assertEquals(result.getPlacedPeriods(), result.getEntries().size());
+        assertFalse(result.getUnplaced().isEmpty());
+    }
+
+    @Test
+    void testGenerate_PersistsCompleteResult() throws Exception {
+        // Arrange
+        CurriculumRequest curriculum = curriculum(2, 2L);
+        curriculum.setPersist(true);
+        when(teacherRepository.findAllById(any())).thenAnswer(invocation -> teachers(invocation.getArgument(0)));
+
+        // Act
+        GenerationResult result = timetableGenerator.generate(curriculum);
+
+        // Assert
+        assertTrue(result.isComplete());
+        verify(timetableService).importTimetableEntries(result.getEntries(), BatchImportMode.ALL_OR_NOTHING);
+    }
+
+    @Test
+    void testGenerate_UnknownTeacher() throws Exception {
+        // Arrange
+        CurriculumRequest curriculum = curriculum(1, 1L);
+        when(teacherRepository.findAllById(any())).thenReturn(List.of());
+
+        // Act & Assert
+        Exception exception = assertThrows(Exception.class, () -> timetableGenerator.generate(curriculum));
+        assertEquals("Teacher not found with ID: 1", exception.getMessage());
+        verify(timetableService, never()).importTimetableEntries(anyList(), eq(BatchImportMode.ALL_OR_NOTHING));
+    }
+
+    // Six subjects of 8 periods each per section, with the given number of teachers per subject
+    private CurriculumRequest curriculum(int sections, long teachersPerSubject) {
+        String[] subjects = {"Mathematics", "English", "Science", "History", "Geography", "Art"};
+        Map<String, List<Long>> subjectTeachers = new LinkedHashMap<>();
+        long teacherId = 1;
+        for (String subject : subjects) {
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < teachersPerSubject; i++) {
+                ids.add(teacherId++);
+            }
+            subjectTeachers.put(subject, ids);
+        }
+
+        List<SectionCurriculum> sectionCurricula = new ArrayList<>();
+        for (int i = 0; i < sections; i++) {
+            SectionCurriculum section = new SectionCurriculum();
+            section.setGrade(1 + i / 5);
+            section.setSection(String.valueOf((char) ('A' + i % 5)));
+            Map<String, Integer> periods = new LinkedHashMap<>();
+            for (String subject : subjects) {
+                periods.put(subject, 8);
+            }
+            section.setSubjects(periods);
+            sectionCurricula.add(section);
+        }
+
+        CurriculumRequest curriculum = new CurriculumRequest();
+        curriculum.setSections(sectionCurricula);
+        curriculum.setSubjectTeachers(subjectTeachers);
+        curriculum.setTimeBudgetMillis(5000L);
+        curriculum.setSeed(42L);
+        return curriculum;
+    }
+
+    private List<Teacher> teachers(Iterable<Long> ids) {
+        List<Teacher> teachers = new ArrayList<>();
+        ids.forEach(id -> teachers.add(new Teacher(id, "Teacher " + id, "teacher" + id + "@sutramsolutions.com")));
+        return teachers;
+    }
+}
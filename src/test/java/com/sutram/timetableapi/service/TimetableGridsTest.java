@@ -0,0 +1,138 @@
+package com.sutram.timetableapi.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sutram.timetableapi.dto.TimetableEntryView;
+import com.sutram.timetableapi.event.TeacherChangeEvent;
+import com.sutram.timetableapi.event.TimetableChangeEvent;
+import com.sutram.timetableapi.model.Teacher;
+import com.sutram.timetableapi.repository.TeacherRepository;
+import com.sutram.timetableapi.repository.TimetableRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TimetableGridsTest {
+
+    @Mock
+    private TimetableRepository timetableRepository;
+
+    @Mock
+    private TeacherRepository teacherRepository;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private TimetableGrids timetableGrids;
+
+    private final TimetableEntryView mathematics = new TimetableEntryView(1L, 1L, "Bijay Panda",
+            "bijayaprasana.job@gmail.com", 7, "A", "Mathematics", "Monday", 1);
+
+    @BeforeEach
+    void setUp() {
+        when(timetableRepository.findAllViews()).thenReturn(List.of(mathematics));
+        timetableGrids.rebuild();
+    }
+
+    @Test
+    void testSectionGridLayout() throws Exception {
+        // Act
+        JsonNode response = objectMapper.readTree(timetableGrids.sectionGrid(7, "A"));
+
+        // Assert
+        assertTrue(response.get("success").asBoolean());
+        JsonNode grid = response.get("data");
+        assertEquals(7, grid.get("grade").asInt());
+        assertEquals("A", grid.get("section").asText());
+        assertFalse(grid.has("teacherId"));
+        assertEquals(6, grid.get("days").size());
+        assertEquals(8, grid.get("days").get("Monday").size());
+        assertEquals("Mathematics", grid.get("days").get("Monday").get(0).get("subject").asText());
+        assertTrue(grid.get("days").get("Monday").get(1).isNull());
+        assertTrue(grid.get("days").get("Saturday").get(7).isNull());
+    }
+
+    @Test
+    void testBytesAreReusedUntilChange() throws Exception {
+        // Arrange
+        byte[] first = timetableGrids.teacherGrid(1L);
+
+        // Act
+        byte[] second = timetableGrids.teacherGrid(1L);
+        timetableGrids.onTimetableChange(TimetableChangeEvent.updated(mathematics, moved(mathematics, "Tuesday", 3)));
+        byte[] third = timetableGrids.teacherGrid(1L);
+
+        // Assert
+        assertSame(first, second);
+        assertNotSame(second, third);
+        JsonNode days = objectMapper.readTree(third).get("data").get("days");
+        assertTrue(days.get("Monday").get(0).isNull());
+        assertEquals(1L, days.get("Tuesday").get(2).get("id").asLong());
+        verify(timetableRepository, never()).findViewsByTeacherId(any());
+        verify(teacherRepository, never()).existsById(any());
+    }
+
+    @Test
+    void testSwapKeepsEntryThatMovedIn() throws Exception {
+        // Arrange: entry 2 takes Monday 1 before entry 1's move is applied
+        TimetableEntryView english = new TimetableEntryView(2L, 1L, "Bijay Panda",
+                "bijayaprasana.job@gmail.com", 7, "A", "English", "Monday", 2);
+        timetableGrids.onTimetableChange(TimetableChangeEvent.created(english));
+
+        // Act
+        timetableGrids.onTimetableChange(TimetableChangeEvent.updated(english, moved(english, "Monday", 1)));
+        timetableGrids.onTimetableChange(TimetableChangeEvent.updated(mathematics, moved(mathematics, "Monday", 2)));
+
+        // Assert
+        JsonNode monday = objectMapper.readTree(timetableGrids.sectionGrid(7, "A")).get("data").get("days").get("Monday");
+        assertEquals("English", monday.get(0).get("subject").asText());
+        assertEquals("Mathematics", monday.get(1).get("subject").asText());
+    }
+
+    @Test
+    void testTeacherRenameUpdatesCells() throws Exception {
+        // Arrange
+        timetableGrids.sectionGrid(7, "A");
+        when(teacherRepository.findById(1L)).thenReturn(Optional.of(new Teacher(1L, "Bijay P", "bijay@sutramsolutions.com")));
+
+        // Act
+        timetableGrids.onTeacherChange(new TeacherChangeEvent(1L));
+
+        // Assert
+        JsonNode cell = objectMapper.readTree(timetableGrids.sectionGrid(7, "A")).get("data").get("days").get("Monday").get(0);
+        assertEquals("Bijay P", cell.get("teacher").get("name").asText());
+    }
+
+    @Test
+    void testEmptyAndUnknownGrids() throws Exception {
+        // Arrange
+        timetableGrids.onTimetableChange(TimetableChangeEvent.deleted(mathematics));
+        when(teacherRepository.existsById(1L)).thenReturn(true);
+        when(teacherRepository.existsById(99L)).thenReturn(false);
+
+        // Act & Assert
+        JsonNode section = objectMapper.readTree(timetableGrids.sectionGrid(7, "A")).get("data");
+        assertTrue(section.get("days").get("Monday").get(0).isNull());
+        assertNotNull(timetableGrids.teacherGrid(1L));
+        Exception exception = assertThrows(Exception.class, () -> timetableGrids.teacherGrid(99L));
+        assertEquals("Teacher not found with ID: 99", exception.getMessage());
+        assertThrows(Exception.class, () -> timetableGrids.sectionGrid(7, "a"));
+    }
+
+    private static TimetableEntryView moved(TimetableEntryView entry, String classDay, Integer period) {
+        return new TimetableEntryView(entry.id(), entry.teacher(), entry.grade(), entry.section(),
+                entry.subject(), classDay, period);
+    }
+}
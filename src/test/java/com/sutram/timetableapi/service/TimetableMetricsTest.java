@@ -0,0 +1,40 @@
+package com.sutram.timetableapi.service;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimetableMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final TimetableMetrics timetableMetrics = new TimetableMetrics(registry);
+
+    @Test
+    void testConflictsAreCountedByReasonAndCheck() {
+        // Act
+        timetableMetrics.recordConflict(TimetableMetrics.ConflictReason.SLOT_OCCUPIED, "index");
+        timetableMetrics.recordConflict(TimetableMetrics.ConflictReason.SLOT_OCCUPIED, "index");
+        timetableMetrics.recordConflict(TimetableMetrics.ConflictReason.TEACHER_BUSY, "constraint");
+
+        // Assert
+        assertEquals(2, registry.get("timetable.conflicts.rejected")
+                .tags("reason", "slot_occupied", "check", "index").counter().count());
+        assertEquals(1, registry.get("timetable.conflicts.rejected")
+                .tags("reason", "teacher_busy", "check", "constraint").counter().count());
+    }
+
+    @Test
+    void testStepsAreTimedPerOperation() {
+        // Act
+        timetableMetrics.recordStep("create", TimetableMetrics.WriteStep.CONFLICT_CHECK, System.nanoTime());
+        timetableMetrics.recordStep("update", TimetableMetrics.WriteStep.SAVE, System.nanoTime());
+
+        // Assert
+        Timer conflictCheck = registry.get("timetable.write.step").tags("operation", "create", "step", "conflict_check").timer();
+        assertEquals(1, conflictCheck.count());
+        assertEquals(1, registry.get("timetable.write.step").tags("operation", "update", "step", "save").timer().count());
+    }
+}
@@ -0,0 +1,118 @@
+package com.sutram.timetableapi.service;
+
+import com.sutram.timetableapi.dto.CacheStatsReport;
+import com.sutram.timetableapi.dto.TimetableEntryView;
+import com.sutram.timetableapi.event.TeacherChangeEvent;
+import com.sutram.timetableapi.event.TimetableChangeEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TimetableReadCacheTest {
+
+    @Mock
+    private TimetableService timetableService;
+
+    private TimetableReadCache timetableReadCache;
+
+    private TimetableEntryView mathsView;
+
+    private TimetableEntryView englishView;
+
+    @BeforeEach
+    void setUp() {
+        timetableReadCache = new TimetableReadCache(true, 10, 10);
+        ReflectionTestUtils.setField(timetableReadCache, "timetableService", timetableService);
+
+        mathsView = new TimetableEntryView(1L, 1L, "Bijay Panda", "bijayaprasana.job@gmail.com",
+                7, "A", "Mathematics", "Monday", 1);
+        englishView = new TimetableEntryView(2L, 2L, "Jiwanshu Kumar", "javajiwanshu@sutramsolutions.com",
+                6, "A", "English", "Monday", 2);
+    }
+
+    @Test
+    void testSectionReadIsServedFromCache() {
+        // Arrange
+        when(timetableService.getTimetableByGradeAndSection(7, "A")).thenReturn(List.of(mathsView));
+
+        // Act
+        List<TimetableEntryView> first = timetableReadCache.getTimetableByGradeAndSection(7, "A");
+        List<TimetableEntryView> second = timetableReadCache.getTimetableByGradeAndSection(7, "A");
+
+        // Assert
+        assertEquals(List.of(mathsView), first);
+        assertEquals(first, second);
+        verify(timetableService, times(1)).getTimetableByGradeAndSection(7, "A");
+
+        CacheStatsReport sections = timetableReadCache.stats().get(0);
+        assertEquals(1, sections.getHitCount());
+        assertEquals(1, sections.getMissCount());
+    }
+
+    @Test
+    void testUpdateEvictsOldAndNewKeys() {
+        // Arrange: the entry moves from teacher 1 in 7-A to teacher 2 in 6-A
+        TimetableEntryView moved = new TimetableEntryView(1L, 2L, "Jiwanshu Kumar", "javajiwanshu@sutramsolutions.com",
+                6, "A", "Mathematics", "Monday", 3);
+        when(timetableService.getTimetableByGradeAndSection(7, "A")).thenReturn(List.of(mathsView), List.of());
+        when(timetableService.getTimetableByGradeAndSection(6, "A")).thenReturn(List.of(englishView), List.of(englishView, moved));
+        when(timetableService.getTimetableByTeacher(1L)).thenReturn(List.of(mathsView), List.of());
+        timetableReadCache.getTimetableByGradeAndSection(7, "A");
+        timetableReadCache.getTimetableByGradeAndSection(6, "A");
+        timetableReadCache.getTimetableByTeacher(1L);
+
+        // Act
+        timetableReadCache.onTimetableChange(TimetableChangeEvent.updated(mathsView, moved));
+
+        // Assert
+        assertEquals(List.of(), timetableReadCache.getTimetableByGradeAndSection(7, "A"));
+        assertEquals(List.of(englishView, moved), timetableReadCache.getTimetableByGradeAndSection(6, "A"));
+        assertEquals(List.of(), timetableReadCache.getTimetableByTeacher(1L));
+    }
+
+    @Test
+    void testTeacherChangeEvictsSectionsTheTeacherAppearsIn() {
+        // Arrange
+        when(timetableService.getTimetableByGradeAndSection(7, "A")).thenReturn(List.of(mathsView));
+        when(timetableService.getTimetableByGradeAndSection(6, "A")).thenReturn(List.of(englishView));
+        when(timetableService.getTimetableByTeacher(1L)).thenReturn(List.of(mathsView));
+        timetableReadCache.getTimetableByGradeAndSection(7, "A");
+        timetableReadCache.getTimetableByGradeAndSection(6, "A");
+        timetableReadCache.getTimetableByTeacher(1L);
+
+        // Act
+        timetableReadCache.onTeacherChange(new TeacherChangeEvent(1L));
+        timetableReadCache.getTimetableByGradeAndSection(7, "A");
+        timetableReadCache.getTimetableByGradeAndSection(6, "A");
+        timetableReadCache.getTimetableByTeacher(1L);
+
+        // Assert
+        verify(timetableService, times(2)).getTimetableByGradeAndSection(7, "A");
+        verify(timetableService, times(1)).getTimetableByGradeAndSection(6, "A");
+        verify(timetableService, times(2)).getTimetableByTeacher(1L);
+    }
+
+    @Test
+    void testDisabledCacheDelegates() {
+        // Arrange
+        timetableReadCache = new TimetableReadCache(false, 10, 10);
+        ReflectionTestUtils.setField(timetableReadCache, "timetableService", timetableService);
+        when(timetableService.getTimetableByTeacher(1L)).thenReturn(List.of(mathsView));
+
+        // Act
+        timetableReadCache.getTimetableByTeacher(1L);
+        timetableReadCache.getTimetableByTeacher(1L);
+
+        // Assert
+        verify(timetableService, times(2)).getTimetableByTeacher(1L);
+    }
+}
@@ -1,23 +1,41 @@
 package com.sutram.timetableapi.service;
 
+import com.sutram.timetableapi.dto.BatchImportMode;
+import com.sutram.timetableapi.dto.BatchImportResult;
+import com.sutram.timetableapi.dto.EntryChange;
+import com.sutram.timetableapi.dto.PageResponse;
+import com.sutram.timetableapi.dto.RescheduleResult;
+import com.sutram.timetableapi.dto.TimetableEntryView;
 import com.sutram.timetableapi.dto.TimetableRequest;
+import com.sutram.timetableapi.event.TimetableChangeEvent;
+import com.sutram.timetableapi.model.SlotKeys;
 import com.sutram.timetableapi.model.Teacher;
 import com.sutram.timetableapi.model.TimetableEntry;
 import com.sutram.timetableapi.repository.TeacherRepository;
 import com.sutram.timetableapi.repository.TimetableRepository;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,6 +47,18 @@ class TimetableServiceTest {
     @Mock
     private TeacherRepository teacherRepository;
     
+    @Mock
+    private OccupancyIndex occupancyIndex;
+    
+    @Mock
+    private Validator validator;
+    
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Mock
+    private TimetableMetrics timetableMetrics;
+    
     @InjectMocks
     private TimetableService timetableService;
     
@@ -36,6 +66,7 @@ class TimetableServiceTest {
     private Teacher teacher2;
     private TimetableRequest validRequest;
     private TimetableEntry existingEntry;
+    private TimetableEntryView existingView;
     
     @BeforeEach
     void setUp() {
@@ -58,14 +89,17 @@ class TimetableServiceTest {
         existingEntry.setSubject("Mathematics");
         existingEntry.setClassDay("Monday");
         existingEntry.setPeriod(1);
+        
+        existingView = new TimetableEntryView(1L, 1L, "Bijay Panda", "bijayaprasana.job@gmail.com",
+                7, "A", "Mathematics", "Monday", 1);
     }
     
     @Test
     void testCreateTimetableEntry_Success() throws Exception {
         // Arrange
         when(teacherRepository.findById(1L)).thenReturn(Optional.of(teacher1));
-        when(timetableRepository.existsByGradeAndSectionAndClassDayAndPeriod(7, "A", "Monday", 1)).thenReturn(false);
-        when(timetableRepository.existsByTeacherIdAndClassDayAndPeriod(1L, "Monday", 1)).thenReturn(false);
+        when(timetableRepository.existsBySlotKey(SlotKeys.slotKey(7, "A", "Monday", 1))).thenReturn(false);
+        when(timetableRepository.existsByTeacherSlotKey(SlotKeys.teacherSlotKey(1L, "Monday", 1))).thenReturn(false);
         when(timetableRepository.save(any(TimetableEntry.class))).thenReturn(existingEntry);
         
         // Act
@@ -101,7 +135,7 @@ class TimetableServiceTest {
     void testCreateTimetableEntry_SlotAlreadyOccupied() {
         // Arrange
         when(teacherRepository.findById(1L)).thenReturn(Optional.of(teacher1));
-        when(timetableRepository.existsByGradeAndSectionAndClassDayAndPeriod(7, "A", "Monday", 1)).thenReturn(true);
+        when(timetableRepository.existsBySlotKey(SlotKeys.slotKey(7, "A", "Monday", 1))).thenReturn(true);
         
         // Act & Assert
         Exception exception = assertThrows(Exception.class, () -> {
@@ -116,8 +150,8 @@ class TimetableServiceTest {
     void testCreateTimetableEntry_TeacherAlreadyBusy() {
         // Arrange
         when(teacherRepository.findById(1L)).thenReturn(Optional.of(teacher1));
-        when(timetableRepository.existsByGradeAndSectionAndClassDayAndPeriod(7, "A", "Monday", 1)).thenReturn(false);
-        when(timetableRepository.existsByTeacherIdAndClassDayAndPeriod(1L, "Monday", 1)).thenReturn(true);
+        when(timetableRepository.existsBySlotKey(SlotKeys.slotKey(7, "A", "Monday", 1))).thenReturn(false);
+        when(timetableRepository.existsByTeacherSlotKey(SlotKeys.teacherSlotKey(1L, "Monday", 1))).thenReturn(true);
         
         // Act & Assert
         Exception exception = assertThrows(Exception.class, () -> {
@@ -128,13 +162,113 @@ class TimetableServiceTest {
         verify(timetableRepository, never()).save(any(TimetableEntry.class));
     }
     
+    @Test
+    void testCreateTimetableEntry_IndexSlotAlreadyOccupied() {
+        // Arrange
+        when(teacherRepository.findById(1L)).thenReturn(Optional.of(teacher1));
+        when(occupancyIndex.isActive()).thenReturn(true);
+        when(occupancyIndex.isSectionSlotTaken(7, "A", "Monday", 1, null)).thenReturn(true);
+        
+        // Act & Assert
+        Exception exception = assertThrows(Exception.class, () -> {
+            timetableService.createTimetableEntry(validRequest);
+        });
+        
+        assertEquals("Slot is already occupied by another teacher", exception.getMessage());
+        verify(timetableRepository, never()).existsBySlotKey(any());
+        verify(timetableRepository, never()).save(any(TimetableEntry.class));
+        verify(timetableMetrics).recordConflict(TimetableMetrics.ConflictReason.SLOT_OCCUPIED, "index");
+    }
+    
+    @Test
+    void testCreateTimetableEntry_IndexTeacherAlreadyBusy() {
+        // Arrange
+        when(teacherRepository.findById(1L)).thenReturn(Optional.of(teacher1));
+        when(occupancyIndex.isActive()).thenReturn(true);
+        when(occupancyIndex.isSectionSlotTaken(7, "A", "Monday", 1, null)).thenReturn(false);
+        when(occupancyIndex.isTeacherSlotTaken(1L, "Monday", 1, null)).thenReturn(true);
+        
+        // Act & Assert
+        Exception exception = assertThrows(Exception.class, () -> {
+            timetableService.createTimetableEntry(validRequest);
+        });
+        
+        assertEquals("Teacher is already assigned to another class at the same time", exception.getMessage());
+        verify(timetableRepository, never()).existsByTeacherSlotKey(any());
+        verify(timetableRepository, never()).save(any(TimetableEntry.class));
+        verify(timetableMetrics).recordConflict(TimetableMetrics.ConflictReason.TEACHER_BUSY, "index");
+    }
+    
+    @Test
+    void testCreateTimetableEntry_UpdatesIndex() throws Exception {
+        // Arrange
+        when(teacherRepository.findById(1L)).thenReturn(Optional.of(teacher1));
+        when(occupancyIndex.isActive()).thenReturn(true);
+        when(timetableRepository.save(any(TimetableEntry.class))).thenReturn(existingEntry);
+        
+        // Act
+        timetableService.createTimetableEntry(validRequest);
+        
+        // Assert
+        verify(occupancyIndex).add(existingEntry);
+    }
+    
+    @Test
+    void testCreateTimetableEntry_SkipsQueriesWhenPrecheckDisabled() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(timetableService, "queryPrecheck", false);
+        when(teacherRepository.findById(1L)).thenReturn(Optional.of(teacher1));
+        when(timetableRepository.save(any(TimetableEntry.class))).thenReturn(existingEntry);
+        
+        // Act
+        timetableService.createTimetableEntry(validRequest);
+        
+        // Assert
+        verify(timetableRepository, never()).existsBySlotKey(any());
+        verify(timetableRepository, never()).existsByTeacherSlotKey(any());
+    }
+    
+    @Test
+    void testCreateTimetableEntry_SlotConstraintViolation() {
+        // Arrange
+        ReflectionTestUtils.setField(timetableService, "queryPrecheck", false);
+        when(teacherRepository.findById(1L)).thenReturn(Optional.of(teacher1));
+        when(timetableRepository.save(any(TimetableEntry.class))).thenThrow(new DataIntegrityViolationException("could not execute statement",
+                new RuntimeException("Unique index or primary key violation: \"PUBLIC.UK_TIMETABLE_SECTION_SLOT_INDEX_A ON PUBLIC.TIMETABLE_ENTRIES\"")));
+        
+        // Act & Assert
+        Exception exception = assertThrows(Exception.class, () -> {
+            timetableService.createTimetableEntry(validRequest);
+        });
+        
+        assertEquals("Slot is already occupied by another teacher", exception.getMessage());
+        verify(occupancyIndex, never()).add(any(TimetableEntry.class));
+    }
+    
+    @Test
+    void testCreateTimetableEntry_TeacherConstraintViolation() {
+        // Arrange
+        ReflectionTestUtils.setField(timetableService, "queryPrecheck", false);
+        when(teacherRepository.findById(1L)).thenReturn(Optional.of(teacher1));
+        when(timetableRepository.save(any(TimetableEntry.class))).thenThrow(new DataIntegrityViolationException("could not execute statement",
+                new RuntimeException("Unique index or primary key violation: \"PUBLIC.UK_TIMETABLE_TEACHER_SLOT_INDEX_A ON PUBLIC.TIMETABLE_ENTRIES\"")));
+        
+        // Act & Assert
+        Exception exception = assertThrows(Exception.class, () -> {
+            timetableService.createTimetableEntry(validRequest);
+        });
+        
+        assertEquals("Teacher is already assigned to another class at the same time", exception.getMessage());
+        verify(timetableMetrics).recordConflict(TimetableMetrics.ConflictReason.TEACHER_BUSY, "constraint");
+    }
+    
     @Test
     void testUpdateTimetableEntry_Success() throws Exception {
         // Arrange
         when(timetableRepository.findById(1L)).thenReturn(Optional.of(existingEntry));
         when(teacherRepository.findById(1L)).thenReturn(Optional.of(teacher1));
-        when(timetableRepository.existsByGradeAndSectionAndClassDayAndPeriod(7, "A", "Monday", 1)).thenReturn(false);
-        when(timetableRepository.existsByTeacherIdAndClassDayAndPeriod(1L, "Monday", 1)).thenReturn(false);
+        when(timetableRepository.existsBySlotKey(SlotKeys.slotKey(7, "A", "Monday", 1))).thenReturn(false);
+        when(timetableRepository.existsByTeacherSlotKey(SlotKeys.teacherSlotKey(1L, "Monday", 1))).thenReturn(false);
         when(timetableRepository.save(any(TimetableEntry.class))).thenReturn(existingEntry);
         
         // Act
@@ -164,10 +298,10 @@ class TimetableServiceTest {
         // Arrange
         when(timetableRepository.findById(1L)).thenReturn(Optional.of(existingEntry));
         when(teacherRepository.findById(1L)).thenReturn(Optional.of(teacher1));
-        when(timetableRepository.existsByGradeAndSectionAndClassDayAndPeriod(7, "A", "Monday", 1)).thenReturn(true);
+        when(timetableRepository.existsBySlotKey(SlotKeys.slotKey(7, "A", "Monday", 1))).thenReturn(true);
         
         // Mock that the slot is occupied by a different entry
-        when(timetableRepository.findByGradeAndSectionAndClassDayAndPeriod(7, "A", "Monday", 1))
+        when(timetableRepository.findBySlotKey(SlotKeys.slotKey(7, "A", "Monday", 1)))
                 .thenReturn(Optional.of(new TimetableEntry(2L, teacher2, 7, "A", "English", "Monday", 1)));
         
         // Act & Assert
@@ -184,11 +318,11 @@ class TimetableServiceTest {
         // Arrange
         when(timetableRepository.findById(1L)).thenReturn(Optional.of(existingEntry));
         when(teacherRepository.findById(1L)).thenReturn(Optional.of(teacher1));
-        when(timetableRepository.existsByGradeAndSectionAndClassDayAndPeriod(7, "A", "Monday", 1)).thenReturn(false);
-        when(timetableRepository.existsByTeacherIdAndClassDayAndPeriod(1L, "Monday", 1)).thenReturn(true);
+        when(timetableRepository.existsBySlotKey(SlotKeys.slotKey(7, "A", "Monday", 1))).thenReturn(false);
+        when(timetableRepository.existsByTeacherSlotKey(SlotKeys.teacherSlotKey(1L, "Monday", 1))).thenReturn(true);
         
         // Mock that the teacher is busy at this time in a different entry
-        when(timetableRepository.findByTeacherIdAndClassDayAndPeriod(1L, "Monday", 1))
+        when(timetableRepository.findByTeacherSlotKey(SlotKeys.teacherSlotKey(1L, "Monday", 1)))
                 .thenReturn(Optional.of(new TimetableEntry(2L, teacher1, 7, "B", "Science", "Monday", 1)));
         
         // Act & Assert
@@ -203,19 +337,21 @@ class TimetableServiceTest {
     @Test
     void testDeleteTimetableEntry_Success() throws Exception {
         // Arrange
-        when(timetableRepository.existsById(1L)).thenReturn(true);
+        when(timetableRepository.findById(1L)).thenReturn(Optional.of(existingEntry));
         
         // Act
         timetableService.deleteTimetableEntry(1L);
         
         // Assert
         verify(timetableRepository).deleteById(1L);
+        verify(occupancyIndex).remove(1L);
+        verify(eventPublisher).publishEvent(TimetableChangeEvent.deleted(existingView));
     }
     
     @Test
     void testDeleteTimetableEntry_EntryNotFound() {
         // Arrange
-        when(timetableRepository.existsById(1L)).thenReturn(false);
+        when(timetableRepository.findById(1L)).thenReturn(Optional.empty());
         
         // Act & Assert
         Exception exception = assertThrows(Exception.class, () -> {
@@ -229,56 +365,325 @@ class TimetableServiceTest {
     @Test
     void testGetAllTimetableEntries() {
         // Arrange
-        List<TimetableEntry> expectedEntries = Arrays.asList(existingEntry);
-        when(timetableRepository.findAll()).thenReturn(expectedEntries);
+        List<TimetableEntryView> expectedEntries = Arrays.asList(existingView);
+        when(timetableRepository.findAllViews()).thenReturn(expectedEntries);
         
         // Act
-        List<TimetableEntry> result = timetableService.getAllTimetableEntries();
+        List<TimetableEntryView> result = timetableService.getAllTimetableEntries();
         
         // Assert
         assertEquals(expectedEntries, result);
-        verify(timetableRepository).findAll();
+        verify(timetableRepository).findAllViews();
     }
     
     @Test
     void testGetTimetableEntryById() {
         // Arrange
-        when(timetableRepository.findById(1L)).thenReturn(Optional.of(existingEntry));
+        when(timetableRepository.findViewById(1L)).thenReturn(Optional.of(existingView));
         
         // Act
-        Optional<TimetableEntry> result = timetableService.getTimetableEntryById(1L);
+        Optional<TimetableEntryView> result = timetableService.getTimetableEntryById(1L);
         
         // Assert
         assertTrue(result.isPresent());
-        assertEquals(existingEntry, result.get());
-        verify(timetableRepository).findById(1L);
+        assertEquals(existingView, result.get());
+        verify(timetableRepository).findViewById(1L);
     }
     
     @Test
     void testGetTimetableByTeacher() {
         // Arrange
-        List<TimetableEntry> expectedEntries = Arrays.asList(existingEntry);
-        when(timetableRepository.findByTeacherId(1L)).thenReturn(expectedEntries);
+        List<TimetableEntryView> expectedEntries = Arrays.asList(existingView);
+        when(timetableRepository.findViewsByTeacherId(1L)).thenReturn(expectedEntries);
         
         // Act
-        List<TimetableEntry> result = timetableService.getTimetableByTeacher(1L);
+        List<TimetableEntryView> result = timetableService.getTimetableByTeacher(1L);
         
         // Assert
         assertEquals(expectedEntries, result);
-        verify(timetableRepository).findByTeacherId(1L);
+        verify(timetableRepository).findViewsByTeacherId(1L);
     }
     
     @Test
     void testGetTimetableByGradeAndSection() {
         // Arrange
-        List<TimetableEntry> expectedEntries = Arrays.asList(existingEntry);
-        when(timetableRepository.findByGradeAndSection(7, "A")).thenReturn(expectedEntries);
+        List<TimetableEntryView> expectedEntries = Arrays.asList(existingView);
+        when(timetableRepository.findViewsByGradeAndSection(7, "A")).thenReturn(expectedEntries);
         
         // Act
-        List<TimetableEntry> result = timetableService.getTimetableByGradeAndSection(7, "A");
+        List<TimetableEntryView> result = timetableService.getTimetableByGradeAndSection(7, "A");
         
         // Assert
         assertEquals(expectedEntries, result);
-        verify(timetableRepository).findByGradeAndSection(7, "A");
+        verify(timetableRepository).findViewsByGradeAndSection(7, "A");
+    }
+    
+    @Test
+    void testImportTimetableEntries_PartialRejectsConflictingRows() throws Exception {
+        // Arrange
+        TimetableRequest sameSlot = copyOf(validRequest);
+        sameSlot.setTeacherId(2L);
+        TimetableRequest sameTeacher = copyOf(validRequest);
+        sameTeacher.setSection("B");
+        TimetableRequest valid = copyOf(validRequest);
+        valid.setPeriod(2);
+        
+        when(teacherRepository.findAllById(any())).thenReturn(Arrays.asList(teacher1, teacher2));
+        when(timetableRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<TimetableEntry> entries = invocation.getArgument(0);
+            long id = 10;
+            for (TimetableEntry entry : entries) {
+                entry.setId(id++);
+            }
+            return entries;
+        });
+        
+        // Act
+        BatchImportResult result = timetableService.importTimetableEntries(
+                Arrays.asList(validRequest, sameSlot, sameTeacher, valid), BatchImportMode.PARTIAL);
+        
+        // Assert
+        assertEquals(2, result.getImported());
+        assertEquals(2, result.getRejected());
+        assertEquals(10L, result.getRows().get(0).getEntryId());
+        assertEquals("Slot is already occupied by another teacher", result.getRows().get(1).getMessage());
+        assertEquals("Teacher is already assigned to another class at the same time", result.getRows().get(2).getMessage());
+        assertEquals(11L, result.getRows().get(3).getEntryId());
+        verify(occupancyIndex, times(2)).add(any(TimetableEntry.class));
+    }
+    
+    @Test
+    void testImportTimetableEntries_AllOrNothingSavesNothingOnRejection() throws Exception {
+        // Arrange
+        TimetableRequest unknownTeacher = copyOf(validRequest);
+        unknownTeacher.setTeacherId(99L);
+        unknownTeacher.setPeriod(2);
+        
+        when(teacherRepository.findAllById(any())).thenReturn(Arrays.asList(teacher1));
+        
+        // Act
+        BatchImportResult result = timetableService.importTimetableEntries(
+                Arrays.asList(validRequest, unknownTeacher), BatchImportMode.ALL_OR_NOTHING);
+        
+        // Assert
+        assertEquals(0, result.getImported());
+        assertFalse(result.getRows().get(0).isSuccess());
+        assertEquals("Teacher not found with ID: 99", result.getRows().get(1).getMessage());
+        verify(timetableRepository, never()).saveAll(anyList());
+    }
+    
+    @Test
+    void testGetTimetablePage_FullEntries() throws Exception {
+        // Arrange
+        when(timetableRepository.findViewsAfter(eq(0L), any(Limit.class))).thenReturn(Arrays.asList(existingView));
+        
+        // Act
+        PageResponse<?> page = timetableService.getTimetablePage(null, 1, null);
+        
+        // Assert
+        assertEquals(Arrays.asList(existingView), page.getItems());
+        assertEquals(1L, page.getNextCursor());
+    }
+    
+    @Test
+    void testGetTimetablePage_ProjectedFields() throws Exception {
+        // Arrange
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", 5L);
+        row.put("subject", "Mathematics");
+        when(timetableRepository.findProjectedPage(4L, 100, Arrays.asList("id", "subject", "period")))
+                .thenReturn(Arrays.asList(row));
+        
+        // Act
+        PageResponse<?> page = timetableService.getTimetablePage(4L, null, "subject, period,id");
+        
+        // Assert
+        assertEquals(1, page.getItems().size());
+        assertNull(page.getNextCursor());
+    }
+    
+    @Test
+    void testGetTimetablePage_LimitOutOfRange() {
+        // Act & Assert
+        Exception exception = assertThrows(Exception.class, () -> {
+            timetableService.getTimetablePage(null, 1000, null);
+        });
+        
+        assertEquals("Limit must be between 1 and 500", exception.getMessage());
+    }
+    
+    @Test
+    void testRescheduleEntries_SwapSucceeds() throws Exception {
+        // Arrange: entry 1 (teacher 1, period 1) and entry 2 (teacher 2, period 2) swap periods
+        TimetableEntry otherEntry = new TimetableEntry(2L, teacher2, 7, "A", "English", "Monday", 2);
+        when(timetableRepository.findByIdIn(Set.of(1L, 2L))).thenReturn(List.of(existingEntry, otherEntry));
+        when(timetableRepository.findByGradeIn(Set.of(7))).thenReturn(List.of(existingEntry, otherEntry));
+        when(timetableRepository.findByTeacherIdIn(Set.of(1L, 2L))).thenReturn(List.of(existingEntry, otherEntry));
+        
+        // Act
+        RescheduleResult result = timetableService.rescheduleEntries(List.of(change(1L, 2), change(2L, 1)));
+        
+        // Assert
+        assertTrue(result.isApplied());
+        assertEquals(0, result.getRejected());
+        assertEquals(2, existingEntry.getPeriod());
+        assertEquals(1, otherEntry.getPeriod());
+        verify(timetableRepository).parkEntries(Set.of(1L, 2L));
+        verify(timetableRepository).flush();
+        verify(occupancyIndex).add(existingEntry);
+        verify(occupancyIndex).add(otherEntry);
+        verify(eventPublisher).publishEvent(TimetableChangeEvent.updated(existingView, TimetableEntryView.of(existingEntry)));
+    }
+    
+    @Test
+    void testRescheduleEntries_SwapKeepsOccupancyIndexConsistent() throws Exception {
+        // Arrange: a live index over entry 1 (period 1) and entry 2 (period 2), which swap periods
+        TimetableEntry otherEntry = new TimetableEntry(2L, teacher2, 7, "A", "English", "Monday", 2);
+        when(timetableRepository.findAll()).thenReturn(List.of(existingEntry, otherEntry));
+        OccupancyIndex liveIndex = new OccupancyIndex();
+        ReflectionTestUtils.setField(liveIndex, "timetableRepository", timetableRepository);
+        ReflectionTestUtils.setField(liveIndex, "enabled", true);
+        liveIndex.rebuild();
+        ReflectionTestUtils.setField(timetableService, "occupancyIndex", liveIndex);
+        when(timetableRepository.findByIdIn(Set.of(1L, 2L))).thenReturn(List.of(existingEntry, otherEntry));
+        when(timetableRepository.findByGradeIn(Set.of(7))).thenReturn(List.of(existingEntry, otherEntry));
+        when(timetableRepository.findByTeacherIdIn(Set.of(1L, 2L))).thenReturn(List.of(existingEntry, otherEntry));
+        
+        // Act
+        timetableService.rescheduleEntries(List.of(change(1L, 2), change(2L, 1)));
+        
+        // Assert: the repository returns the swapped entries, so this compares against the database
+        assertTrue(liveIndex.checkConsistency().isConsistent());
+        assertEquals(OccupancyMasks.slotBit("Monday", 1) | OccupancyMasks.slotBit("Monday", 2),
+                liveIndex.sectionMask(7, "A"));
+    }
+    
+    @Test
+    void testRescheduleEntries_ConflictAppliesNothing() throws Exception {
+        // Arrange: entry 1 moves onto entry 2's slot, which stays where it is
+        TimetableEntry otherEntry = new TimetableEntry(2L, teacher2, 7, "A", "English", "Monday", 2);
+        TimetableEntry thirdEntry = new TimetableEntry(3L, teacher2, 8, "A", "English", "Monday", 5);
+        when(timetableRepository.findByIdIn(Set.of(1L, 3L))).thenReturn(List.of(existingEntry, thirdEntry));
+        when(timetableRepository.findByGradeIn(Set.of(7, 8))).thenReturn(List.of(existingEntry, otherEntry, thirdEntry));
+        when(timetableRepository.findByTeacherIdIn(Set.of(1L, 2L))).thenReturn(List.of(existingEntry, otherEntry, thirdEntry));
+        
+        // Act
+        RescheduleResult result = timetableService.rescheduleEntries(List.of(change(1L, 2), change(3L, 6)));
+        
+        // Assert
+        assertFalse(result.isApplied());
+        assertEquals(1, result.getRejected());
+        assertEquals("Slot is already occupied by another teacher", result.getRows().get(0).getMessage());
+        assertEquals("Not applied because other changes were rejected", result.getRows().get(1).getMessage());
+        assertEquals(1, existingEntry.getPeriod());
+        verify(timetableRepository, never()).parkEntries(any());
+        verify(timetableRepository, never()).flush();
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+    
+    @Test
+    void testRescheduleEntries_UnknownEntry() throws Exception {
+        // Arrange
+        when(timetableRepository.findByIdIn(Set.of(99L))).thenReturn(List.of());
+        
+        // Act
+        RescheduleResult result = timetableService.rescheduleEntries(List.of(change(99L, 2)));
+        
+        // Assert
+        assertFalse(result.isApplied());
+        assertEquals("Timetable entry not found with ID: 99", result.getRows().get(0).getMessage());
+        verify(timetableRepository, never()).findByGradeIn(any());
+    }
+    
+    @Test
+    void testDeleteSectionEntries_PublishesEveryDeletion() throws Exception {
+        // Arrange
+        int first = SlotKeys.firstSectionSlotKey(7, "A");
+        TimetableEntryView second = new TimetableEntryView(2L, 2L, "Jiwanshu Kumar", "javajiwanshu@sutramsolutions.com",
+                7, "A", "English", "Monday", 2);
+        when(timetableRepository.lockViewsBySlotKeyRange(first, first + 47)).thenReturn(List.of(existingView, second));
+        when(timetableRepository.deleteEntries(List.of(1L, 2L))).thenReturn(2);
+        
+        // Act
+        int deleted = timetableService.deleteSectionEntries(7, "A");
+        
+        // Assert
+        assertEquals(2, deleted);
+        verify(occupancyIndex).remove(1L);
+        verify(occupancyIndex).remove(2L);
+        verify(eventPublisher).publishEvent(TimetableChangeEvent.deleted(existingView));
+        verify(eventPublisher).publishEvent(TimetableChangeEvent.deleted(second));
+    }
+    
+    @Test
+    void testDeleteDayEntries_DeletesOnlyTheLockedRows() throws Exception {
+        // Arrange: a row moved onto Monday after the lock is not part of the delete
+        when(timetableRepository.lockViewsByClassDay("Monday")).thenReturn(List.of(existingView));
+        when(timetableRepository.deleteEntries(List.of(1L))).thenReturn(1);
+        
+        // Act
+        int deleted = timetableService.deleteDayEntries("Monday");
+        
+        // Assert
+        assertEquals(1, deleted);
+        verify(timetableRepository).deleteEntries(List.of(1L));
+        verify(eventPublisher).publishEvent(TimetableChangeEvent.deleted(existingView));
+    }
+    
+    @Test
+    void testDeleteDayEntries_MissingLockedRowRollsBack() {
+        // Arrange: a locked row was gone by the delete, as on a database that ignores the lock
+        TimetableEntryView second = new TimetableEntryView(2L, 2L, "Jiwanshu Kumar", "javajiwanshu@sutramsolutions.com",
+                7, "A", "English", "Monday", 2);
+        when(timetableRepository.lockViewsByClassDay("Monday")).thenReturn(List.of(existingView, second));
+        when(timetableRepository.deleteEntries(List.of(1L, 2L))).thenReturn(1);
+        
+        // Act & Assert
+        Exception exception = assertThrows(Exception.class, () -> timetableService.deleteDayEntries("Monday"));
+        assertEquals("Timetable changed during the delete, please retry", exception.getMessage());
+        verify(occupancyIndex, never()).remove(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+    
+    @Test
+    void testDeleteDayEntries_InvalidDay() {
+        // Act & Assert
+        Exception exception = assertThrows(Exception.class, () -> timetableService.deleteDayEntries("Sunday"));
+        assertEquals("Day must be one of: Monday, Tuesday, Wednesday, Thursday, Friday, Saturday", exception.getMessage());
+        verify(timetableRepository, never()).deleteEntries(any());
+    }
+    
+    @Test
+    void testDeleteTeacherWithEntries() throws Exception {
+        // Arrange
+        when(teacherRepository.existsById(1L)).thenReturn(true);
+        when(timetableRepository.lockViewsReferencingTeacher(1L)).thenReturn(List.of(existingView));
+        when(timetableRepository.deleteEntries(List.of(1L))).thenReturn(1);
+        
+        // Act
+        int deleted = timetableService.deleteTeacherWithEntries(1L);
+        
+        // Assert
+        assertEquals(1, deleted);
+        verify(teacherRepository).deleteById(1L);
+        verify(eventPublisher).publishEvent(TimetableChangeEvent.deleted(existingView));
+    }
+    
+    private EntryChange change(Long entryId, Integer period) {
+        EntryChange change = new EntryChange();
+        change.setEntryId(entryId);
+        change.setPeriod(period);
+        return change;
+    }
+    
+    private TimetableRequest copyOf(TimetableRequest request) {
+        TimetableRequest copy = new TimetableRequest();
+        copy.setTeacherId(request.getTeacherId());
+        copy.setGrade(request.getGrade());
+        copy.setSection(request.getSection());
+        copy.setSubject(request.getSubject());
+        copy.setClassDay(request.getClassDay());
+        copy.setPeriod(request.getPeriod());
+        return copy;
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,88 @@
+package com.sutram.timetableapi.service;
+
+import com.sutram.timetableapi.dto.TimetableEntryView;
+import com.sutram.timetableapi.event.TeacherChangeEvent;
+import com.sutram.timetableapi.event.TimetableChangeEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.annotation.Order;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimetableVersionsTest {
+
+    private final TimetableVersions timetableVersions = new TimetableVersions();
+
+    private final TimetableEntryView mathsView = new TimetableEntryView(1L, 1L, "Bijay Panda", "bijayaprasana.job@gmail.com",
+            7, "A", "Mathematics", "Monday", 1);
+
+    @Test
+    void testUnchangedKeysKeepTheirETag() {
+        // Arrange
+        String section = timetableVersions.sectionETag(7, "A");
+        String otherSection = timetableVersions.sectionETag(6, "A");
+        String otherTeacher = timetableVersions.teacherETag(2L);
+
+        // Act
+        timetableVersions.onTimetableChange(TimetableChangeEvent.created(mathsView));
+
+        // Assert
+        assertNotEquals(section, timetableVersions.sectionETag(7, "A"));
+        assertEquals(otherSection, timetableVersions.sectionETag(6, "A"));
+        assertEquals(otherTeacher, timetableVersions.teacherETag(2L));
+        assertTrue(section.startsWith("\"") && section.endsWith("\""));
+    }
+
+    @Test
+    void testUpdateBumpsOldAndNewKeys() {
+        // Arrange: the entry moves from teacher 1 in 7-A to teacher 2 in 6-B
+        TimetableEntryView moved = new TimetableEntryView(1L, 2L, "Jiwanshu Kumar", "javajiwanshu@sutramsolutions.com",
+                6, "B", "Mathematics", "Monday", 3);
+        String oldSection = timetableVersions.sectionETag(7, "A");
+        String newSection = timetableVersions.sectionETag(6, "B");
+        String oldTeacher = timetableVersions.teacherETag(1L);
+        String newTeacher = timetableVersions.teacherETag(2L);
+        String all = timetableVersions.allEntriesETag();
+
+        // Act
+        timetableVersions.onTimetableChange(TimetableChangeEvent.updated(mathsView, moved));
+
+        // Assert
+        assertNotEquals(oldSection, timetableVersions.sectionETag(7, "A"));
+        assertNotEquals(newSection, timetableVersions.sectionETag(6, "B"));
+        assertNotEquals(oldTeacher, timetableVersions.teacherETag(1L));
+        assertNotEquals(newTeacher, timetableVersions.teacherETag(2L));
+        assertNotEquals(all, timetableVersions.allEntriesETag());
+    }
+
+    @Test
+    void testTeacherChangeInvalidatesSectionTags() {
+        // Arrange
+        String section = timetableVersions.sectionETag(7, "A");
+        String teacher = timetableVersions.teacherETag(1L);
+        String otherTeacher = timetableVersions.teacherETag(2L);
+
+        // Act
+        timetableVersions.onTeacherChange(new TeacherChangeEvent(1L));
+
+        // Assert
+        assertNotEquals(section, timetableVersions.sectionETag(7, "A"));
+        assertNotEquals(teacher, timetableVersions.teacherETag(1L));
+        assertEquals(otherTeacher, timetableVersions.teacherETag(2L));
+    }
+
+    @Test
+    void testVersionsMoveAfterCachedBodies() throws Exception {
+        // Spring runs ordered listeners of one event lowest value first
+        for (String listener : new String[] {"onTimetableChange", "onTeacherChange"}) {
+            Class<?> event = listener.equals("onTimetableChange") ? TimetableChangeEvent.class : TeacherChangeEvent.class;
+            int versions = order(TimetableVersions.class, listener, event);
+
+            assertTrue(order(TimetableReadCache.class, listener, event) < versions, listener);
+            assertTrue(order(TimetableGrids.class, listener, event) < versions, listener);
+        }
+    }
+
+    private static int order(Class<?> listenerType, String listener, Class<?> event) throws Exception {
+        return listenerType.getMethod(listener, event).getAnnotation(Order.class).value();
+    }
+}